@@ -0,0 +1,70 @@
+package com.zacharyscheer.volleyballstattracker.benchmark;
+
+import com.zacharyscheer.volleyballstattracker.models.StatLine;
+import com.zacharyscheer.volleyballstattracker.models.StatVector;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Summing many StatLines in memory (the season-report shape), from entities and from ready-made StatVectors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatAggregationBenchmark {
+
+    @Param({"10000", "100000"})
+    private int lineCount;
+
+    private List<StatLine> lines;
+    private List<StatVector> vectors;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Fixed seed so every run aggregates the same data
+        Random random = new Random(42);
+        lines = new ArrayList<>(lineCount);
+        vectors = new ArrayList<>(lineCount);
+        for (int i = 0; i < lineCount; i++) {
+            StatLine line = StatLine.builder()
+                    .attackAttempts(random.nextInt(30))
+                    .kills(random.nextInt(15))
+                    .killErrors(random.nextInt(5))
+                    .threePass(random.nextInt(8))
+                    .twoPass(random.nextInt(8))
+                    .onePass(random.nextInt(4))
+                    .zeroPass(random.nextInt(3))
+                    .serviceAttempt(random.nextInt(20))
+                    .serviceError(random.nextInt(4))
+                    .serviceAce(random.nextInt(3))
+                    .digs(random.nextInt(20))
+                    .blocks(random.nextInt(5))
+                    .assists(random.nextInt(40))
+                    .setAttempts(random.nextInt(60))
+                    .build();
+            lines.add(line);
+            vectors.add(line.toVector());
+        }
+    }
+
+    @Benchmark
+    public StatVector aggregateStatLines() {
+        StatVector total = new StatVector();
+        for (StatLine line : lines) {
+            total.add(line.toVector());
+        }
+        return total;
+    }
+
+    @Benchmark
+    public StatVector sumStatVectors() {
+        return StatVector.sum(vectors);
+    }
+}
@@ -0,0 +1,59 @@
+package com.zacharyscheer.volleyballstattracker.benchmark;
+
+import com.zacharyscheer.volleyballstattracker.dto.PlayerMatchAggregateStatsDTO;
+import com.zacharyscheer.volleyballstattracker.dto.StatLineResponseDTO;
+import com.zacharyscheer.volleyballstattracker.mapper.StatLineMapper;
+import com.zacharyscheer.volleyballstattracker.models.Player;
+import com.zacharyscheer.volleyballstattracker.models.Set;
+import com.zacharyscheer.volleyballstattracker.models.StatLine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-response costs: mapping a StatLine to its DTO and calculating the aggregate metrics.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatMappingBenchmark {
+
+    private StatLineMapper statLineMapper;
+    private StatLine statLine;
+    private PlayerMatchAggregateStatsDTO totals;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        statLineMapper = new StatLineMapper();
+
+        Set set = new Set();
+        set.setId(1L);
+        statLine = StatLine.builder()
+                .id(UUID.randomUUID())
+                .set(set)
+                .player(Player.builder().id(7).build())
+                .attackAttempts(24).kills(11).killErrors(3)
+                .threePass(6).twoPass(5).onePass(2).zeroPass(1)
+                .serviceAttempt(14).serviceError(2).serviceAce(3)
+                .digs(9).blocks(2).assists(1).setAttempts(2)
+                .build();
+
+        totals = new PlayerMatchAggregateStatsDTO(1L, 7,
+                44L, 9L, 96L, 20L, 18L, 6L, 3L, 8L, 6L, 52L, 4L, 0L, 6L, 7L, 2L, 31L, 5L);
+    }
+
+    @Benchmark
+    public StatLineResponseDTO statLineToDto() {
+        return statLineMapper.toDto(statLine);
+    }
+
+    @Benchmark
+    public PlayerMatchAggregateStatsDTO calculateMetrics() {
+        totals.calculateMetrics();
+        return totals;
+    }
+}
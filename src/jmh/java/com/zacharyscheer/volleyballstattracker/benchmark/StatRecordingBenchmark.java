@@ -0,0 +1,94 @@
+package com.zacharyscheer.volleyballstattracker.benchmark;
+
+import com.zacharyscheer.volleyballstattracker.VolleyBallStatTrackerApplication;
+import com.zacharyscheer.volleyballstattracker.dto.TeamMatchAggregateStatsDTO;
+import com.zacharyscheer.volleyballstattracker.models.Match;
+import com.zacharyscheer.volleyballstattracker.models.Player;
+import com.zacharyscheer.volleyballstattracker.models.StatLine;
+import com.zacharyscheer.volleyballstattracker.models.User;
+import com.zacharyscheer.volleyballstattracker.repository.MatchRepository;
+import com.zacharyscheer.volleyballstattracker.repository.PlayerRepository;
+import com.zacharyscheer.volleyballstattracker.repository.UserRepository;
+import com.zacharyscheer.volleyballstattracker.service.setService.SetService;
+import com.zacharyscheer.volleyballstattracker.service.statLineServices.StatLineService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full record* round-trips (event append, StatLine and match totals updates, commit) against embedded H2,
+ * using the "test" profile's in-memory database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StatRecordingBenchmark {
+
+    private static final int ROSTER_SIZE = 12;
+
+    private ConfigurableApplicationContext context;
+    private StatLineService statLineService;
+    private Long matchId;
+    private Long setId;
+    private List<Integer> playerIds;
+    private int nextPlayer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(VolleyBallStatTrackerApplication.class)
+                .profiles("test")
+                .properties("server.port=0", "logging.level.root=WARN", "logging.level.org.springframework.security=WARN")
+                .run();
+        statLineService = context.getBean(StatLineService.class);
+
+        User coach = context.getBean(UserRepository.class)
+                .save(User.builder().email("bench@example.com").password("unused").build());
+
+        Match match = new Match();
+        match.setUser(coach);
+        match.setOpponentTeam("Benchmark Opponent");
+        match.setHomeSetScore(0);
+        match.setOpponentSetScore(0);
+        match.setSets(new ArrayList<>());
+        matchId = context.getBean(MatchRepository.class).save(match).getId();
+
+        PlayerRepository playerRepository = context.getBean(PlayerRepository.class);
+        playerIds = new ArrayList<>();
+        List<Long> rosterIds = new ArrayList<>();
+        for (int number = 1; number <= ROSTER_SIZE; number++) {
+            Player player = playerRepository.save(Player.builder().name("Player " + number).number(number).user(coach).build());
+            playerIds.add(player.getId());
+            rosterIds.add(player.getId().longValue());
+        }
+        setId = context.getBean(SetService.class).startNewSet(matchId, rosterIds).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public StatLine recordKill() {
+        Integer playerId = playerIds.get(nextPlayer++ % ROSTER_SIZE);
+        return statLineService.recordKill(setId, playerId);
+    }
+
+    @Benchmark
+    public StatLine recordPassRating() {
+        Integer playerId = playerIds.get(nextPlayer++ % ROSTER_SIZE);
+        return statLineService.recordPassRating(setId, playerId, 2);
+    }
+
+    @Benchmark
+    public TeamMatchAggregateStatsDTO getTeamMatchTotals() {
+        return statLineService.getTeamMatchTotals(matchId);
+    }
+}
@@ -1,6 +1,9 @@
 package com.zacharyscheer.volleyballstattracker.Security; // Check this package name!
 
 import com.zacharyscheer.volleyballstattracker.Security.JwtService;
+import com.zacharyscheer.volleyballstattracker.config.MetricsSupport;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -19,10 +22,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
+    private final MeterRegistry meterRegistry;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtService jwtService,
+                                   UserDetailsService userDetailsService,
+                                   PrincipalCache principalCache,
+                                   MeterRegistry meterRegistry) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.principalCache = principalCache;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
@@ -41,25 +51,31 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        // 2. Extract JWT and username
+        // 2. Extract JWT and username (the signature is verified once here, the claims are reused below)
         jwt = authHeader.substring(7);
-        // Note: Your JWT Service should have a method to extract the username (subject)
-        username = jwtService.extractUsername(jwt);
+        final Claims claims = MetricsSupport.time(meterRegistry, MetricsSupport.JWT_VALIDATION,
+                () -> jwtService.parseClaims(jwt), "step", "parse");
+        username = claims.getSubject();
 
         // 3. Check if user is present and not already authenticated
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-            // Load user details (authorities) from the temporary UserDetailsService
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+            // The user's current token version, only hitting the UserDetailsService when it is not cached
+            TokenPrincipal current = principalCache.get(username,
+                    email -> TokenPrincipal.from(this.userDetailsService.loadUserByUsername(email)));
 
-            // 4. Validate token
-            if (jwtService.isTokenValid(jwt, userDetails)) {
+            // 4. Validate token (subject, expiry, and not revoked by a newer token version)
+            boolean valid = MetricsSupport.time(meterRegistry, MetricsSupport.JWT_VALIDATION,
+                    () -> jwtService.isTokenValid(claims, current), "step", "validate");
+            if (valid) {
 
-                // 5. Create Authentication Token
+                // 5. Create Authentication Token from the verified claims (older tokens without them use the cached principal)
+                TokenPrincipal fromToken = jwtService.extractPrincipal(claims);
+                UserDetails principal = fromToken != null ? fromToken : current;
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
+                        principal,
                         null, // Credentials are null for JWT
-                        userDetails.getAuthorities()
+                        principal.getAuthorities()
                 );
 
                 // Set authentication details (important for session management, even if stateless)
@@ -0,0 +1,67 @@
+package com.zacharyscheer.volleyballstattracker.Security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Authenticates a STOMP session once, on CONNECT, using the same JWT as the REST API
+ * (sent as an "Authorization: Bearer ..." native header). Every later frame on the session
+ * carries that user, so individual taps are not re-checked.
+ */
+@Component
+public class JwtChannelInterceptor implements ChannelInterceptor {
+
+    private final JwtService jwtService;
+    private final UserDetailsService userDetailsService;
+
+    public JwtChannelInterceptor(JwtService jwtService, UserDetailsService userDetailsService) {
+        this.jwtService = jwtService;
+        this.userDetailsService = userDetailsService;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null) {
+            return message;
+        }
+
+        if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+            accessor.setUser(authenticate(accessor.getFirstNativeHeader("Authorization")));
+        } else if (accessor.getCommand() != null && accessor.getCommand() != StompCommand.DISCONNECT
+                && accessor.getUser() == null) {
+            // Only reachable if a client skips CONNECT; never let an anonymous frame through
+            throw new MessagingException("Not authenticated");
+        }
+        return message;
+    }
+
+    private UsernamePasswordAuthenticationToken authenticate(String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            throw new MessagingException("Missing bearer token");
+        }
+        String jwt = authHeader.substring(7);
+        try {
+            Claims claims = jwtService.parseClaims(jwt);
+            UserDetails userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+            if (!jwtService.isTokenValid(claims, userDetails)) {
+                throw new MessagingException("Invalid token");
+            }
+            return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        } catch (JwtException | UsernameNotFoundException e) {
+            throw new MessagingException("Invalid token", e);
+        }
+    }
+}
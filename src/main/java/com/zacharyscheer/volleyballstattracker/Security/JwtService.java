@@ -1,27 +1,51 @@
 package com.zacharyscheer.volleyballstattracker.Security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import com.zacharyscheer.volleyballstattracker.models.User;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
 /**
  * Service responsible for JWT token generation, validation, and extraction of claims.
  * This is the core utility for stateless authentication.
+ * <p>
+ * Keys and the parser are built once at startup. Tokens are signed with the current key and carry its ID in the
+ * "kid" header; any key listed in verification-keys is still accepted, so the signing key can be rotated without
+ * logging every coach out.
  */
 @Service
 public class JwtService {
 
+    // --- Custom Claims ---
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_AUTHORITIES = "authorities";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+    // Set only on scoped tokens (e.g. a match stream link); they are never accepted as API tokens
+    public static final String CLAIM_SCOPE = "scope";
+    public static final String CLAIM_MATCH_ID = "mid";
+    public static final String SCOPE_MATCH_STREAM = "match-stream";
+
     // Properties injected from application.properties
     @Value("${application.security.jwt.secret-key}")
     private String secretKey;
@@ -29,6 +53,60 @@ public class JwtService {
     @Value("${application.security.jwt.expiration}")
     private long jwtExpiration;
 
+    // Lifetime of a match stream token; it ends up in a URL, so it is kept short
+    @Value("${application.security.jwt.stream-token-expiration:300000}")
+    private long streamTokenExpiration;
+
+    // ID of the current signing key, written to the "kid" header of every new token
+    @Value("${application.security.jwt.key-id:primary}")
+    private String keyId;
+
+    // Retired keys that still verify tokens until they expire, as "kid:base64Secret" pairs separated by commas
+    @Value("${application.security.jwt.verification-keys:}")
+    private String verificationKeys;
+
+    // --- Built once in init(); the parser and keys are immutable and thread-safe ---
+    private Key signingKey;
+    private Map<String, Key> keysById;
+    private JwtParser parser;
+
+    /**
+     * Decodes the signing key and every verification key, and builds the shared parser.
+     * Fails startup if a key is missing, malformed, or shorter than 256 bits.
+     */
+    @PostConstruct
+    public void init() {
+        if (keyId == null || keyId.isBlank()) {
+            keyId = "primary";
+        }
+        signingKey = decodeKey(secretKey);
+
+        Map<String, Key> keys = new HashMap<>();
+        keys.put(keyId, signingKey);
+        if (verificationKeys != null && !verificationKeys.isBlank()) {
+            for (String entry : verificationKeys.split(",")) {
+                String[] parts = entry.trim().split(":", 2);
+                if (parts.length != 2 || parts[0].isBlank()) {
+                    throw new IllegalArgumentException("Verification keys must be listed as kid:base64Secret");
+                }
+                if (keys.putIfAbsent(parts[0].trim(), decodeKey(parts[1].trim())) != null) {
+                    throw new IllegalArgumentException("Duplicate JWT key ID: " + parts[0].trim());
+                }
+            }
+        }
+        keysById = Collections.unmodifiableMap(keys);
+
+        parser = Jwts
+                .parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return resolveKey(header.getKeyId());
+                    }
+                })
+                .build();
+    }
+
     /**
      * Extracts the subject (username) from the JWT token.
      * @param token The JWT string.
@@ -47,7 +125,24 @@ public class JwtService {
     }
 
     /**
-     * Generates a token with standard claims (username, issue date, expiration).
+     * Builds the principal straight from verified claims, without loading the user.
+     * @return The principal, or null if the token predates the user claims (no user ID).
+     */
+    public TokenPrincipal extractPrincipal(Claims claims) {
+        Integer userId = claims.get(CLAIM_USER_ID, Integer.class);
+        if (userId == null) {
+            return null;
+        }
+        List<?> names = claims.get(CLAIM_AUTHORITIES, List.class);
+        List<GrantedAuthority> authorities = names == null ? List.of() : names.stream()
+                .map(name -> (GrantedAuthority) new SimpleGrantedAuthority(String.valueOf(name)))
+                .toList();
+        return new TokenPrincipal(userId, claims.getSubject(), authorities, extractTokenVersion(claims));
+    }
+
+    /**
+     * Generates a token with standard claims (username, issue date, expiration),
+     * plus the user ID, authorities and token version.
      */
     public String generateToken(UserDetails userDetails) {
         return generateToken(new HashMap<>(), userDetails);
@@ -60,16 +155,65 @@ public class JwtService {
             Map<String, Object> extraClaims,
             UserDetails userDetails
     ) {
+        Map<String, Object> claims = new HashMap<>(extraClaims);
+        claims.put(CLAIM_AUTHORITIES, userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList());
+        if (userDetails instanceof User user) {
+            claims.put(CLAIM_USER_ID, user.getId());
+            claims.put(CLAIM_TOKEN_VERSION, user.getTokenVersion());
+        }
+
         return Jwts
                 .builder()
-                .setClaims(extraClaims)
+                .setHeaderParam(JwsHeader.KEY_ID, keyId)
+                .setClaims(claims)
                 .setSubject(userDetails.getUsername()) // Subject is the username
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256) // Sign the token with the secret key
+                .signWith(signingKey, SignatureAlgorithm.HS256) // Sign the token with the current key
+                .compact();
+    }
+
+    /**
+     * Generates a short-lived token that only opens the live stream of one match. A browser EventSource cannot
+     * send an Authorization header, so this token goes in the stream URL's query string instead of the API token.
+     */
+    public String generateStreamToken(String username, Long matchId) {
+        return Jwts
+                .builder()
+                .setHeaderParam(JwsHeader.KEY_ID, keyId)
+                .claim(CLAIM_SCOPE, SCOPE_MATCH_STREAM)
+                .claim(CLAIM_MATCH_ID, matchId)
+                .setSubject(username)
+                .setIssuedAt(new Date(System.currentTimeMillis()))
+                .setExpiration(new Date(System.currentTimeMillis() + streamTokenExpiration))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * @return The lifetime of a stream token in milliseconds.
+     */
+    public long getStreamTokenExpiration() {
+        return streamTokenExpiration;
+    }
+
+    /**
+     * Checks a stream token: signed by a known key, not expired, and issued for this match's stream.
+     * @return false for any other token, including a regular API token.
+     */
+    public boolean isStreamTokenValid(String token, Long matchId) {
+        try {
+            Claims claims = parseClaims(token);
+            Number tokenMatchId = claims.get(CLAIM_MATCH_ID, Number.class);
+            return SCOPE_MATCH_STREAM.equals(claims.get(CLAIM_SCOPE, String.class))
+                    && tokenMatchId != null && tokenMatchId.longValue() == matchId;
+        } catch (JwtException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
     /**
      * Checks if the token is valid for the given user.
      * @param token The token string.
@@ -77,32 +221,73 @@ public class JwtService {
      * @return true if the token is valid and not expired.
      */
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(parseClaims(token), userDetails);
+    }
+
+    /**
+     * Checks already parsed claims against the given user, so a request only verifies its token once.
+     * @param claims The claims returned by parseClaims.
+     * @param userDetails The user details to check against.
+     * @return true if the token belongs to the user, is not expired, was issued for the user's current token version,
+     * and is not a scoped token.
+     */
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return claims.get(CLAIM_SCOPE) == null
+                && claims.getSubject().equals(userDetails.getUsername())
+                && !claims.getExpiration().before(new Date())
+                && extractTokenVersion(claims) == currentTokenVersion(userDetails);
+    }
+
+    // Tokens issued before versions were added count as version 0
+    private int extractTokenVersion(Claims claims) {
+        Integer version = claims.get(CLAIM_TOKEN_VERSION, Integer.class);
+        return version == null ? 0 : version;
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private static int currentTokenVersion(UserDetails userDetails) {
+        if (userDetails instanceof User user) {
+            return user.getTokenVersion();
+        }
+        if (userDetails instanceof TokenPrincipal principal) {
+            return principal.tokenVersion();
+        }
+        return 0;
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    /**
+     * Verifies the token's signature and returns all of its claims.
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with, or expired.
+     */
+    public Claims parseClaims(String token) {
+        return extractAllClaims(token);
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
+        return parser
                 .parseClaimsJws(token)
                 .getBody();
     }
 
     /**
-     * Decodes the Base64 secret key into a Key object for signing.
+     * Picks the verification key named by the token's "kid" header.
+     * Tokens issued before key IDs were added have no header and are checked against the current key.
+     */
+    private Key resolveKey(String kid) {
+        if (kid == null) {
+            return signingKey;
+        }
+        Key key = keysById.get(kid);
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown JWT key ID: " + kid);
+        }
+        return key;
+    }
+
+    /**
+     * Decodes a Base64 secret into a Key object for signing/verifying.
      */
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
+    private static Key decodeKey(String base64Secret) {
+        byte[] keyBytes = Decoders.BASE64.decode(base64Secret);
         return Keys.hmacShaKeyFor(keyBytes);
     }
 }
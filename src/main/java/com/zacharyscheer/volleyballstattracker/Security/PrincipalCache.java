@@ -0,0 +1,61 @@
+package com.zacharyscheer.volleyballstattracker.Security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Short-lived cache of each user's current principal (ID, authorities and token version), keyed by email.
+ * The JWT filter checks a token's version against it, so a password change revokes older tokens without a
+ * user lookup on every request. Entries are dropped when the user's password or email changes, and
+ * otherwise expire after a short TTL (which also bounds how long another instance can accept a revoked token).
+ */
+@Component
+public class PrincipalCache {
+
+    private final Cache<String, TokenPrincipal> principals;
+
+    public PrincipalCache(MeterRegistry meterRegistry,
+                          @Value("${application.security.principal-cache.maximum-size:10000}") long maximumSize,
+                          @Value("${application.security.principal-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "principals");
+    }
+
+    /**
+     * Returns the cached principal for the username, loading it on a miss.
+     * A loader exception (e.g. UsernameNotFoundException) is thrown to the caller and nothing is cached.
+     */
+    public TokenPrincipal get(String username, Function<String, TokenPrincipal> loader) {
+        return principals.get(username, loader);
+    }
+
+    /**
+     * Drops the cached principal once the current transaction commits (or right away if there is none),
+     * so a concurrent request cannot cache the old row again before the change is visible.
+     */
+    public void invalidateAfterCommit(String username) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    principals.invalidate(username);
+                }
+            });
+        } else {
+            principals.invalidate(username);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.zacharyscheer.volleyballstattracker.Security;
+
+import com.zacharyscheer.volleyballstattracker.models.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+
+/**
+ * The authenticated user as described by a verified JWT: ID, email, authorities and token version.
+ * Built from the token's claims, so controllers can read the user's ID without loading the User entity.
+ * There is no password; it is never needed once the token has been verified.
+ */
+public record TokenPrincipal(Integer userId,
+                             String email,
+                             List<GrantedAuthority> authorities,
+                             int tokenVersion) implements UserDetails {
+
+    /**
+     * Builds the principal from a loaded user (used for tokens issued before the user claims were added).
+     */
+    public static TokenPrincipal from(UserDetails userDetails) {
+        if (userDetails instanceof TokenPrincipal principal) {
+            return principal;
+        }
+        Integer userId = userDetails instanceof User user ? user.getId() : null;
+        int tokenVersion = userDetails instanceof User user ? user.getTokenVersion() : 0;
+        return new TokenPrincipal(userId, userDetails.getUsername(),
+                List.copyOf(userDetails.getAuthorities()), tokenVersion);
+    }
+
+    // --- UserDetails Implementation ---
+
+    @Override
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+}
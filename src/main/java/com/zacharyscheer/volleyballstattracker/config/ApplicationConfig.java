@@ -1,6 +1,7 @@
 package com.zacharyscheer.volleyballstattracker.config;
 
 import com.zacharyscheer.volleyballstattracker.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -16,9 +17,11 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 public class ApplicationConfig {
 
     private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
 
-    public ApplicationConfig(UserRepository userRepository) {
+    public ApplicationConfig(UserRepository userRepository, MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
+        this.meterRegistry = meterRegistry;
     }
 
     // --- Core Security Beans ---
@@ -38,9 +41,10 @@ public class ApplicationConfig {
     @Bean
     public UserDetailsService userDetailsService() {
         // Use the injected UserRepository to find the User entity by email/username
-        return username -> userRepository.findByEmail(username)
+        // Timed here so login, the JWT filter and the scoring socket all report the same lookup
+        return username -> MetricsSupport.time(meterRegistry, MetricsSupport.USER_LOOKUP, () -> userRepository.findByEmail(username)
                 // If not found, throw the standard Spring Security exception
-                .orElseThrow(() -> new UsernameNotFoundException("User not found in database: " + username));
+                .orElseThrow(() -> new UsernameNotFoundException("User not found in database: " + username)));
     }
 
     // --- Authentication Provider ---
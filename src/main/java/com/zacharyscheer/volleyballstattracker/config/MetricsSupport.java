@@ -0,0 +1,66 @@
+package com.zacharyscheer.volleyballstattracker.config;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Names and a timing helper for the Micrometer metrics on the scoring and auth hot paths.
+ * Every timer is tagged with the outcome (success/error) and the exception's simple name,
+ * so a slow failure can be told apart from a slow success on the Prometheus side.
+ */
+public final class MetricsSupport {
+
+    // --- Metric Names (exported as e.g. stats_record_seconds) ---
+    public static final String STAT_RECORD = "stats.record";
+    public static final String STAT_AGGREGATION = "stats.aggregation";
+    public static final String SET_START = "sets.start";
+    public static final String SET_START_ROSTER_SIZE = "sets.start.roster.size";
+    public static final String JWT_VALIDATION = "auth.jwt";
+    public static final String USER_LOOKUP = "auth.user.lookup";
+    public static final String OPTIMISTIC_RETRY = "stats.optimistic.retry";
+
+    private static final String NO_EXCEPTION = "none";
+    private static final Map<TimerKey, Timer> TIMERS = new ConcurrentHashMap<>();
+
+    private MetricsSupport() {
+    }
+
+    /**
+     * Runs the call and records how long it took under the given timer name and tags.
+     * Exceptions are recorded with outcome=error and rethrown unchanged.
+     * @param tags Extra tag key/value pairs, e.g. "event_type", "KILL".
+     */
+    public static <T> T time(MeterRegistry registry, String name, Supplier<T> call, String... tags) {
+        Clock clock = registry.config().clock();
+        long start = clock.monotonicTime();
+        String exception = NO_EXCEPTION;
+        try {
+            return call.get();
+        } catch (RuntimeException | Error e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            timer(registry, name, tags, exception).record(clock.monotonicTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Registered once per name, tags and exception; a hot path then only pays for a map lookup
+    private static Timer timer(MeterRegistry registry, String name, String[] tags, String exception) {
+        return TIMERS.computeIfAbsent(new TimerKey(registry, name, List.of(tags), exception), key -> Timer.builder(name)
+                .tags(tags)
+                .tag("outcome", NO_EXCEPTION.equals(exception) ? "success" : "error")
+                .tag("exception", exception)
+                .register(registry));
+    }
+
+    // The registry is compared by identity, so each registry (e.g. one per test) gets its own timers
+    private record TimerKey(MeterRegistry registry, String name, List<String> tags, String exception) {
+    }
+}
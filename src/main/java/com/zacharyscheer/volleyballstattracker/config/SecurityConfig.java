@@ -1,20 +1,30 @@
 package com.zacharyscheer.volleyballstattracker.config;
 
 import com.zacharyscheer.volleyballstattracker.Security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.Arrays;
 import java.util.List;
 
@@ -28,10 +38,39 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SecurityConfig {
 
+    private static final String METRICS_AUTHORITY = "METRICS";
+
     // These components are automatically injected by Spring
     private final JwtAuthenticationFilter jwtAuthFilter;
     private final AuthenticationProvider authenticationProvider;
 
+    /**
+     * Security for the Actuator endpoints, checked before the API chain. Health checks stay open; everything else
+     * (the Prometheus scrape included) needs the scrape credentials over HTTP Basic, since Prometheus cannot log in
+     * for a JWT. With no scrape password configured, those endpoints are closed.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorSecurityFilterChain(
+            HttpSecurity http,
+            @Value("${application.metrics.scrape-username:prometheus}") String scrapeUsername,
+            @Value("${application.metrics.scrape-password:}") String scrapePassword) throws Exception {
+        http
+                .securityMatcher("/actuator/**")
+                .csrf(csrf -> csrf.disable())
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers("/actuator/health").permitAll()
+                        .anyRequest().hasAuthority(METRICS_AUTHORITY)
+                )
+                .httpBasic(Customizer.withDefaults())
+                .sessionManagement(session -> session
+                        .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+                )
+                .authenticationManager(scrapeAuthenticationManager(scrapeUsername, scrapePassword));
+
+        return http.build();
+    }
+
     /**
      * Defines the security filter chain rules.
      */
@@ -44,6 +83,16 @@ public class SecurityConfig {
 
                 // 2. Define endpoint access rules
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches (e.g. when a live SSE stream completes) were already authorized on the original request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
+                        // The scoring WebSocket handshake cannot carry headers; the JWT is checked on STOMP CONNECT instead
+                        .requestMatchers("/ws/**").permitAll()
+
+                        // A browser EventSource cannot send the Authorization header; the controller checks the
+                        // stream token in the query string (or the bearer token of other clients) instead
+                        .requestMatchers(HttpMethod.GET, "/api/stats/match/*/stream").permitAll()
+
                         // Allow access to the authentication controller endpoints (like /api/auth/login)
                         .requestMatchers("/api/auth/**").permitAll()
 
@@ -85,6 +134,19 @@ public class SecurityConfig {
         return http.build();
     }
 
+    // Accepts only the configured scrape user; the password is compared in constant time
+    private static AuthenticationManager scrapeAuthenticationManager(String username, String password) {
+        byte[] expected = password.getBytes(StandardCharsets.UTF_8);
+        return authentication -> {
+            byte[] given = String.valueOf(authentication.getCredentials()).getBytes(StandardCharsets.UTF_8);
+            if (expected.length == 0 || !username.equals(authentication.getName()) || !MessageDigest.isEqual(expected, given)) {
+                throw new BadCredentialsException("Bad metrics scrape credentials");
+            }
+            return UsernamePasswordAuthenticationToken.authenticated(username, null,
+                    List.of(new SimpleGrantedAuthority(METRICS_AUTHORITY)));
+        };
+    }
+
     /**
      * Configures CORS to allow all origins, methods, and headers for development simplicity.
      */
@@ -95,6 +157,8 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(List.of("*"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS","PATCH"));
         configuration.setAllowedHeaders(List.of("*"));
+        // Let browser clients read the created resource and the next page cursor
+        configuration.setExposedHeaders(List.of("Location", "X-Next-Cursor"));
         configuration.setAllowCredentials(false);
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
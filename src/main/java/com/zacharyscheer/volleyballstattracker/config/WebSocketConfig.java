@@ -0,0 +1,47 @@
+package com.zacharyscheer.volleyballstattracker.config;
+
+import com.zacharyscheer.volleyballstattracker.Security.JwtChannelInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+
+/**
+ * STOMP over WebSocket for courtside scoring: one persistent, JWT-authenticated connection per device
+ * instead of an HTTPS request per tap. Clients send to /app/scoring/** and receive acks on /user/queue/scoring-acks.
+ * Browser handshakes are only accepted from application.websocket.allowed-origins; native apps send no Origin header.
+ */
+@Configuration
+@EnableWebSocketMessageBroker
+public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+
+    private final JwtChannelInterceptor jwtChannelInterceptor;
+    private final String[] allowedOrigins;
+
+    public WebSocketConfig(JwtChannelInterceptor jwtChannelInterceptor,
+                           @Value("${application.websocket.allowed-origins}") String[] allowedOrigins) {
+        this.jwtChannelInterceptor = jwtChannelInterceptor;
+        this.allowedOrigins = allowedOrigins;
+    }
+
+    @Override
+    public void registerStompEndpoints(StompEndpointRegistry registry) {
+        // Patterns, so a deployment can allow e.g. https://*.example.com
+        registry.addEndpoint("/ws/scoring").setAllowedOriginPatterns(allowedOrigins);
+    }
+
+    @Override
+    public void configureMessageBroker(MessageBrokerRegistry registry) {
+        registry.setApplicationDestinationPrefixes("/app");
+        registry.enableSimpleBroker("/queue");
+        registry.setUserDestinationPrefix("/user");
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(jwtChannelInterceptor);
+    }
+}
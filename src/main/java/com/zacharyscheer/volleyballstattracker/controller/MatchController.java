@@ -1,5 +1,8 @@
 package com.zacharyscheer.volleyballstattracker.controller;
 
+import com.zacharyscheer.volleyballstattracker.Security.TokenPrincipal;
+import com.zacharyscheer.volleyballstattracker.dto.MatchHistoryFilter;
+import com.zacharyscheer.volleyballstattracker.dto.MatchHistoryPageDTO;
 import com.zacharyscheer.volleyballstattracker.dto.MatchRequestDTO;
 import com.zacharyscheer.volleyballstattracker.dto.MatchResponseDTO;
 import com.zacharyscheer.volleyballstattracker.models.Match;
@@ -9,11 +12,13 @@ import com.zacharyscheer.volleyballstattracker.service.UserService;
 import com.zacharyscheer.volleyballstattracker.service.setService.SetService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors; // Necessary if you implement set mapping later
 
@@ -23,6 +28,8 @@ import java.util.stream.Collectors; // Necessary if you implement set mapping la
 @CrossOrigin(origins = "*")
 public class MatchController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final MatchService matchService;
     private final UserService userService;
 
@@ -65,6 +72,10 @@ public class MatchController {
      * Extracts the database ID from the authenticated user principal.
      */
     private Integer getUserId(Authentication authentication) {
+        // JWT requests carry the user ID in the token, so no lookup is needed
+        if (authentication.getPrincipal() instanceof TokenPrincipal principal && principal.userId() != null) {
+            return principal.userId();
+        }
         // Get the username/email from the Spring Security context
         String userEmail = authentication.getName();
         // Use the UserService to find the User object and retrieve the actual ID
@@ -131,11 +142,49 @@ public class MatchController {
         }
     }
 
-    // Example placeholder for listing all matches
+    /**
+     * GET /api/matches/history : The authenticated coach's matches, newest first, one page at a time.
+     * Optional filters: opponent (name contains), from/to (match date, inclusive) and result (WIN or LOSS).
+     * Pass the returned nextCursor as 'cursor' to get the next page.
+     */
+    @GetMapping("/history")
+    public ResponseEntity<MatchHistoryPageDTO> getMatchHistory(
+            Authentication authentication,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String opponent,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) MatchHistoryFilter.Result result) {
+        MatchHistoryFilter filter = MatchHistoryFilter.builder()
+                .opponent(opponent)
+                .from(from)
+                .to(to)
+                .result(result)
+                .build();
+        try {
+            return ResponseEntity.ok(matchService.getMatchHistory(getUserId(authentication), filter, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            // A cursor that was not handed out by this endpoint
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * GET /api/matches : Lists matches newest first, one page at a time (keyset pagination).
+     * When a full page comes back, the X-Next-Cursor header holds the value to pass as afterId for the next page.
+     */
     @GetMapping
-    public ResponseEntity<List<MatchResponseDTO>> getAllMatches() {
-        List<MatchResponseDTO> matches = matchService.getAllMatches();
-        return ResponseEntity.ok(matches);
+    public ResponseEntity<List<MatchResponseDTO>> getAllMatches(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "50") int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MatchService.MAX_PAGE_SIZE));
+        List<MatchResponseDTO> matches = matchService.getAllMatches(afterId, pageSize);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (matches.size() == pageSize) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(matches.get(matches.size() - 1).getId()));
+        }
+        return response.body(matches);
     }
 
 }
\ No newline at end of file
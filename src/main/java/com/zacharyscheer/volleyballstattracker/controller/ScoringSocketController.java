@@ -0,0 +1,125 @@
+package com.zacharyscheer.volleyballstattracker.controller;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zacharyscheer.volleyballstattracker.dto.LiveSetStateDTO;
+import com.zacharyscheer.volleyballstattracker.dto.ScoringAckDTO;
+import com.zacharyscheer.volleyballstattracker.dto.ScoringMessageDTO;
+import com.zacharyscheer.volleyballstattracker.models.StatEvent;
+import com.zacharyscheer.volleyballstattracker.models.Team;
+import com.zacharyscheer.volleyballstattracker.service.setService.SetService;
+import com.zacharyscheer.volleyballstattracker.service.statLineServices.StatLineService;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.stereotype.Controller;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Handles scoring taps sent over the /ws/scoring STOMP connection.
+ * Each message goes through the same services as the REST endpoints and is answered with an ack
+ * carrying the client's message number, so the device knows which taps it still has to resend.
+ * A resent tap (same eventId) is recorded once and answered with the ack of the first delivery:
+ * stat events are looked up in the stat log by their client event id, points in a short-lived cache of acks.
+ */
+@Controller
+public class ScoringSocketController {
+
+    private final StatLineService statLineService;
+    private final SetService setService;
+    // Ok acks of recent points by eventId; a device stops resending a tap within seconds of reconnecting
+    private final Cache<UUID, ScoringAckDTO> pointAcks;
+
+    public ScoringSocketController(StatLineService statLineService,
+                                   SetService setService,
+                                   @Value("${stats.scoring.point-replay.maximum-size:100000}") long maximumSize,
+                                   @Value("${stats.scoring.point-replay.ttl-minutes:30}") long ttlMinutes) {
+        this.statLineService = statLineService;
+        this.setService = setService;
+        this.pointAcks = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .build();
+    }
+
+    /**
+     * Records a stat tap and acks it with the event's sequence in the stat log.
+     * With the write-behind buffer on, the event has no sequence until the buffer flushes, so the ack
+     * is ok without one (see ScoringAckDTO.eventSequence).
+     */
+    @MessageMapping("/scoring/stat")
+    @SendToUser(value = "/queue/scoring-acks", broadcast = false)
+    public ScoringAckDTO recordStat(ScoringMessageDTO message) {
+        if (message.getSetId() == null || message.getPlayerId() == null || message.getEventType() == null) {
+            return rejected(message, "A stat event needs a setId, playerId and eventType");
+        }
+        try {
+            StatEvent event;
+            try {
+                event = statLineService.recordClientEvent(message.getEventId(), message.getSetId(),
+                        message.getPlayerId(), message.getEventType(), message.getRating());
+            } catch (DataIntegrityViolationException e) {
+                // The same tap arrived twice at once and the other delivery recorded it first
+                if (message.getEventId() == null) {
+                    throw e;
+                }
+                event = statLineService.findClientEvent(message.getSetId(), message.getPlayerId(), message.getEventId())
+                        .orElseThrow(() -> e);
+            }
+            return ScoringAckDTO.builder()
+                    .seq(message.getSeq())
+                    .ok(true)
+                    .eventSequence(event.getSequence())
+                    .build();
+        } catch (EntityNotFoundException | IllegalArgumentException e) {
+            return rejected(message, e.getMessage());
+        }
+    }
+
+    @MessageMapping("/scoring/point")
+    @SendToUser(value = "/queue/scoring-acks", broadcast = false)
+    public ScoringAckDTO recordPoint(ScoringMessageDTO message) {
+        if (message.getSetId() == null || message.getSide() == null) {
+            return rejected(message, "A point needs a setId and side");
+        }
+        if (message.getEventId() == null) {
+            return scorePoint(message);
+        }
+        // Concurrent deliveries of one eventId wait for the first; only ok acks are kept, so a rejected point can be resent
+        ScoringAckDTO ack = pointAcks.get(message.getEventId(), eventId -> scorePoint(message));
+        if (!ack.isOk()) {
+            pointAcks.invalidate(message.getEventId());
+        }
+        return ack.toBuilder().seq(message.getSeq()).build();
+    }
+
+    private ScoringAckDTO scorePoint(ScoringMessageDTO message) {
+        try {
+            LiveSetStateDTO set = setService.recordPoint(message.getSetId(),
+                    message.getSide() == ScoringMessageDTO.Side.HOME ? Team.HOME : Team.OPPONENT);
+            return ScoringAckDTO.builder()
+                    .seq(message.getSeq())
+                    .ok(true)
+                    .homeScore(set.getHomeScore())
+                    .opponentScore(set.getOpponentScore())
+                    .build();
+        } catch (EntityNotFoundException | IllegalArgumentException e) {
+            return rejected(message, e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            return rejected(message, "The score changed concurrently; please retry");
+        }
+    }
+
+    private ScoringAckDTO rejected(ScoringMessageDTO message, String error) {
+        return ScoringAckDTO.builder()
+                .seq(message.getSeq())
+                .ok(false)
+                .error(error)
+                .build();
+    }
+}
@@ -0,0 +1,73 @@
+package com.zacharyscheer.volleyballstattracker.controller;
+
+import com.zacharyscheer.volleyballstattracker.dto.LiveSetStateDTO;
+import com.zacharyscheer.volleyballstattracker.models.Team;
+import com.zacharyscheer.volleyballstattracker.service.setService.SetService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/sets")
+@RequiredArgsConstructor
+public class SetController {
+
+    private final SetService setService;
+
+    /**
+     * GET /api/sets/{setId} : Retrieves the live scoreboard of a set (score, server, rotation, set/match end).
+     * The response only carries the score, so the Set entity's StatLines are never loaded.
+     */
+    @GetMapping("/{setId}")
+    public ResponseEntity<LiveSetStateDTO> getSet(@PathVariable Long setId) {
+        return ResponseEntity.ok(setService.getLiveSet(setId));
+    }
+
+    // --- Score Tracking ---
+
+    /**
+     * POST /api/sets/{setId}/point/home : Records a point for the home team.
+     * Returns 400 Bad Request once the set is over, and 409 Conflict only if versioned scoring
+     * is enabled and every retry lost the race.
+     */
+    @PostMapping("/{setId}/point/home")
+    public ResponseEntity<?> recordHomePoint(@PathVariable Long setId) {
+        return recordPoint(setId, Team.HOME);
+    }
+
+    /**
+     * POST /api/sets/{setId}/point/opponent : Records a point for the opponent (same responses as the home point).
+     */
+    @PostMapping("/{setId}/point/opponent")
+    public ResponseEntity<?> recordOpponentPoint(@PathVariable Long setId) {
+        return recordPoint(setId, Team.OPPONENT);
+    }
+
+    /**
+     * POST /api/sets/{setId}/serve?team=HOME&rotation=1 : Sets who serves next and our current rotation.
+     */
+    @PostMapping("/{setId}/serve")
+    public ResponseEntity<?> setServe(@PathVariable Long setId,
+                                      @RequestParam Team team,
+                                      @RequestParam(defaultValue = "1") int rotation) {
+        try {
+            return ResponseEntity.ok(setService.setServe(setId, team, rotation));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    private ResponseEntity<?> recordPoint(Long setId, Team team) {
+        try {
+            return ResponseEntity.ok(setService.recordPoint(setId, team));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+}
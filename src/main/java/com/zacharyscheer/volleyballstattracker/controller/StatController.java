@@ -1,22 +1,60 @@
 package com.zacharyscheer.volleyballstattracker.controller;
 
+import com.zacharyscheer.volleyballstattracker.Security.JwtService;
+import com.zacharyscheer.volleyballstattracker.Security.TokenPrincipal;
+import com.zacharyscheer.volleyballstattracker.dto.CacheStatsDTO;
+import com.zacharyscheer.volleyballstattracker.dto.MultiMatchAggregateStatsDTO;
 import com.zacharyscheer.volleyballstattracker.dto.PlayerMatchAggregateStatsDTO;
+import com.zacharyscheer.volleyballstattracker.dto.StatEventRequestDTO;
+import com.zacharyscheer.volleyballstattracker.dto.StatEventResponseDTO;
 import com.zacharyscheer.volleyballstattracker.dto.StatLineResponseDTO;
+import com.zacharyscheer.volleyballstattracker.dto.StreamTokenDTO;
 import com.zacharyscheer.volleyballstattracker.dto.TeamMatchAggregateStatsDTO;
+import com.zacharyscheer.volleyballstattracker.dto.UndoResultDTO;
+import com.zacharyscheer.volleyballstattracker.mapper.StatEventMapper;
 import com.zacharyscheer.volleyballstattracker.mapper.StatLineMapper;
+import com.zacharyscheer.volleyballstattracker.models.ScoringAction;
+import com.zacharyscheer.volleyballstattracker.models.StatEvent;
 import com.zacharyscheer.volleyballstattracker.models.StatLine;
+import com.zacharyscheer.volleyballstattracker.service.MatchService;
+import com.zacharyscheer.volleyballstattracker.service.UserService;
+import com.zacharyscheer.volleyballstattracker.service.statLineServices.LiveMatchBroadcaster;
 import com.zacharyscheer.volleyballstattracker.service.statLineServices.StatLineService;
+import com.zacharyscheer.volleyballstattracker.service.statLineServices.UndoResult;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/stats")
 @RequiredArgsConstructor
+@Validated
 public class StatController {
 
+    // Most events one batch request may carry (a scorer's offline queue is well under this)
+    static final int MAX_BATCH_SIZE = 500;
+
     private final StatLineService statLineService;
     private final StatLineMapper statLineMapper;
+    private final StatEventMapper statEventMapper;
+    private final LiveMatchBroadcaster liveMatchBroadcaster;
+    private final JwtService jwtService;
+    private final MatchService matchService;
+    private final UserService userService;
 
 
     /**
@@ -32,6 +70,71 @@ public class StatController {
         return ResponseEntity.ok(statLineMapper.toDto(stats));
     }
 
+    /**
+     * Retrieves the play-by-play for a set from the stat event log.
+     * Pass the last position already seen as 'after' to only get newer events.
+     */
+    @GetMapping("/set/{setId}/events")
+    public ResponseEntity<List<StatEventResponseDTO>> getSetEvents(
+            @PathVariable Long setId,
+            @RequestParam(required = false) Long after) {
+
+        List<StatEvent> events = statLineService.getSetEvents(setId, after);
+        return ResponseEntity.ok(events.stream()
+                .map(statEventMapper::toDto)
+                .collect(Collectors.toList()));
+    }
+
+    // -------------------------------------------------------------------------
+    // UNDO / REDO ENDPOINTS
+    // -------------------------------------------------------------------------
+
+    /**
+     * Takes back the set's most recent stat tap or point (e.g. a mis-tap).
+     * Returns 204 No Content if there is nothing to undo, and 400 if the point can no longer be taken back.
+     */
+    @PostMapping("/set/{setId}/undo")
+    public ResponseEntity<?> undo(@PathVariable Long setId) {
+        try {
+            return toResponse(statLineService.undo(setId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Applies the set's most recently undone action again.
+     * Returns 204 No Content if there is nothing to redo, and 400 if the set has ended since.
+     */
+    @PostMapping("/set/{setId}/redo")
+    public ResponseEntity<?> redo(@PathVariable Long setId) {
+        try {
+            return toResponse(statLineService.redo(setId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    private ResponseEntity<?> toResponse(Optional<UndoResult> result) {
+        if (result.isEmpty()) {
+            return ResponseEntity.noContent().build();
+        }
+        UndoResult applied = result.get();
+        UndoResultDTO.UndoResultDTOBuilder dto = UndoResultDTO.builder();
+        if (applied.action() instanceof ScoringAction.StatTap tap) {
+            dto.kind(UndoResultDTO.Kind.STAT)
+                    .playerId(tap.playerId())
+                    .eventType(tap.eventType())
+                    .rating(tap.rating())
+                    .statLine(statLineMapper.toDto(applied.statLine()));
+        } else if (applied.action() instanceof ScoringAction.Point point) {
+            dto.kind(UndoResultDTO.Kind.POINT)
+                    .team(point.team())
+                    .set(applied.set());
+        }
+        return ResponseEntity.ok(dto.build());
+    }
+
     // -------------------------------------------------------------------------
     // NEW: MATCH AGGREGATION ENDPOINTS
     // -------------------------------------------------------------------------
@@ -59,6 +162,134 @@ public class StatController {
         return ResponseEntity.ok(totals);
     }
 
+    /**
+     * Opens a Server-Sent Events stream of a match's live changes: one "update" event per committed
+     * stat delta (only the counters that changed) or score change. Replaces polling every player's StatLine.
+     * Browsers pass a token from /stream-token as ?token=...; other clients send the usual bearer token
+     * and must own the match (403 otherwise, 404 if there is no such match).
+     * A stream token is only issued to the match's owner, so it is not checked against the owner again.
+     */
+    @GetMapping(value = "/match/{matchId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamMatch(
+            @PathVariable Long matchId,
+            @RequestParam(required = false) String token,
+            Authentication authentication) {
+
+        if (token != null) {
+            if (!jwtService.isStreamTokenValid(token, matchId)) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+        } else {
+            if (authentication == null || !authentication.isAuthenticated()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+            HttpStatus access = matchAccess(matchId, authentication);
+            if (access != HttpStatus.OK) {
+                return ResponseEntity.status(access).build();
+            }
+        }
+        return ResponseEntity.ok(liveMatchBroadcaster.subscribe(matchId));
+    }
+
+    /**
+     * Issues a short-lived token that opens this match's live stream, for clients (like a browser EventSource)
+     * that cannot send an Authorization header. Only the match's owner gets one (403 otherwise, 404 if there is
+     * no such match).
+     * The token travels in the stream URL, so it ends up in proxy and server access logs; it only opens this
+     * one stream and expires after application.security.jwt.stream-token-expiration (5 minutes by default).
+     */
+    @PostMapping("/match/{matchId}/stream-token")
+    public ResponseEntity<StreamTokenDTO> createStreamToken(
+            @PathVariable Long matchId,
+            Authentication authentication) {
+
+        HttpStatus access = matchAccess(matchId, authentication);
+        if (access != HttpStatus.OK) {
+            return ResponseEntity.status(access).build();
+        }
+        return ResponseEntity.ok(StreamTokenDTO.builder()
+                .token(jwtService.generateStreamToken(authentication.getName(), matchId))
+                .expiresInSeconds(jwtService.getStreamTokenExpiration() / 1000)
+                .build());
+    }
+
+    /**
+     * Recomputes the match's stored totals from its StatLines (e.g. after a manual data fix).
+     */
+    @PostMapping("/match/{matchId}/totals/rebuild")
+    public ResponseEntity<TeamMatchAggregateStatsDTO> rebuildMatchTotals(
+            @PathVariable Long matchId) {
+
+        TeamMatchAggregateStatsDTO totals = statLineService.rebuildMatchTotals(matchId);
+        return ResponseEntity.ok(totals);
+    }
+
+    /**
+     * Hit/miss/eviction counts of the match totals cache, used to size stats.totals-cache.maximum-size.
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<List<CacheStatsDTO>> getTotalsCacheStats() {
+        return ResponseEntity.ok(statLineService.getTotalsCacheStats());
+    }
+
+
+    // -------------------------------------------------------------------------
+    // SEASON / MULTI-MATCH AGGREGATION ENDPOINTS
+    // -------------------------------------------------------------------------
+
+    /**
+     * Retrieves every player's (and the team's) totals across the authenticated coach's matches
+     * played between two dates, e.g. /season/totals?from=2025-08-01&to=2025-11-30
+     */
+    @GetMapping("/season/totals")
+    public ResponseEntity<MultiMatchAggregateStatsDTO> getSeasonTotals(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            Authentication authentication) {
+
+        MultiMatchAggregateStatsDTO totals = statLineService.getSeasonTotals(authentication.getName(), from, to);
+        return ResponseEntity.ok(totals);
+    }
+
+    /**
+     * Retrieves every player's (and the team's) totals across a chosen list of the coach's matches,
+     * e.g. /matches/totals?matchIds=4,7,9
+     */
+    @GetMapping("/matches/totals")
+    public ResponseEntity<MultiMatchAggregateStatsDTO> getMultiMatchTotals(
+            @RequestParam List<Long> matchIds,
+            Authentication authentication) {
+
+        MultiMatchAggregateStatsDTO totals = statLineService.getMultiMatchTotals(authentication.getName(), matchIds);
+        return ResponseEntity.ok(totals);
+    }
+
+    // -------------------------------------------------------------------------
+    // BATCH ENDPOINT
+    // -------------------------------------------------------------------------
+
+    /**
+     * Records a queued burst of stat events in one request (e.g. after a scorer's Wi-Fi drops).
+     * Returns the final StatLine for each set/player pair in the batch.
+     * Every event is validated, and a batch of more than MAX_BATCH_SIZE events is rejected; either gets a 400.
+     */
+    @PostMapping("/record/batch")
+    public ResponseEntity<List<StatLineResponseDTO>> recordBatch(
+            @RequestBody @Size(max = MAX_BATCH_SIZE) List<@Valid StatEventRequestDTO> events) {
+
+        List<StatLine> updatedStats = statLineService.recordEvents(events);
+        return ResponseEntity.ok(updatedStats.stream()
+                .map(statLineMapper::toDto)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * A request that failed @Validated method validation (e.g. a bad event in a batch) is a client error.
+     */
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<String> handleConstraintViolation(ConstraintViolationException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
 
     // -------------------------------------------------------------------------
     // HITTING ENDPOINTS
@@ -229,4 +460,26 @@ public class StatController {
         StatLine updatedStats = statLineService.recordAssist(setId, playerId);
         return ResponseEntity.ok(statLineMapper.toDto(updatedStats));
     }
-}
\ No newline at end of file
+
+    /**
+     * @return OK if the caller owns the match, FORBIDDEN if someone else does, NOT_FOUND if there is no such match.
+     */
+    private HttpStatus matchAccess(Long matchId, Authentication authentication) {
+        Optional<Integer> ownerId = matchService.findOwnerId(matchId);
+        if (ownerId.isEmpty()) {
+            return HttpStatus.NOT_FOUND;
+        }
+        return ownerId.get().equals(getUserId(authentication)) ? HttpStatus.OK : HttpStatus.FORBIDDEN;
+    }
+
+    /**
+     * Extracts the database ID from the authenticated user principal.
+     */
+    private Integer getUserId(Authentication authentication) {
+        // JWT requests carry the user ID in the token, so no lookup is needed
+        if (authentication.getPrincipal() instanceof TokenPrincipal principal && principal.userId() != null) {
+            return principal.userId();
+        }
+        return userService.findByEmail(authentication.getName()).getId();
+    }
+}
@@ -1,5 +1,7 @@
 package com.zacharyscheer.volleyballstattracker.controller;
 
+import com.zacharyscheer.volleyballstattracker.Security.JwtService;
+import com.zacharyscheer.volleyballstattracker.dto.AuthenticationResponse;
 import com.zacharyscheer.volleyballstattracker.dto.PasswordChangeRequest;
 import com.zacharyscheer.volleyballstattracker.models.User;
 import com.zacharyscheer.volleyballstattracker.service.UserService;
@@ -16,6 +18,7 @@ import org.springframework.web.bind.annotation.*;
 public class UserController {
 
     private final UserService userService;
+    private final JwtService jwtService;
 
     /**
      * GET /api/user/profile : Retrieves the currently authenticated user's details.
@@ -34,8 +37,13 @@ public class UserController {
         return ResponseEntity.ok(user);
     }
 
+    /**
+     * PATCH /api/user/password : Changes the authenticated user's password.
+     * This signs out every existing session, including the one making the request, so the response
+     * carries a replacement token for the caller.
+     */
     @PatchMapping("/password")
-    public ResponseEntity<String> updatePassword(@Valid @RequestBody PasswordChangeRequest request) {
+    public ResponseEntity<?> updatePassword(@Valid @RequestBody PasswordChangeRequest request) {
         String email = SecurityContextHolder.getContext().getAuthentication().getName();
         User user = userService.findByEmail(email);
         // This should not happen if the user is authenticated, but is a good safeguard.
@@ -45,8 +53,8 @@ public class UserController {
 
         // 3. Call the service layer method to perform the secure change
         try {
-            userService.changePassword(Long.valueOf(user.getId()), request);
-            return ResponseEntity.ok("Password updated successfully.");
+            User updated = userService.changePassword(Long.valueOf(user.getId()), request);
+            return ResponseEntity.ok(AuthenticationResponse.builder().token(jwtService.generateToken(updated)).build());
 
         } catch (IllegalArgumentException e) {
             // Catches the "Incorrect current password." exception from the service
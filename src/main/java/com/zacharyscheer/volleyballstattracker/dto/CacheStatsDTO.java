@@ -0,0 +1,18 @@
+package com.zacharyscheer.volleyballstattracker.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Hit/miss/eviction counters of one in-memory cache, used to size it.
+ */
+@Data
+@Builder
+public class CacheStatsDTO {
+    private String name;
+    private long size;
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private long evictionCount;
+}
@@ -0,0 +1,36 @@
+package com.zacharyscheer.volleyballstattracker.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.zacharyscheer.volleyballstattracker.models.Team;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * One compact change pushed to a match's live stream: either a stat delta for one player
+ * (only the counters that changed) or a new set score. Fields that do not apply are omitted.
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LiveMatchUpdateDTO {
+    private Long matchId;
+    private Long setId;
+
+    // Stat delta
+    private Integer playerId;
+    private Map<String, Integer> changes;
+    // Highest stat event position in the set included; clients that missed updates can resync from
+    // /set/{setId}/events?after=
+    private Long position;
+
+    // Score
+    private Integer homeScore;
+    private Integer opponentScore;
+    private Team servingTeam;
+    private Integer homeRotation;
+    private Boolean setCompleted;
+    private Integer homeSetScore;
+    private Integer opponentSetScore;
+}
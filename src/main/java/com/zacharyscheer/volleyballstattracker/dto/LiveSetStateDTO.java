@@ -0,0 +1,54 @@
+package com.zacharyscheer.volleyballstattracker.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.zacharyscheer.volleyballstattracker.models.Set;
+import com.zacharyscheer.volleyballstattracker.models.Team;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The scoreboard of a set: score, serving team, our rotation and whether the set (and match) is over.
+ * Has the same id/homeScore/opponentScore fields as SetDTO, so existing clients keep working.
+ * The match fields are only filled in by the live set engine.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LiveSetStateDTO {
+    private Long id;
+    private Long matchId;
+    private Integer setNumber;
+
+    // Set
+    private Integer homeScore;
+    private Integer opponentScore;
+    private Team servingTeam;
+    private Integer homeRotation;
+    private boolean completed;
+    private Team winner;
+
+    // Match
+    private Integer homeSetScore;
+    private Integer opponentSetScore;
+    private Boolean matchCompleted;
+
+    /**
+     * The set's state as stored (used when the live set engine is disabled).
+     */
+    public static LiveSetStateDTO fromSet(Set set) {
+        return LiveSetStateDTO.builder()
+                .id(set.getId())
+                .matchId(set.getMatch() == null ? null : set.getMatch().getId())
+                .setNumber(set.getSetNumber())
+                .homeScore(set.getHomeScore())
+                .opponentScore(set.getOpponentScore())
+                .servingTeam(set.getServingTeam())
+                .homeRotation(set.getHomeRotation())
+                .completed(set.isCompleted())
+                .build();
+    }
+}
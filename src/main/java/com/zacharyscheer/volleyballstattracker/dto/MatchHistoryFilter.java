@@ -0,0 +1,30 @@
+package com.zacharyscheer.volleyballstattracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Optional filters for a coach's match history. Null fields are not filtered on.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchHistoryFilter {
+
+    public enum Result { WIN, LOSS }
+
+    // Case-insensitive substring of the opponent's name
+    private String opponent;
+
+    // Match date range, both inclusive
+    private LocalDate from;
+    private LocalDate to;
+
+    // WIN: more sets won than lost; LOSS: fewer
+    private Result result;
+}
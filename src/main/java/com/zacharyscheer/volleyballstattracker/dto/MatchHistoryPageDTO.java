@@ -0,0 +1,23 @@
+package com.zacharyscheer.volleyballstattracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a coach's match history, newest first.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchHistoryPageDTO {
+
+    private List<MatchResponseDTO> matches;
+
+    // Pass as 'cursor' to get the next page; null on the last page
+    private String nextCursor;
+}
@@ -0,0 +1,31 @@
+package com.zacharyscheer.volleyballstattracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Aggregated stats across several matches (a season, a date range, or a hand-picked set of matches).
+ * Player lines have a null matchId because they span more than one match.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MultiMatchAggregateStatsDTO {
+
+    // The range or matches that were aggregated (only the fields used by the request are set)
+    private LocalDate from;
+    private LocalDate to;
+    private List<Long> matchIds;
+
+    // Every player's totals, ordered by player ID
+    private List<PlayerMatchAggregateStatsDTO> players;
+
+    // The whole team's totals over the same matches
+    private TeamMatchAggregateStatsDTO team;
+}
@@ -1,11 +1,13 @@
 package com.zacharyscheer.volleyballstattracker.dto;
 
+import com.zacharyscheer.volleyballstattracker.models.StatCounters;
+import com.zacharyscheer.volleyballstattracker.models.StatVector;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Data
 @NoArgsConstructor
-public class PlayerMatchAggregateStatsDTO {
+public class PlayerMatchAggregateStatsDTO implements StatCounters {
     // Identifiers
     private Long matchId;
     private Integer playerId;
@@ -43,49 +45,72 @@ public class PlayerMatchAggregateStatsDTO {
     private double passRating = 0.00;
     private double servicePercentage = 0.000;
 
-
     /**
-     * Calculates all derived metrics after raw counts have been aggregated
-     * by the service layer.
+     * Builds the totals straight from a SUM(...) GROUP BY query in StatLineRepository
+     * (JPQL returns Long for SUM over int columns). Metrics are calculated immediately.
      */
-    public void calculateMetrics() {
-        this.hittingPercentage = this.calculateHittingPercentage();
-        this.passRating = this.calculatePassRating();
-        this.servicePercentage = this.calculateServicePercentage();
+    public PlayerMatchAggregateStatsDTO(Long matchId, Integer playerId,
+                                        Long kills, Long killErrors, Long attackAttempts,
+                                        Long threePass, Long twoPass, Long onePass, Long zeroPass,
+                                        Long serviceAce, Long serviceError, Long serviceAttempt,
+                                        Long assists, Long setError, Long setAttempts,
+                                        Long blocks, Long blockError, Long digs, Long digError) {
+        this.matchId = matchId;
+        this.playerId = playerId;
+        this.kills = kills.intValue();
+        this.killErrors = killErrors.intValue();
+        this.attackAttempts = attackAttempts.intValue();
+        this.threePass = threePass.intValue();
+        this.twoPass = twoPass.intValue();
+        this.onePass = onePass.intValue();
+        this.zeroPass = zeroPass.intValue();
+        this.serviceAce = serviceAce.intValue();
+        this.serviceError = serviceError.intValue();
+        this.serviceAttempt = serviceAttempt.intValue();
+        this.assists = assists.intValue();
+        this.setError = setError.intValue();
+        this.setAttempts = setAttempts.intValue();
+        this.blocks = blocks.intValue();
+        this.blockError = blockError.intValue();
+        this.digs = digs.intValue();
+        this.digError = digError.intValue();
+        this.calculateMetrics();
     }
 
-    private double calculateHittingPercentage() {
-        if (this.attackAttempts == 0) {
-            return 0.000;
-        }
-        // Formula: (Kills - Errors) / Attempts
-        double percentage = (double) (this.kills - this.killErrors) / this.attackAttempts;
-        // Round to 3 decimal places
-        return Math.round(percentage * 1000.0) / 1000.0;
+    /**
+     * Builds a player's totals across several matches (matchId stays null).
+     */
+    public PlayerMatchAggregateStatsDTO(Integer playerId,
+                                        Long kills, Long killErrors, Long attackAttempts,
+                                        Long threePass, Long twoPass, Long onePass, Long zeroPass,
+                                        Long serviceAce, Long serviceError, Long serviceAttempt,
+                                        Long assists, Long setError, Long setAttempts,
+                                        Long blocks, Long blockError, Long digs, Long digError) {
+        this(null, playerId,
+                kills, killErrors, attackAttempts,
+                threePass, twoPass, onePass, zeroPass,
+                serviceAce, serviceError, serviceAttempt,
+                assists, setError, setAttempts,
+                blocks, blockError, digs, digError);
     }
 
-    private double calculatePassRating() {
-        double totalPasses = (double) (this.threePass + this.twoPass + this.onePass + this.zeroPass);
-
-        if (totalPasses == 0) {
-            return 0.00;
-        }
 
-        // Formula: (3*3Pass + 2*2Pass + 1*1Pass + 0*0Pass) / Total Passes
-        double passScore = (double)(this.threePass * 3) + (this.twoPass * 2) +  (this.onePass * 1) + (this.zeroPass * 0);
-        double passAverage = passScore / totalPasses;
-        // Round to 2 decimal places
-        return Math.round(passAverage * 100.0) / 100.0;
+    /**
+     * Calculates all derived metrics after raw counts have been aggregated
+     * by the service layer.
+     */
+    public void calculateMetrics() {
+        this.hittingPercentage = StatVector.hittingPercentage(this.kills, this.killErrors, this.attackAttempts);
+        this.passRating = StatVector.passRating(this.threePass, this.twoPass, this.onePass, this.zeroPass);
+        this.servicePercentage = StatVector.servicePercentage(this.serviceAttempt, this.serviceError);
     }
 
-    private double calculateServicePercentage() {
-        if (this.serviceAttempt == 0) {
-            return 0.000;
-        }
-        // Formula: (Attempts - Errors) / Attempts
-        double successfulServes = this.serviceAttempt - this.serviceError;
-        double percentage = successfulServes / this.serviceAttempt;
-        // Round to 3 decimal places
-        return Math.round(percentage * 1000.0) / 1000.0;
+    /**
+     * Replaces the raw counts with a StatVector's and recalculates the metrics.
+     */
+    @Override
+    public void setCounts(StatVector counts) {
+        StatCounters.super.setCounts(counts);
+        this.calculateMetrics();
     }
-}
\ No newline at end of file
+}
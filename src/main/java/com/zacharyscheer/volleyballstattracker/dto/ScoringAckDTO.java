@@ -0,0 +1,32 @@
+package com.zacharyscheer.volleyballstattracker.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Reply to a ScoringMessageDTO, sent to /user/queue/scoring-acks.
+ * A client resends any message it has not seen an ok ack for; a resent tap that was already recorded
+ * gets the same ack again.
+ */
+@Data
+@Builder(toBuilder = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ScoringAckDTO {
+    // The client's message number being acknowledged
+    private Long seq;
+    private boolean ok;
+    private String error;
+
+    /*
+     * Stat events: the sequence the stat log gave this event. With stats.write-behind.enabled the tap is acked
+     * as soon as the buffer has counted it, before it is written; sequences are only assigned when the buffer
+     * flushes, so the ack is ok but carries no eventSequence (the field is left out of the JSON). Clients must
+     * not wait for one: a resend of the same eventId is still recorded once, whether or not it has been flushed.
+     */
+    private Long eventSequence;
+
+    // Points: the set score after the point
+    private Integer homeScore;
+    private Integer opponentScore;
+}
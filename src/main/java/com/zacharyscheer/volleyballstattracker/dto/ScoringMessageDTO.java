@@ -0,0 +1,39 @@
+package com.zacharyscheer.volleyballstattracker.dto;
+
+import com.zacharyscheer.volleyballstattracker.models.StatEventType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * One courtside tap sent over the /ws/scoring WebSocket: a stat event (to /app/scoring/stat)
+ * or a point (to /app/scoring/point). The client numbers its messages so it can match them to their acks,
+ * and gives each tap an eventId it reuses when resending, so a tap that was recorded but not acked is not recorded twice.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScoringMessageDTO {
+
+    public enum Side { HOME, OPPONENT }
+
+    // The client's own message number, echoed back in the ack
+    private Long seq;
+
+    // Generated by the client once per tap and kept when the tap is resent
+    private UUID eventId;
+
+    private Long setId;
+
+    // Stat events only
+    private Integer playerId;
+    private StatEventType eventType;
+    private Integer rating;
+
+    // Points only
+    private Side side;
+}
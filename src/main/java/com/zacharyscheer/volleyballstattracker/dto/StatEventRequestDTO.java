@@ -0,0 +1,33 @@
+package com.zacharyscheer.volleyballstattracker.dto;
+
+import com.zacharyscheer.volleyballstattracker.models.StatEventType;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A single queued scoring tap, sent as part of a batch to POST /api/stats/record/batch.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatEventRequestDTO {
+
+    @NotNull(message = "Set ID is required.")
+    private Long setId;
+
+    @NotNull(message = "Player ID is required.")
+    private Integer playerId;
+
+    @NotNull(message = "Event type is required.")
+    private StatEventType eventType;
+
+    // Only used for PASS_RATING events (0, 1, 2, or 3)
+    @Min(0) @Max(3)
+    private Integer rating;
+}
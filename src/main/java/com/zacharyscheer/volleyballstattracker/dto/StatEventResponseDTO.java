@@ -0,0 +1,25 @@
+package com.zacharyscheer.volleyballstattracker.dto;
+
+import com.zacharyscheer.volleyballstattracker.models.StatEventType;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * One entry of a set's play-by-play, as read from the stat event log.
+ */
+@Data
+@Builder
+public class StatEventResponseDTO {
+    private Long sequence;
+    // Gap-free position within the set; pass the last one seen as 'after' to get only newer events
+    private Long position;
+    private Long setId;
+    private Integer playerId;
+    private StatEventType eventType;
+    private Integer rating;
+    private Instant recordedAt;
+    // True if this entry undid an earlier event of the same type
+    private boolean reversal;
+}
@@ -0,0 +1,20 @@
+package com.zacharyscheer.volleyballstattracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A short-lived token for one match's live stream, passed as /api/stats/match/{matchId}/stream?token=...
+ * (a browser EventSource cannot send an Authorization header). Fetch a new one when the stream has to reconnect
+ * after it expires.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class StreamTokenDTO {
+    private String token;
+    private long expiresInSeconds;
+}
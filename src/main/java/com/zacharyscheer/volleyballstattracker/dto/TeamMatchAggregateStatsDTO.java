@@ -18,4 +18,21 @@ public class TeamMatchAggregateStatsDTO extends PlayerMatchAggregateStatsDTO {
         // We ensure playerId is null since this DTO represents the team, not an individual.
         super.setPlayerId(null);
     }
+
+    /**
+     * Builds the team totals straight from a SUM(...) query in StatLineRepository.
+     * The query only returns the sums, so the caller sets the matchId.
+     */
+    public TeamMatchAggregateStatsDTO(Long kills, Long killErrors, Long attackAttempts,
+                                      Long threePass, Long twoPass, Long onePass, Long zeroPass,
+                                      Long serviceAce, Long serviceError, Long serviceAttempt,
+                                      Long assists, Long setError, Long setAttempts,
+                                      Long blocks, Long blockError, Long digs, Long digError) {
+        super(null, null,
+                kills, killErrors, attackAttempts,
+                threePass, twoPass, onePass, zeroPass,
+                serviceAce, serviceError, serviceAttempt,
+                assists, setError, setAttempts,
+                blocks, blockError, digs, digError);
+    }
 }
\ No newline at end of file
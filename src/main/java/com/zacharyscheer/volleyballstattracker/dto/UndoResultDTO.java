@@ -0,0 +1,31 @@
+package com.zacharyscheer.volleyballstattracker.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.zacharyscheer.volleyballstattracker.models.StatEventType;
+import com.zacharyscheer.volleyballstattracker.models.Team;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * The result of an undo or redo: which action it applied, and the player's StatLine (for a stat)
+ * or the set's scoreboard (for a point) afterwards. Fields that do not apply are omitted.
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UndoResultDTO {
+
+    public enum Kind { STAT, POINT }
+
+    private Kind kind;
+
+    // Stat
+    private Integer playerId;
+    private StatEventType eventType;
+    private Integer rating;
+    private StatLineResponseDTO statLine;
+
+    // Point
+    private Team team;
+    private LiveSetStateDTO set;
+}
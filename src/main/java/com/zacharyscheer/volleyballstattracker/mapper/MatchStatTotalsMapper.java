@@ -0,0 +1,27 @@
+package com.zacharyscheer.volleyballstattracker.mapper;
+
+import com.zacharyscheer.volleyballstattracker.dto.PlayerMatchAggregateStatsDTO;
+import com.zacharyscheer.volleyballstattracker.models.MatchStatTotals;
+import org.springframework.stereotype.Component;
+
+@Component
+public class MatchStatTotalsMapper {
+
+    /**
+     * Converts a player's materialized totals row to the aggregate DTO, calculating metrics in the process.
+     */
+    public PlayerMatchAggregateStatsDTO toPlayerDto(MatchStatTotals entity) {
+        PlayerMatchAggregateStatsDTO dto = new PlayerMatchAggregateStatsDTO();
+        dto.setMatchId(entity.getMatchId());
+        dto.setPlayerId(entity.getPlayerId());
+        dto.setCounts(entity.toVector());
+        return dto;
+    }
+
+    /**
+     * Builds a totals row from summed StatLines (used when rebuilding the table).
+     */
+    public MatchStatTotals toEntity(Long matchId, PlayerMatchAggregateStatsDTO dto) {
+        return MatchStatTotals.of(matchId, dto.getPlayerId(), dto.toVector());
+    }
+}
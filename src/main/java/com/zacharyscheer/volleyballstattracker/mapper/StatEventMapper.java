@@ -0,0 +1,25 @@
+package com.zacharyscheer.volleyballstattracker.mapper;
+
+import com.zacharyscheer.volleyballstattracker.dto.StatEventResponseDTO;
+import com.zacharyscheer.volleyballstattracker.models.StatEvent;
+import org.springframework.stereotype.Component;
+
+@Component
+public class StatEventMapper {
+
+    /**
+     * Converts a StatEvent log entry to its play-by-play DTO.
+     */
+    public StatEventResponseDTO toDto(StatEvent event) {
+        return StatEventResponseDTO.builder()
+                .sequence(event.getSequence())
+                .position(event.getPosition())
+                .setId(event.getSetId())
+                .playerId(event.getPlayerId())
+                .eventType(event.getEventType())
+                .rating(event.getRating())
+                .recordedAt(event.getRecordedAt())
+                .reversal(event.isReversal())
+                .build();
+    }
+}
@@ -42,7 +42,7 @@ public class StatLineMapper {
                 .setError(entity.getSetError())
                 .assists(entity.getAssists())
 
-                // Calculated Metrics (using the methods defined in the StatLine entity)
+                // Calculated Metrics (straight from the entity's counters)
                 .hittingPercentage(entity.calculateHittingPercentage())
                 .passRating(entity.calculatePassRating())
                 .build();
@@ -6,6 +6,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -16,7 +17,8 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "Match")
+// Backs the keyset-paginated match history: WHERE user_id = ? ORDER BY match_date DESC, id DESC
+@Table(name = "Match", indexes = @Index(name = "idx_match_user_date_id", columnList = "user_id, match_date, id"))
 public class Match {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -32,10 +34,14 @@ public class Match {
 
     // The opponent's final score in sets (e.g., if we won 3-1, this is 1)
 
-    @Column(nullable = false, columnDefinition = "integer default 0")
+    // The default lives in the schema (@ColumnDefault), not in columnDefinition: Hibernate reuses a
+    // columnDefinition as the cast type for parameters bound to the column (e.g. in addToSetScore)
+    @Column(nullable = false)
+    @ColumnDefault("0")
     private Integer opponentSetScore;
 
-    @Column(nullable = false, columnDefinition = "integer default 0")
+    @Column(nullable = false)
+    @ColumnDefault("0")
     private Integer homeSetScore;
 
     // The user (coach/manager) who logged this match
@@ -0,0 +1,76 @@
+package com.zacharyscheer.volleyballstattracker.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Materialized match totals: one row per player per match.
+ * There is no team row; team totals are summed from the player rows on read (see MatchStatTotalsRepository.sumTeamTotals),
+ * so taps by different players never queue on one shared row lock.
+ * Kept up to date incrementally by StatEventProjector in the same transaction as every StatLine change,
+ * so the totals endpoints read a single row instead of summing StatLines.
+ * Can always be rebuilt from StatLines (see MatchStatTotalsService.rebuild).
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "match_stat_totals",
+        uniqueConstraints = @UniqueConstraint(name = "uk_match_stat_totals_match_player", columnNames = {"match_id", "player_id"}))
+public class MatchStatTotals implements StatCounters {
+
+    // SEQUENCE (not IDENTITY) so a set start's new rows can be inserted as one JDBC batch
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "match_stat_totals_seq")
+    @SequenceGenerator(name = "match_stat_totals_seq", sequenceName = "match_stat_totals_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "match_id", nullable = false)
+    private Long matchId;
+
+    @Column(name = "player_id", nullable = false)
+    private Integer playerId;
+
+    //Hitting stats
+    private int attackAttempts;
+    private int kills;
+    private int killErrors;
+
+    //Pass Stats
+    private int threePass;
+    private int twoPass;
+    private int onePass;
+    private int zeroPass;
+
+    //Serving Stats
+    private int serviceAttempt;
+    private int serviceError;
+    private int serviceAce;
+
+    //Digging
+    private int digs;
+    private int digError;
+
+    //Blocking
+    private int blocks;
+    private int blockError;
+
+    //Setting
+    private int setAttempts;
+    private int setError;
+    private int assists;
+
+    /**
+     * Builds a totals row holding the given counters.
+     */
+    public static MatchStatTotals of(Long matchId, Integer playerId, StatVector counts) {
+        MatchStatTotals totals = MatchStatTotals.builder()
+                .matchId(matchId)
+                .playerId(playerId)
+                .build();
+        totals.setCounts(counts);
+        return totals;
+    }
+}
@@ -0,0 +1,19 @@
+package com.zacharyscheer.volleyballstattracker.models;
+
+import java.util.Comparator;
+
+/**
+ * Identifies a MatchStatTotals row by its natural key: one player within one match.
+ * Ordered by match, then player: batch updates lock rows in this order, so two concurrent batches
+ * touching the same rows can never deadlock.
+ */
+public record MatchTotalsKey(Long matchId, Integer playerId) implements Comparable<MatchTotalsKey> {
+
+    private static final Comparator<MatchTotalsKey> ORDER =
+            Comparator.comparing(MatchTotalsKey::matchId).thenComparing(MatchTotalsKey::playerId);
+
+    @Override
+    public int compareTo(MatchTotalsKey other) {
+        return ORDER.compare(this, other);
+    }
+}
@@ -0,0 +1,21 @@
+package com.zacharyscheer.volleyballstattracker.models;
+
+/**
+ * One undoable scorer action in a set: a stat tap or a point.
+ * Each carries what is needed to take it back (and to apply it again on redo) without recomputing anything.
+ */
+public sealed interface ScoringAction {
+
+    /**
+     * A stat recorded for a player. Undone by a reversal event, whose delta is this event's inverse.
+     */
+    record StatTap(Integer playerId, StatEventType eventType, Integer rating) implements ScoringAction {
+    }
+
+    /**
+     * A point for a team, with the serve and our rotation from before the rally so an undo can restore them.
+     * The serve fields are null when the point was stored without the live set engine.
+     */
+    record Point(Team team, Team servingBefore, Integer homeRotationBefore) implements ScoringAction {
+    }
+}
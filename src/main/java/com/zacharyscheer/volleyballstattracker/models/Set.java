@@ -6,6 +6,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.List;
 
@@ -14,7 +15,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "sets")
+@Table(name = "sets", indexes = @Index(name = "idx_sets_match_id", columnList = "match_id, id"))
 public class Set {
 
     @Id
@@ -33,6 +34,30 @@ public class Set {
     @Column(nullable = false)
     private Integer opponentScore = 0;
 
+    // --- Live State (kept in memory by LiveSetEngine while the set is played, written back periodically) ---
+
+    // The team serving the next rally; null until the first serve is known
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private Team servingTeam;
+
+    // Our rotation (1-6); it advances each time we win the serve back
+    @Column(nullable = false)
+    @ColumnDefault("1")
+    private Integer homeRotation = 1;
+
+    // Set once a team reaches 25 (15 in the fifth set) with a 2-point lead
+    @Column(nullable = false)
+    @ColumnDefault("false")
+    private boolean completed;
+
+    // Optimistic lock: a score written from a stale read fails instead of overwriting the newer one.
+    // The atomic score UPDATE in SetRepository bumps it too.
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long version;
+
     // Many-to-one relationship back to the Match
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "match_id", nullable = false)
@@ -0,0 +1,156 @@
+package com.zacharyscheer.volleyballstattracker.models;
+
+/**
+ * The raw counters kept as named int fields by StatLine, MatchStatTotals and PlayerMatchAggregateStatsDTO.
+ * get and set map each StatType to its field (the only place the fields are listed one by one),
+ * so copying to and from a StatVector is a loop over StatType in every class.
+ */
+public interface StatCounters {
+
+    int getAttackAttempts();
+
+    void setAttackAttempts(int attackAttempts);
+
+    int getKills();
+
+    void setKills(int kills);
+
+    int getKillErrors();
+
+    void setKillErrors(int killErrors);
+
+    int getThreePass();
+
+    void setThreePass(int threePass);
+
+    int getTwoPass();
+
+    void setTwoPass(int twoPass);
+
+    int getOnePass();
+
+    void setOnePass(int onePass);
+
+    int getZeroPass();
+
+    void setZeroPass(int zeroPass);
+
+    int getServiceAttempt();
+
+    void setServiceAttempt(int serviceAttempt);
+
+    int getServiceError();
+
+    void setServiceError(int serviceError);
+
+    int getServiceAce();
+
+    void setServiceAce(int serviceAce);
+
+    int getDigs();
+
+    void setDigs(int digs);
+
+    int getDigError();
+
+    void setDigError(int digError);
+
+    int getBlocks();
+
+    void setBlocks(int blocks);
+
+    int getBlockError();
+
+    void setBlockError(int blockError);
+
+    int getSetAttempts();
+
+    void setSetAttempts(int setAttempts);
+
+    int getSetError();
+
+    void setSetError(int setError);
+
+    int getAssists();
+
+    void setAssists(int assists);
+
+    /**
+     * @return The counter the StatType names.
+     */
+    default int get(StatType type) {
+        return switch (type) {
+            case ATTACK_ATTEMPTS -> getAttackAttempts();
+            case KILLS -> getKills();
+            case KILL_ERRORS -> getKillErrors();
+            case THREE_PASS -> getThreePass();
+            case TWO_PASS -> getTwoPass();
+            case ONE_PASS -> getOnePass();
+            case ZERO_PASS -> getZeroPass();
+            case SERVICE_ATTEMPT -> getServiceAttempt();
+            case SERVICE_ERROR -> getServiceError();
+            case SERVICE_ACE -> getServiceAce();
+            case DIGS -> getDigs();
+            case DIG_ERROR -> getDigError();
+            case BLOCKS -> getBlocks();
+            case BLOCK_ERROR -> getBlockError();
+            case SET_ATTEMPTS -> getSetAttempts();
+            case SET_ERROR -> getSetError();
+            case ASSISTS -> getAssists();
+        };
+    }
+
+    /**
+     * Overwrites the counter the StatType names.
+     */
+    default void set(StatType type, int value) {
+        switch (type) {
+            case ATTACK_ATTEMPTS -> setAttackAttempts(value);
+            case KILLS -> setKills(value);
+            case KILL_ERRORS -> setKillErrors(value);
+            case THREE_PASS -> setThreePass(value);
+            case TWO_PASS -> setTwoPass(value);
+            case ONE_PASS -> setOnePass(value);
+            case ZERO_PASS -> setZeroPass(value);
+            case SERVICE_ATTEMPT -> setServiceAttempt(value);
+            case SERVICE_ERROR -> setServiceError(value);
+            case SERVICE_ACE -> setServiceAce(value);
+            case DIGS -> setDigs(value);
+            case DIG_ERROR -> setDigError(value);
+            case BLOCKS -> setBlocks(value);
+            case BLOCK_ERROR -> setBlockError(value);
+            case SET_ATTEMPTS -> setSetAttempts(value);
+            case SET_ERROR -> setSetError(value);
+            case ASSISTS -> setAssists(value);
+        }
+    }
+
+    /**
+     * Copies the counters into a StatVector.
+     */
+    default StatVector toVector() {
+        StatVector counts = new StatVector();
+        for (StatType type : StatType.all()) {
+            counts.set(type, get(type));
+        }
+        return counts;
+    }
+
+    /**
+     * Adds a StatVector onto these counters (in memory only).
+     */
+    default void addCounts(StatVector counts) {
+        for (StatType type : StatType.all()) {
+            set(type, get(type) + counts.get(type));
+        }
+    }
+
+    /**
+     * Replaces these counters with a StatVector's.
+     */
+    default void setCounts(StatVector counts) {
+        for (StatType type : StatType.all()) {
+            set(type, counts.get(type));
+        }
+    }
+}
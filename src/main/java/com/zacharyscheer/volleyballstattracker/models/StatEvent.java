@@ -0,0 +1,84 @@
+package com.zacharyscheer.volleyballstattracker.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One row of the append-only stat log. Every recorded stat is written here first,
+ * and the StatLine counters are a projection of these rows (see StatEventProjector).
+ * Rows are never updated, so the log can be replayed for audits and play-by-play;
+ * an undo is appended as a reversal event rather than deleting the original.
+ * <p>
+ * The sequence is the primary key and is handed out in blocks, so it is neither gap-free nor in commit order
+ * across instances. Clients that page through a set's events use the position instead: it is numbered per set
+ * under a lock on the set's position counter (see StatEventSetCounter), so positions become visible in order
+ * and without gaps.
+ */
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Table(name = "stat_event",
+        indexes = @Index(name = "idx_stat_event_set_sequence", columnList = "set_id, sequence"),
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_stat_event_client_event_id", columnNames = "client_event_id"),
+                @UniqueConstraint(name = "uk_stat_event_set_position", columnNames = {"set_id", "set_position"})
+        })
+public class StatEvent {
+
+    // Position of the event in the log; assigned from a database sequence when appended
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stat_event_seq")
+    @SequenceGenerator(name = "stat_event_seq", sequenceName = "stat_event_seq", allocationSize = 50)
+    private Long sequence;
+
+    // Plain IDs instead of relationships: the log only ever appends, so it never needs to load a Set or Player
+    @Column(name = "set_id", nullable = false)
+    private Long setId;
+
+    @Column(name = "player_id", nullable = false)
+    private Integer playerId;
+
+    // 1-based position of the event in its set's log; assigned by StatEventRepository.assignPositions before saving
+    @Setter
+    @Column(name = "set_position", nullable = false)
+    private Long position;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StatEventType eventType;
+
+    // Pass rating (0-3), only set for PASS_RATING events
+    private Integer rating;
+
+    @Column(nullable = false)
+    private Instant recordedAt;
+
+    // Id the scoring device generated for the tap (WebSocket only); unique, so a resent tap is recorded once
+    @Column(name = "client_event_id")
+    private UUID clientEventId;
+
+    // True for an undo: the event takes back an earlier one of the same type, so its delta is negated
+    @Column(nullable = false)
+    @ColumnDefault("false")
+    private boolean reversal;
+
+    /**
+     * The counter changes this event makes (the inverse of the event type's delta for a reversal).
+     */
+    public StatLineDelta toDelta() {
+        StatLineDelta delta = eventType.toDelta(rating);
+        return reversal ? delta.inverse() : delta;
+    }
+}
@@ -0,0 +1,93 @@
+package com.zacharyscheer.volleyballstattracker.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A StatEvent the write-behind LiveStatBuffer acknowledged but could not write in max-attempts flushes.
+ * Kept instead of dropped, with the failure that stopped it, until LiveStatBuffer.replayDeadLetters
+ * appends it to the stat log (see db/migration/V11).
+ */
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Table(name = "stat_event_dead_letter",
+        indexes = @Index(name = "idx_stat_event_dead_letter_set", columnList = "set_id, id"))
+public class StatEventDeadLetter {
+
+    private static final int MAX_FAILURE_LENGTH = 1000;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "set_id", nullable = false)
+    private Long setId;
+
+    @Column(name = "player_id", nullable = false)
+    private Integer playerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StatEventType eventType;
+
+    private Integer rating;
+
+    @Column(nullable = false)
+    private Instant recordedAt;
+
+    @Column(name = "client_event_id")
+    private UUID clientEventId;
+
+    @Column(nullable = false)
+    @ColumnDefault("false")
+    private boolean reversal;
+
+    // The last error a flush of the event failed with
+    @Column(length = MAX_FAILURE_LENGTH)
+    private String failure;
+
+    @Column(nullable = false)
+    private Instant deadLetteredAt;
+
+    public static StatEventDeadLetter of(StatEvent event, Throwable failure) {
+        String message = String.valueOf(failure);
+        return StatEventDeadLetter.builder()
+                .setId(event.getSetId())
+                .playerId(event.getPlayerId())
+                .eventType(event.getEventType())
+                .rating(event.getRating())
+                .recordedAt(event.getRecordedAt())
+                .clientEventId(event.getClientEventId())
+                .reversal(event.isReversal())
+                .failure(message.length() > MAX_FAILURE_LENGTH ? message.substring(0, MAX_FAILURE_LENGTH) : message)
+                .deadLetteredAt(Instant.now())
+                .build();
+    }
+
+    /**
+     * The event to append again, without a sequence or position (the stat log assigns fresh ones).
+     */
+    public StatEvent toEvent() {
+        return StatEvent.builder()
+                .setId(setId)
+                .playerId(playerId)
+                .eventType(eventType)
+                .rating(rating)
+                .recordedAt(recordedAt)
+                .reversal(reversal)
+                .clientEventId(clientEventId)
+                .build();
+    }
+}
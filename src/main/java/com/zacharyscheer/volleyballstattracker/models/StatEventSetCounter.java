@@ -0,0 +1,31 @@
+package com.zacharyscheer.volleyballstattracker.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+
+/**
+ * The stat log's position counter for one set: the position of the last event appended to it.
+ * Only StatEventRepository.assignPositions changes it, with an UPDATE that holds this row's lock until commit.
+ * Kept out of the sets row, so numbering a tap never waits on (or blocks) a score write to the set.
+ * The row is created by the set's first event (see db/migration/V10).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "stat_event_set_counter")
+public class StatEventSetCounter {
+
+    @Id
+    @Column(name = "set_id")
+    private Long setId;
+
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long lastPosition;
+}
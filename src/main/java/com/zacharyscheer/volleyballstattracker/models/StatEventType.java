@@ -0,0 +1,78 @@
+package com.zacharyscheer.volleyballstattracker.models;
+
+/**
+ * Every stat a scorer can record for a player, along with the counters each one moves.
+ * Compound events (e.g. a kill) also count as an attempt, matching the single-event endpoints.
+ */
+public enum StatEventType {
+
+    // --- Hitting ---
+    KILL,
+    ATTACK_ATTEMPT,
+    KILL_ERROR,
+
+    // --- Serving ---
+    SERVICE_ACE,
+    SERVICE_ATTEMPT,
+    SERVICE_ERROR,
+
+    // --- Passing (Reception), needs a 0-3 rating ---
+    PASS_RATING,
+
+    // --- Digging / Defense ---
+    DIG,
+    DIG_ERROR,
+
+    // --- Blocking ---
+    BLOCK,
+    BLOCK_ERROR,
+
+    // --- Setting ---
+    ASSIST,
+    SET_ATTEMPT,
+    SET_ERROR;
+
+    /**
+     * Builds the counter changes for one occurrence of this event.
+     * @param rating The pass rating (0-3). Only used by PASS_RATING and ignored otherwise.
+     * @return The delta to apply to the player's StatLine.
+     */
+    public StatLineDelta toDelta(Integer rating) {
+        StatLineDelta delta = new StatLineDelta();
+        switch (this) {
+            case KILL -> delta.increment(StatType.KILLS).increment(StatType.ATTACK_ATTEMPTS); // Kill is always an attempt
+            case ATTACK_ATTEMPT -> delta.increment(StatType.ATTACK_ATTEMPTS);
+            case KILL_ERROR -> delta.increment(StatType.KILL_ERRORS).increment(StatType.ATTACK_ATTEMPTS); // Kill error is always an attempt
+            case SERVICE_ACE -> delta.increment(StatType.SERVICE_ACE).increment(StatType.SERVICE_ATTEMPT); // Ace is always an attempt
+            case SERVICE_ATTEMPT -> delta.increment(StatType.SERVICE_ATTEMPT);
+            case SERVICE_ERROR -> delta.increment(StatType.SERVICE_ERROR).increment(StatType.SERVICE_ATTEMPT); // Error is always an attempt
+            case PASS_RATING -> {
+                validateRating(rating);
+                switch (rating) {
+                    case 3 -> delta.increment(StatType.THREE_PASS);
+                    case 2 -> delta.increment(StatType.TWO_PASS);
+                    case 1 -> delta.increment(StatType.ONE_PASS);
+                    default -> delta.increment(StatType.ZERO_PASS);
+                }
+            }
+            case DIG -> delta.increment(StatType.DIGS);
+            case DIG_ERROR -> delta.increment(StatType.DIG_ERROR);
+            case BLOCK -> delta.increment(StatType.BLOCKS);
+            case BLOCK_ERROR -> delta.increment(StatType.BLOCK_ERROR);
+            case ASSIST -> delta.increment(StatType.ASSISTS).increment(StatType.SET_ATTEMPTS); // An assist is also a set attempt
+            case SET_ATTEMPT -> delta.increment(StatType.SET_ATTEMPTS);
+            case SET_ERROR -> delta.increment(StatType.SET_ERROR).increment(StatType.SET_ATTEMPTS); // A set error is also a set attempt
+        }
+        return delta;
+    }
+
+    /**
+     * Checks that the event carries everything it needs before it is written to the log.
+     * @throws IllegalArgumentException if a PASS_RATING event has no rating between 0 and 3.
+     */
+    public void validateRating(Integer rating) {
+        if (this == PASS_RATING && (rating == null || rating < 0 || rating > 3)) {
+            throw new IllegalArgumentException("rating should be between 0 and 3");
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.zacharyscheer.volleyballstattracker.models;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.UUID;
 
@@ -12,7 +13,14 @@ import java.util.UUID;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class StatLine {
+// Indexes mirror db/migration/V2 and V3: one StatLine per player per set, the per-player lookup and the match scan
+@Table(name = "stat_line",
+        uniqueConstraints = @UniqueConstraint(name = "uk_stat_line_set_player", columnNames = {"set_id", "player_id"}),
+        indexes = {
+                @Index(name = "idx_stat_line_player_set", columnList = "player_id, set_id"),
+                @Index(name = "idx_stat_line_match_player", columnList = "match_id, player_id")
+        })
+public class StatLine implements StatCounters {
 
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
@@ -29,6 +37,11 @@ public class StatLine {
     @JoinColumn(name = "set_id", nullable = false)
     private Set set;
 
+    // Copy of set.match.id, so match and season totals read stat_line alone instead of joining through sets.
+    // A set never moves to another match, so it is written once when the StatLine is created.
+    @Column(name = "match_id", nullable = false, updatable = false)
+    private Long matchId;
+
     // --- Fields ---
     private boolean isStarter = false;
 
@@ -61,25 +74,23 @@ public class StatLine {
     private int setError = 0;
     private int assists = 0;
 
+    // Sequence of the newest StatEvent applied to these counters (the projection's log offset)
+    private Long lastEventSequence;
+
+    // Optimistic lock for entity writes; the counter deltas go through StatLineRepository.applyDelta, which bumps it too
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long version;
+
 
     // --- Methods (Correct and kept as is) ---
 
     public double calculateHittingPercentage() {
-        if (this.attackAttempts == 0) {
-            return 0.000;
-        }
-        double percentage = (double) (this.kills - this.killErrors) / this.attackAttempts;
-        return Math.round(percentage * 1000.0) / 1000.0;
+        return StatVector.hittingPercentage(this.kills, this.killErrors, this.attackAttempts);
     }
 
     public double calculatePassRating(){
-        double totalPasses = (double) (this.threePass + this.twoPass + this.onePass + this.zeroPass);
-        if (totalPasses == 0) {
-            return 0.0;
-        }
-
-        double passScore = (double)(this.threePass * 3) + (this.twoPass * 2) +  (this.onePass * 1) + (this.zeroPass * 0);
-        double passAverage = passScore / totalPasses;
-        return Math.round(passAverage * 100.0) / 100.0;
+        return StatVector.passRating(this.threePass, this.twoPass, this.onePass, this.zeroPass);
     }
-}
\ No newline at end of file
+}
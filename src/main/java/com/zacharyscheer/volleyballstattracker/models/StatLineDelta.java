@@ -0,0 +1,99 @@
+package com.zacharyscheer.volleyballstattracker.models;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The amount each StatLine counter should change by for a single stat event.
+ * Applied in one UPDATE statement by StatLineRepository.applyDelta, so the
+ * increment happens in the database instead of as a read-modify-write.
+ * The counters live in a StatVector; the SQL is built from StatType (see StatDeltaSql), so a new counter
+ * needs no change here.
+ */
+public class StatLineDelta {
+
+    @Getter
+    private final StatVector counts;
+
+    // The highest StatEvent sequence included in this delta; becomes the StatLine's projection offset
+    @Getter
+    @Setter
+    private Long throughSequence;
+
+    public StatLineDelta() {
+        this(new StatVector());
+    }
+
+    private StatLineDelta(StatVector counts) {
+        this.counts = counts;
+    }
+
+    /**
+     * Adds one to a counter (used to describe a single stat event).
+     */
+    public StatLineDelta increment(StatType type) {
+        counts.increment(type, 1);
+        return this;
+    }
+
+    public int get(StatType type) {
+        return counts.get(type);
+    }
+
+    /**
+     * Adds another delta into this one, so several events for the same StatLine
+     * can be coalesced and written as a single update.
+     */
+    public void add(StatLineDelta other) {
+        this.counts.add(other.counts);
+        if (other.throughSequence != null
+                && (this.throughSequence == null || other.throughSequence > this.throughSequence)) {
+            this.throughSequence = other.throughSequence;
+        }
+    }
+
+    /**
+     * The exact opposite of this delta (every counter negated), used to take an event back.
+     * Applied with the same UPDATE, it becomes an atomic decrement.
+     */
+    public StatLineDelta inverse() {
+        StatLineDelta inverse = new StatLineDelta();
+        for (StatType type : StatType.all()) {
+            inverse.counts.set(type, -counts.get(type));
+        }
+        inverse.setThroughSequence(throughSequence);
+        return inverse;
+    }
+
+    /**
+     * Captures a StatLine's current counters as a delta (i.e. the change from an empty line).
+     */
+    public static StatLineDelta of(StatLine line) {
+        StatLineDelta delta = new StatLineDelta(line.toVector());
+        delta.setThroughSequence(line.getLastEventSequence());
+        return delta;
+    }
+
+    /**
+     * Adds this delta's counters onto an in-memory StatLine (nothing is written to the database).
+     */
+    public void applyTo(StatLine line) {
+        line.addCounts(counts);
+    }
+
+    /**
+     * @return Only the counters this delta changes, keyed by field name (e.g. {"kills": 1, "attackAttempts": 1}).
+     */
+    public Map<String, Integer> changedCounters() {
+        Map<String, Integer> changed = new LinkedHashMap<>();
+        for (StatType type : StatType.all()) {
+            if (counts.get(type) != 0) {
+                changed.put(type.fieldName(), counts.get(type));
+            }
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,20 @@
+package com.zacharyscheer.volleyballstattracker.models;
+
+import java.util.Comparator;
+
+/**
+ * Identifies a StatLine by its natural key: one player within one set.
+ * Used to group stat events that belong to the same row.
+ * Ordered by set, then player: batch updates lock rows in this order, so two concurrent batches
+ * touching the same rows can never deadlock.
+ */
+public record StatLineKey(Long setId, Integer playerId) implements Comparable<StatLineKey> {
+
+    private static final Comparator<StatLineKey> ORDER =
+            Comparator.comparing(StatLineKey::setId).thenComparing(StatLineKey::playerId);
+
+    @Override
+    public int compareTo(StatLineKey other) {
+        return ORDER.compare(this, other);
+    }
+}
@@ -0,0 +1,77 @@
+package com.zacharyscheer.volleyballstattracker.models;
+
+/**
+ * Every raw counter a StatLine keeps, in a fixed order. The ordinal is the counter's index in a StatVector,
+ * so code that needs "all counters" can loop over this enum instead of naming 17 fields.
+ */
+public enum StatType {
+
+    // --- Hitting ---
+    ATTACK_ATTEMPTS,
+    KILLS,
+    KILL_ERRORS,
+
+    // --- Passing (Reception) ---
+    THREE_PASS,
+    TWO_PASS,
+    ONE_PASS,
+    ZERO_PASS,
+
+    // --- Serving ---
+    SERVICE_ATTEMPT,
+    SERVICE_ERROR,
+    SERVICE_ACE,
+
+    // --- Digging ---
+    DIGS,
+    DIG_ERROR,
+
+    // --- Blocking ---
+    BLOCKS,
+    BLOCK_ERROR,
+
+    // --- Setting ---
+    SET_ATTEMPTS,
+    SET_ERROR,
+    ASSISTS;
+
+    private static final StatType[] VALUES = values();
+
+    /**
+     * Number of counters, i.e. the length of a StatVector.
+     */
+    public static final int COUNT = VALUES.length;
+
+    private final String fieldName;
+    private final String columnName;
+
+    StatType() {
+        this.columnName = name().toLowerCase();
+        StringBuilder camel = new StringBuilder();
+        for (String word : columnName.split("_")) {
+            camel.append(camel.isEmpty() ? word : Character.toUpperCase(word.charAt(0)) + word.substring(1));
+        }
+        this.fieldName = camel.toString();
+    }
+
+    /**
+     * @return The counter's Java/JSON field name, e.g. "attackAttempts".
+     */
+    public String fieldName() {
+        return fieldName;
+    }
+
+    /**
+     * @return The counter's database column name, e.g. "attack_attempts".
+     */
+    public String columnName() {
+        return columnName;
+    }
+
+    /**
+     * Cached values(), so loops over every counter do not allocate a new array each time.
+     */
+    public static StatType[] all() {
+        return VALUES;
+    }
+}
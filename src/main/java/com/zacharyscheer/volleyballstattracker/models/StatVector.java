@@ -0,0 +1,139 @@
+package com.zacharyscheer.volleyballstattracker.models;
+
+import java.util.Arrays;
+
+/**
+ * The raw stat counters as one fixed-layout int[] indexed by StatType.
+ * Adding vectors is a plain loop over primitives (no boxing, no per-field code), which the JIT can unroll
+ * and vectorize; the derived metrics are calculated straight from the array.
+ */
+public final class StatVector {
+
+    private final int[] counts;
+
+    public StatVector() {
+        this.counts = new int[StatType.COUNT];
+    }
+
+    private StatVector(int[] counts) {
+        this.counts = counts;
+    }
+
+    // --- Counters ---
+
+    public int get(StatType type) {
+        return counts[type.ordinal()];
+    }
+
+    public void set(StatType type, int value) {
+        counts[type.ordinal()] = value;
+    }
+
+    public StatVector increment(StatType type, int amount) {
+        counts[type.ordinal()] += amount;
+        return this;
+    }
+
+    /**
+     * Adds another vector into this one, counter by counter.
+     */
+    public void add(StatVector other) {
+        int[] source = other.counts;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += source[i];
+        }
+    }
+
+    /**
+     * Sums many vectors (e.g. every StatLine of a season) into a new one.
+     */
+    public static StatVector sum(Iterable<StatVector> vectors) {
+        StatVector total = new StatVector();
+        for (StatVector vector : vectors) {
+            total.add(vector);
+        }
+        return total;
+    }
+
+    public StatVector copy() {
+        return new StatVector(counts.clone());
+    }
+
+    public boolean isZero() {
+        for (int count : counts) {
+            if (count != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // --- Derived Metrics ---
+
+    public double hittingPercentage() {
+        return hittingPercentage(get(StatType.KILLS), get(StatType.KILL_ERRORS), get(StatType.ATTACK_ATTEMPTS));
+    }
+
+    public double passRating() {
+        return passRating(get(StatType.THREE_PASS), get(StatType.TWO_PASS), get(StatType.ONE_PASS), get(StatType.ZERO_PASS));
+    }
+
+    public double servicePercentage() {
+        return servicePercentage(get(StatType.SERVICE_ATTEMPT), get(StatType.SERVICE_ERROR));
+    }
+
+    /**
+     * (Kills - Errors) / Attempts, rounded to 3 decimal places.
+     */
+    public static double hittingPercentage(int kills, int killErrors, int attackAttempts) {
+        if (attackAttempts == 0) {
+            return 0.000;
+        }
+        double percentage = (double) (kills - killErrors) / attackAttempts;
+        return Math.round(percentage * 1000.0) / 1000.0;
+    }
+
+    /**
+     * (3*3Pass + 2*2Pass + 1*1Pass + 0*0Pass) / Total Passes, rounded to 2 decimal places.
+     */
+    public static double passRating(int threePass, int twoPass, int onePass, int zeroPass) {
+        int totalPasses = threePass + twoPass + onePass + zeroPass;
+        if (totalPasses == 0) {
+            return 0.00;
+        }
+        double passAverage = (double) (threePass * 3 + twoPass * 2 + onePass) / totalPasses;
+        return Math.round(passAverage * 100.0) / 100.0;
+    }
+
+    /**
+     * (Attempts - Errors) / Attempts, rounded to 3 decimal places.
+     */
+    public static double servicePercentage(int serviceAttempt, int serviceError) {
+        if (serviceAttempt == 0) {
+            return 0.000;
+        }
+        double percentage = (double) (serviceAttempt - serviceError) / serviceAttempt;
+        return Math.round(percentage * 1000.0) / 1000.0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof StatVector other && Arrays.equals(counts, other.counts);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(counts);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("StatVector{");
+        for (StatType type : StatType.all()) {
+            if (get(type) != 0) {
+                text.append(type.fieldName()).append('=').append(get(type)).append(' ');
+            }
+        }
+        return text.append('}').toString();
+    }
+}
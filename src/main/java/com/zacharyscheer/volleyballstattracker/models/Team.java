@@ -0,0 +1,13 @@
+package com.zacharyscheer.volleyballstattracker.models;
+
+/**
+ * The two sides of a match: the coach's own team and the opponent.
+ */
+public enum Team {
+    HOME,
+    OPPONENT;
+
+    public Team other() {
+        return this == HOME ? OPPONENT : HOME;
+    }
+}
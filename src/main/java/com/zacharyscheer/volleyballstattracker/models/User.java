@@ -1,10 +1,12 @@
 package com.zacharyscheer.volleyballstattracker.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -36,6 +38,12 @@ public class User implements UserDetails {
 
     // *** NOTE: The 'role' field is intentionally removed for simplicity. ***
 
+    // Copied into every JWT; bumping it (e.g. on password change) makes all earlier tokens invalid
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @JsonIgnore
+    private int tokenVersion;
+
     // --- UserDetails Implementation ---
 
     @Override
@@ -1,11 +1,16 @@
 package com.zacharyscheer.volleyballstattracker.repository;
 
 import com.zacharyscheer.volleyballstattracker.models.Match;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
-public interface MatchRepository extends JpaRepository<Match, Long> {
+public interface MatchRepository extends JpaRepository<Match, Long>, MatchRepositoryCustom {
 
     /**
      * Finds all matches for a user, ordered by the date the match was played,
@@ -13,4 +18,38 @@ public interface MatchRepository extends JpaRepository<Match, Long> {
      */
     List<Match> findByUserIdOrderByMatchDateDesc(Integer userId);
     List<Match> findTop10ByUser_IdOrderByMatchDateDesc(Integer userId);
+
+    // --- Keyset Pagination (newest first; the cursor is the last match ID already returned) ---
+
+    /**
+     * The first page of all matches.
+     */
+    List<Match> findByOrderByIdDesc(Limit limit);
+
+    /**
+     * The page after the given match ID. Uses the primary key index, so every page costs the same.
+     */
+    List<Match> findByIdLessThanOrderByIdDesc(Long afterId, Limit limit);
+
+    /**
+     * Looks up only the ID of the user who owns a match (no entities are loaded).
+     */
+    @Query("SELECT m.user.id FROM Match m WHERE m.id = :matchId")
+    Optional<Integer> findUserIdById(@Param("matchId") Long matchId);
+
+    /**
+     * A match is finished once either side has won 3 sets (best of 5).
+     */
+    @Query("SELECT COUNT(m) > 0 FROM Match m WHERE m.id = :matchId " +
+            "AND (m.homeSetScore >= 3 OR m.opponentSetScore >= 3)")
+    boolean isFinished(@Param("matchId") Long matchId);
+
+    /**
+     * Adds won sets to the match's set score in a single UPDATE (negative to take back a set that was reopened).
+     * @return The number of rows updated (0 if the match does not exist).
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Match m SET m.homeSetScore = m.homeSetScore + :home, " +
+            "m.opponentSetScore = m.opponentSetScore + :opponent WHERE m.id = :matchId")
+    int addToSetScore(@Param("matchId") Long matchId, @Param("home") int home, @Param("opponent") int opponent);
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.zacharyscheer.volleyballstattracker.repository;
+
+import com.zacharyscheer.volleyballstattracker.dto.MatchHistoryFilter;
+import com.zacharyscheer.volleyballstattracker.models.Match;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * MatchRepository queries that are built at runtime from the filters actually given.
+ */
+public interface MatchRepositoryCustom {
+
+    /**
+     * One page of a user's matches, ordered by (matchDate, id) descending, continuing after the given position.
+     * Keyset pagination on the (user_id, match_date, id) index, so every page costs the same however deep it is.
+     * @param afterDate The match date of the last row of the previous page, or null for the first page.
+     * @param afterId The ID of the last row of the previous page, or null for the first page.
+     * @param limit The maximum number of matches to return.
+     */
+    List<Match> findHistoryPage(Integer userId, MatchHistoryFilter filter, LocalDate afterDate, Long afterId, int limit);
+}
@@ -0,0 +1,67 @@
+package com.zacharyscheer.volleyballstattracker.repository;
+
+import com.zacharyscheer.volleyballstattracker.dto.MatchHistoryFilter;
+import com.zacharyscheer.volleyballstattracker.models.Match;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * JPQL implementation of MatchRepositoryCustom. Spring Data picks this up by its name
+ * and merges it into MatchRepository.
+ * Only the filters that are set end up in the query, so the database never sees "OR :param IS NULL" predicates.
+ */
+public class MatchRepositoryCustomImpl implements MatchRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Match> findHistoryPage(Integer userId, MatchHistoryFilter filter, LocalDate afterDate, Long afterId, int limit) {
+        StringBuilder jpql = new StringBuilder("SELECT m FROM Match m WHERE m.user.id = :userId");
+        Map<String, Object> params = new HashMap<>();
+        params.put("userId", userId);
+
+        if (filter != null) {
+            if (filter.getOpponent() != null && !filter.getOpponent().isBlank()) {
+                jpql.append(" AND LOWER(m.opponentTeam) LIKE :opponent ESCAPE '\\'");
+                params.put("opponent", "%" + escapeLike(filter.getOpponent().trim().toLowerCase(Locale.ROOT)) + "%");
+            }
+            if (filter.getFrom() != null) {
+                jpql.append(" AND m.matchDate >= :from");
+                params.put("from", filter.getFrom());
+            }
+            if (filter.getTo() != null) {
+                jpql.append(" AND m.matchDate <= :to");
+                params.put("to", filter.getTo());
+            }
+            if (filter.getResult() == MatchHistoryFilter.Result.WIN) {
+                jpql.append(" AND m.homeSetScore > m.opponentSetScore");
+            } else if (filter.getResult() == MatchHistoryFilter.Result.LOSS) {
+                jpql.append(" AND m.homeSetScore < m.opponentSetScore");
+            }
+        }
+
+        // Keyset: everything strictly after the last (matchDate, id) of the previous page
+        if (afterDate != null && afterId != null) {
+            jpql.append(" AND (m.matchDate < :afterDate OR (m.matchDate = :afterDate AND m.id < :afterId))");
+            params.put("afterDate", afterDate);
+            params.put("afterId", afterId);
+        }
+        jpql.append(" ORDER BY m.matchDate DESC, m.id DESC");
+
+        TypedQuery<Match> query = entityManager.createQuery(jpql.toString(), Match.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
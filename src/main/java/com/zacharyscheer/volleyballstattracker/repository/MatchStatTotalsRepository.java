@@ -0,0 +1,49 @@
+package com.zacharyscheer.volleyballstattracker.repository;
+
+import com.zacharyscheer.volleyballstattracker.dto.TeamMatchAggregateStatsDTO;
+import com.zacharyscheer.volleyballstattracker.models.MatchStatTotals;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface MatchStatTotalsRepository extends JpaRepository<MatchStatTotals, Long>, MatchStatTotalsRepositoryCustom {
+
+    /**
+     * Finds a player's materialized totals for a match.
+     */
+    Optional<MatchStatTotals> findByMatchIdAndPlayerId(Long matchId, Integer playerId);
+
+    /**
+     * Finds every player row for a match.
+     */
+    List<MatchStatTotals> findByMatchId(Long matchId);
+
+    /**
+     * @return Whether the match's totals have been materialized at all.
+     */
+    boolean existsByMatchId(Long matchId);
+
+    /**
+     * Sums a match's player rows into team totals (a handful of rows, one per player on the roster).
+     * The matchId is not part of the result; the caller sets it.
+     * @return The team totals, or empty if the match has no rows.
+     */
+    @Query("SELECT new com.zacharyscheer.volleyballstattracker.dto.TeamMatchAggregateStatsDTO(" +
+            StatLineRepository.STAT_SUMS + ") " +
+            "FROM MatchStatTotals s WHERE s.matchId = :matchId " +
+            "GROUP BY s.matchId")
+    Optional<TeamMatchAggregateStatsDTO> sumTeamTotals(@Param("matchId") Long matchId);
+
+    /**
+     * Removes a match's rows so they can be rebuilt from StatLines.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM MatchStatTotals t WHERE t.matchId = :matchId")
+    int deleteByMatchId(@Param("matchId") Long matchId);
+}
@@ -0,0 +1,24 @@
+package com.zacharyscheer.volleyballstattracker.repository;
+
+import com.zacharyscheer.volleyballstattracker.models.MatchTotalsKey;
+import com.zacharyscheer.volleyballstattracker.models.StatLineDelta;
+
+import java.util.Map;
+
+/**
+ * MatchStatTotalsRepository operations that go straight to JDBC instead of through JPA.
+ */
+public interface MatchStatTotalsRepositoryCustom {
+
+    /**
+     * Adds a stat event's delta to the player's row of the match.
+     * @return The number of rows updated (0 if the match's totals have not been materialized).
+     */
+    int applyDelta(Long matchId, Integer playerId, StatLineDelta delta);
+
+    /**
+     * Adds each row's coalesced delta to its player's match totals, as one JDBC batch.
+     * @param deltas The net change for each player of each match.
+     */
+    void batchApplyDeltas(Map<MatchTotalsKey, StatLineDelta> deltas);
+}
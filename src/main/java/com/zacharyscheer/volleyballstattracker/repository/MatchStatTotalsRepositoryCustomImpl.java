@@ -0,0 +1,46 @@
+package com.zacharyscheer.volleyballstattracker.repository;
+
+import com.zacharyscheer.volleyballstattracker.models.MatchTotalsKey;
+import com.zacharyscheer.volleyballstattracker.models.StatLineDelta;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC implementation of MatchStatTotalsRepositoryCustom. Spring Data picks this up by its name
+ * and merges it into MatchStatTotalsRepository.
+ */
+public class MatchStatTotalsRepositoryCustomImpl implements MatchStatTotalsRepositoryCustom {
+
+    // Keyed on the match directly, so the update never reads the sets table
+    private static final String APPLY_DELTA_SQL = "UPDATE match_stat_totals SET " +
+            StatDeltaSql.COUNTER_INCREMENTS + " " +
+            "WHERE match_id = ? AND player_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MatchStatTotalsRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int applyDelta(Long matchId, Integer playerId, StatLineDelta delta) {
+        return jdbcTemplate.update(APPLY_DELTA_SQL, applyDeltaArgs(matchId, playerId, delta));
+    }
+
+    @Override
+    public void batchApplyDeltas(Map<MatchTotalsKey, StatLineDelta> deltas) {
+        List<Object[]> batchArgs = new ArrayList<>(deltas.size());
+        deltas.forEach((key, delta) -> batchArgs.add(applyDeltaArgs(key.matchId(), key.playerId(), delta)));
+        jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, batchArgs);
+    }
+
+    private static Object[] applyDeltaArgs(Long matchId, Integer playerId, StatLineDelta delta) {
+        List<Object> args = StatDeltaSql.counterArgs(delta);
+        args.add(matchId);
+        args.add(playerId);
+        return args.toArray();
+    }
+}
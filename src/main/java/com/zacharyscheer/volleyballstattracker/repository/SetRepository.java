@@ -1,9 +1,17 @@
 package com.zacharyscheer.volleyballstattracker.repository;
 
+import com.zacharyscheer.volleyballstattracker.dto.LiveSetStateDTO;
 import com.zacharyscheer.volleyballstattracker.models.Set;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Repository interface for managing Set entities.
  * Extends JpaRepository to inherit basic CRUD operations.
@@ -14,4 +22,39 @@ public interface SetRepository extends JpaRepository<Set, Long> {
 
     // You can add custom finder methods here if needed, e.g.:
     // List<Set> findAllByMatchId(Long matchId);
+
+    /**
+     * Looks up only the ID of the match a set belongs to (no entities are loaded).
+     */
+    @Query("SELECT s.match.id FROM Set s WHERE s.id = :setId")
+    Optional<Long> findMatchIdById(@Param("setId") Long setId);
+
+    /**
+     * Loads the sets of several matches in one query (used to list matches without a query per match).
+     */
+    @Query("SELECT s FROM Set s WHERE s.match.id IN :matchIds ORDER BY s.setNumber")
+    List<Set> findByMatchIdIn(@Param("matchIds") Collection<Long> matchIds);
+
+    /**
+     * Adds points to a set's score in a single UPDATE statement (negative to take points back; a score
+     * never goes below 0). The increment is evaluated by the database, so concurrent points commute: none
+     * is lost and none has to be retried. The version is bumped so a versioned write from an older read still fails.
+     * @return The number of rows updated (0 if the set does not exist, or a score would drop below 0).
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Set s SET s.homeScore = s.homeScore + :home, s.opponentScore = s.opponentScore + :opponent, " +
+            "s.version = s.version + 1 WHERE s.id = :setId " +
+            "AND s.homeScore + :home >= 0 AND s.opponentScore + :opponent >= 0")
+    int addToScore(@Param("setId") Long setId, @Param("home") int home, @Param("opponent") int opponent);
+
+    /**
+     * Writes back a live set's in-memory state (score, server, rotation, completion) in a single UPDATE.
+     * Only LiveSetEngine calls this; while it owns the set, its state is the newest there is.
+     * @return The number of rows updated (0 if the set has been deleted).
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Set s SET s.homeScore = :#{#state.homeScore}, s.opponentScore = :#{#state.opponentScore}, " +
+            "s.servingTeam = :#{#state.servingTeam}, s.homeRotation = :#{#state.homeRotation}, " +
+            "s.completed = :#{#state.completed}, s.version = s.version + 1 WHERE s.id = :#{#state.id}")
+    int saveLiveState(@Param("state") LiveSetStateDTO state);
 }
\ No newline at end of file
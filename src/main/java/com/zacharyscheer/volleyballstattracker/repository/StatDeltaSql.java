@@ -0,0 +1,37 @@
+package com.zacharyscheer.volleyballstattracker.repository;
+
+import com.zacharyscheer.volleyballstattracker.models.StatLineDelta;
+import com.zacharyscheer.volleyballstattracker.models.StatType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Shared SQL for the JDBC updates that add a StatLineDelta to a table of stat counters
+ * (stat_line and match_stat_totals use the same column names).
+ */
+final class StatDeltaSql {
+
+    /**
+     * "column = column + ?" for every counter, in StatType order (the order counterArgs returns the values).
+     */
+    static final String COUNTER_INCREMENTS = Stream.of(StatType.all())
+            .map(type -> type.columnName() + " = " + type.columnName() + " + ?")
+            .collect(Collectors.joining(", "));
+
+    private StatDeltaSql() {
+    }
+
+    /**
+     * The delta's counters as JDBC arguments for COUNTER_INCREMENTS.
+     */
+    static List<Object> counterArgs(StatLineDelta delta) {
+        List<Object> args = new ArrayList<>(StatType.COUNT + 4);
+        for (StatType type : StatType.all()) {
+            args.add(delta.get(type));
+        }
+        return args;
+    }
+}
@@ -0,0 +1,16 @@
+package com.zacharyscheer.volleyballstattracker.repository;
+
+import com.zacharyscheer.volleyballstattracker.models.StatEventDeadLetter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StatEventDeadLetterRepository extends JpaRepository<StatEventDeadLetter, Long> {
+
+    /**
+     * Finds a set's dead-lettered events in the order they were dead-lettered.
+     */
+    List<StatEventDeadLetter> findBySetIdOrderByIdAsc(Long setId);
+}
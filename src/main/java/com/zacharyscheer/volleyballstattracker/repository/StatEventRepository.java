@@ -0,0 +1,24 @@
+package com.zacharyscheer.volleyballstattracker.repository;
+
+import com.zacharyscheer.volleyballstattracker.models.StatEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface StatEventRepository extends JpaRepository<StatEvent, Long>, StatEventRepositoryCustom {
+
+    /**
+     * Finds every event in a set after the given position, oldest first.
+     * Used for play-by-play: clients pass the last position they have seen.
+     */
+    List<StatEvent> findBySetIdAndPositionGreaterThanOrderByPositionAsc(Long setId, Long afterPosition);
+
+    /**
+     * Finds the event a scoring device recorded under its own id (used to answer a resent tap).
+     */
+    Optional<StatEvent> findByClientEventId(UUID clientEventId);
+}
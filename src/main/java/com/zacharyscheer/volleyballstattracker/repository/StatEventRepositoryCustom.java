@@ -0,0 +1,20 @@
+package com.zacharyscheer.volleyballstattracker.repository;
+
+import com.zacharyscheer.volleyballstattracker.models.StatEvent;
+
+import java.util.List;
+
+/**
+ * StatEventRepository operations that need more than one statement.
+ */
+public interface StatEventRepositoryCustom {
+
+    /**
+     * Numbers new events within their sets, in list order, before they are saved.
+     * Each set's position counter (a stat_event_set_counter row, not the sets row) is advanced with one UPDATE
+     * and stays locked until the transaction commits, so a later position can never become visible
+     * before an earlier one. Must be called inside the transaction that saves the events.
+     * @throws jakarta.persistence.EntityNotFoundException if a set does not exist.
+     */
+    void assignPositions(List<StatEvent> events);
+}
@@ -0,0 +1,81 @@
+package com.zacharyscheer.volleyballstattracker.repository;
+
+import com.zacharyscheer.volleyballstattracker.models.StatEvent;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * JDBC implementation of StatEventRepositoryCustom. Spring Data picks this up by its name
+ * and merges it into StatEventRepository.
+ */
+public class StatEventRepositoryCustomImpl implements StatEventRepositoryCustom {
+
+    // Reserves a block of positions and returns the end of it (RETURNING on PostgreSQL)
+    private static final String RESERVE_SQL =
+            "UPDATE stat_event_set_counter SET last_position = last_position + ? WHERE set_id = ?";
+
+    // A set's first event creates its counter; the SELECT makes a missing set insert nothing
+    private static final String CREATE_COUNTER_SQL =
+            "INSERT INTO stat_event_set_counter (set_id, last_position) SELECT id, 0 FROM sets WHERE id = ? " +
+            "ON CONFLICT DO NOTHING";
+
+    private static final String[] RESERVED_COLUMNS = {"last_position"};
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StatEventRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void assignPositions(List<StatEvent> events) {
+        // Counters are locked in set ID order, so concurrent batches touching the same sets cannot deadlock
+        Map<Long, Long> countsBySet = new TreeMap<>();
+        events.forEach(event -> countsBySet.merge(event.getSetId(), 1L, Long::sum));
+
+        Map<Long, Long> nextPositions = new HashMap<>();
+        countsBySet.forEach((setId, count) -> {
+            Long last = reserve(setId, count);
+            if (last == null) {
+                jdbcTemplate.update(CREATE_COUNTER_SQL, setId);
+                last = reserve(setId, count);
+            }
+            if (last == null) {
+                throw new EntityNotFoundException("Set not found with ID: " + setId);
+            }
+            nextPositions.put(setId, last - count + 1);
+        });
+
+        events.forEach(event -> {
+            long position = nextPositions.get(event.getSetId());
+            event.setPosition(position);
+            nextPositions.put(event.getSetId(), position + 1);
+        });
+    }
+
+    /**
+     * Adds count to the set's counter in one statement.
+     * @return The new last position, or null if the set has no counter yet.
+     */
+    private Long reserve(Long setId, long count) {
+        ConnectionCallback<Long> reserve = connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(RESERVE_SQL, RESERVED_COLUMNS)) {
+                statement.setLong(1, count);
+                statement.setLong(2, setId);
+                statement.executeUpdate();
+                try (ResultSet row = statement.getGeneratedKeys()) {
+                    return row.next() ? row.getLong(1) : null;
+                }
+            }
+        };
+        return jdbcTemplate.execute(reserve);
+    }
+}
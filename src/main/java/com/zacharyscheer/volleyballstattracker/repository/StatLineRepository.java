@@ -1,15 +1,31 @@
 package com.zacharyscheer.volleyballstattracker.repository;
 
+import com.zacharyscheer.volleyballstattracker.dto.PlayerMatchAggregateStatsDTO;
+import com.zacharyscheer.volleyballstattracker.dto.TeamMatchAggregateStatsDTO;
 import com.zacharyscheer.volleyballstattracker.models.StatLine;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface StatLineRepository extends JpaRepository<StatLine, UUID> {
+public interface StatLineRepository extends JpaRepository<StatLine, UUID>, StatLineRepositoryCustom {
+
+    /**
+     * The summed counters, in the order the aggregate DTO constructors expect them.
+     * COALESCE turns the SUM of no rows into 0.
+     */
+    String STAT_SUMS = "COALESCE(SUM(s.kills), 0L), COALESCE(SUM(s.killErrors), 0L), COALESCE(SUM(s.attackAttempts), 0L), " +
+            "COALESCE(SUM(s.threePass), 0L), COALESCE(SUM(s.twoPass), 0L), COALESCE(SUM(s.onePass), 0L), COALESCE(SUM(s.zeroPass), 0L), " +
+            "COALESCE(SUM(s.serviceAce), 0L), COALESCE(SUM(s.serviceError), 0L), COALESCE(SUM(s.serviceAttempt), 0L), " +
+            "COALESCE(SUM(s.assists), 0L), COALESCE(SUM(s.setError), 0L), COALESCE(SUM(s.setAttempts), 0L), " +
+            "COALESCE(SUM(s.blocks), 0L), COALESCE(SUM(s.blockError), 0L), COALESCE(SUM(s.digs), 0L), COALESCE(SUM(s.digError), 0L)";
 
     /**
      * Finds the unique StatLine for a specific player within a specific set.
@@ -20,10 +36,92 @@ public interface StatLineRepository extends JpaRepository<StatLine, UUID> {
      * Finds all StatLines for a specific player across all sets of a match.
      * This method must return a List<StatLine> for match aggregation.
      */
-    List<StatLine> findByPlayerIdAndSetMatchId(Integer playerId, Long matchId);
+    List<StatLine> findByPlayerIdAndMatchId(Integer playerId, Long matchId);
 
     /**
      * Finds all StatLines for all players in a specific match (used for team totals).
      */
-    List<StatLine> findBySetMatchId(Long matchId);
-}
\ No newline at end of file
+    List<StatLine> findByMatchId(Long matchId);
+
+    /**
+     * Finds all StatLines belonging to any of the given sets (used to return the results of a batch).
+     */
+    List<StatLine> findBySetIdIn(Collection<Long> setIds);
+
+    // --- Aggregation Queries (summed by the database, no StatLine entities are loaded) ---
+    // Match-scoped sums filter on the denormalized s.matchId (an idx_stat_line_match_player range scan, no sets join).
+    // Coach/season sums join Match directly on it, skipping sets.
+
+    /**
+     * Sums a player's StatLines across all sets of a match.
+     * @return The totals with metrics calculated, or empty if the player has no StatLines in the match.
+     */
+    @Query("SELECT new com.zacharyscheer.volleyballstattracker.dto.PlayerMatchAggregateStatsDTO(" +
+            "s.matchId, s.player.id, " + STAT_SUMS + ") " +
+            "FROM StatLine s WHERE s.matchId = :matchId AND s.player.id = :playerId " +
+            "GROUP BY s.matchId, s.player.id")
+    Optional<PlayerMatchAggregateStatsDTO> sumPlayerMatchTotals(@Param("matchId") Long matchId,
+                                                                @Param("playerId") Integer playerId);
+
+    /**
+     * Sums every StatLine of a match into team totals. Always returns one row (all zeros for an empty match).
+     * The matchId is not part of the result; the caller sets it.
+     */
+    @Query("SELECT new com.zacharyscheer.volleyballstattracker.dto.TeamMatchAggregateStatsDTO(" +
+            STAT_SUMS + ") " +
+            "FROM StatLine s WHERE s.matchId = :matchId")
+    TeamMatchAggregateStatsDTO sumTeamMatchTotals(@Param("matchId") Long matchId);
+
+    /**
+     * Sums a match's StatLines per player, one row per player (used to rebuild MatchStatTotals).
+     */
+    @Query("SELECT new com.zacharyscheer.volleyballstattracker.dto.PlayerMatchAggregateStatsDTO(" +
+            "s.matchId, s.player.id, " + STAT_SUMS + ") " +
+            "FROM StatLine s WHERE s.matchId = :matchId " +
+            "GROUP BY s.matchId, s.player.id ORDER BY s.player.id")
+    List<PlayerMatchAggregateStatsDTO> sumPlayerTotalsByMatch(@Param("matchId") Long matchId);
+
+    /**
+     * Sums every player's StatLines over a coach's matches played between two dates (inclusive), one row per player.
+     */
+    @Query("SELECT new com.zacharyscheer.volleyballstattracker.dto.PlayerMatchAggregateStatsDTO(" +
+            "s.player.id, " + STAT_SUMS + ") " +
+            "FROM StatLine s JOIN Match m ON m.id = s.matchId " +
+            "WHERE m.user.email = :email AND m.matchDate BETWEEN :from AND :to " +
+            "GROUP BY s.player.id ORDER BY s.player.id")
+    List<PlayerMatchAggregateStatsDTO> sumPlayerTotalsBetween(@Param("email") String email,
+                                                             @Param("from") LocalDate from,
+                                                             @Param("to") LocalDate to);
+
+    /**
+     * Sums the team's StatLines over a coach's matches played between two dates (inclusive).
+     */
+    @Query("SELECT new com.zacharyscheer.volleyballstattracker.dto.TeamMatchAggregateStatsDTO(" +
+            STAT_SUMS + ") " +
+            "FROM StatLine s JOIN Match m ON m.id = s.matchId " +
+            "WHERE m.user.email = :email AND m.matchDate BETWEEN :from AND :to")
+    TeamMatchAggregateStatsDTO sumTeamTotalsBetween(@Param("email") String email,
+                                                    @Param("from") LocalDate from,
+                                                    @Param("to") LocalDate to);
+
+    /**
+     * Sums every player's StatLines over the given matches of a coach, one row per player.
+     */
+    @Query("SELECT new com.zacharyscheer.volleyballstattracker.dto.PlayerMatchAggregateStatsDTO(" +
+            "s.player.id, " + STAT_SUMS + ") " +
+            "FROM StatLine s JOIN Match m ON m.id = s.matchId " +
+            "WHERE m.user.email = :email AND s.matchId IN :matchIds " +
+            "GROUP BY s.player.id ORDER BY s.player.id")
+    List<PlayerMatchAggregateStatsDTO> sumPlayerTotalsForMatches(@Param("email") String email,
+                                                                 @Param("matchIds") Collection<Long> matchIds);
+
+    /**
+     * Sums the team's StatLines over the given matches of a coach.
+     */
+    @Query("SELECT new com.zacharyscheer.volleyballstattracker.dto.TeamMatchAggregateStatsDTO(" +
+            STAT_SUMS + ") " +
+            "FROM StatLine s JOIN Match m ON m.id = s.matchId " +
+            "WHERE m.user.email = :email AND s.matchId IN :matchIds")
+    TeamMatchAggregateStatsDTO sumTeamTotalsForMatches(@Param("email") String email,
+                                                       @Param("matchIds") Collection<Long> matchIds);
+}
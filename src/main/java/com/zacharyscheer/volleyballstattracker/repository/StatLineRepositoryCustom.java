@@ -0,0 +1,35 @@
+package com.zacharyscheer.volleyballstattracker.repository;
+
+import com.zacharyscheer.volleyballstattracker.models.StatLine;
+import com.zacharyscheer.volleyballstattracker.models.StatLineDelta;
+import com.zacharyscheer.volleyballstattracker.models.StatLineKey;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * StatLineRepository operations that go straight to JDBC instead of through JPA.
+ */
+public interface StatLineRepositoryCustom {
+
+    /**
+     * Adds every counter in the delta to the StatLine in a single UPDATE statement.
+     * The increment is evaluated by the database, so concurrent scorers never overwrite each other.
+     * The StatLine's log offset only ever moves forward, even if events commit out of order.
+     * The version is bumped so an entity write based on an older read fails instead of undoing the increment.
+     * The updated row comes back from the UPDATE itself (as generated keys), so no read-back query is needed.
+     * Pending entity changes are flushed first, and the persistence context is cleared afterwards,
+     * so a following read sees the new values instead of a cached entity.
+     * @return The StatLine as updated (detached; its set and player are lazy references),
+     *         or empty if the set/player pair has no StatLine.
+     */
+    Optional<StatLine> applyDelta(Long setId, Integer playerId, StatLineDelta delta);
+
+    /**
+     * Applies a coalesced delta to each StatLine as one JDBC batch (one round-trip for all rows).
+     * @param deltas The net change for each StatLine, in the order the rows should be updated. Pass them in
+     *               StatLineKey order (e.g. a TreeMap), so concurrent batches lock shared rows in the same order.
+     * @return The update count for each entry, in the same order as the map.
+     */
+    int[] batchApplyDeltas(Map<StatLineKey, StatLineDelta> deltas);
+}
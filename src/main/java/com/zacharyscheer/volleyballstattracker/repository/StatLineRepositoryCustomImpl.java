@@ -0,0 +1,105 @@
+package com.zacharyscheer.volleyballstattracker.repository;
+
+import com.zacharyscheer.volleyballstattracker.models.Player;
+import com.zacharyscheer.volleyballstattracker.models.Set;
+import com.zacharyscheer.volleyballstattracker.models.StatLine;
+import com.zacharyscheer.volleyballstattracker.models.StatLineDelta;
+import com.zacharyscheer.volleyballstattracker.models.StatLineKey;
+import com.zacharyscheer.volleyballstattracker.models.StatType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * JDBC implementation of StatLineRepositoryCustom. Spring Data picks this up by its name
+ * and merges it into StatLineRepository.
+ */
+public class StatLineRepositoryCustomImpl implements StatLineRepositoryCustom {
+
+    // Bumps the version, so a versioned write from an older read fails instead of overwriting the increments
+    private static final String APPLY_DELTA_SQL = "UPDATE stat_line SET " +
+            StatDeltaSql.COUNTER_INCREMENTS + ", " +
+            "last_event_sequence = CASE WHEN last_event_sequence IS NULL OR last_event_sequence < ? " +
+            "THEN ? ELSE last_event_sequence END, " +
+            "version = version + 1 " +
+            "WHERE set_id = ? AND player_id = ?";
+
+    // Read back through getGeneratedKeys (RETURNING on PostgreSQL), in this order; see toStatLine
+    private static final String[] UPDATED_COLUMNS = Stream.concat(
+                    Stream.of("id", "match_id", "is_starter", "last_event_sequence", "version"),
+                    Stream.of(StatType.all()).map(StatType::columnName))
+            .toArray(String[]::new);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public StatLineRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Optional<StatLine> applyDelta(Long setId, Integer playerId, StatLineDelta delta) {
+        entityManager.flush();
+        ConnectionCallback<Optional<StatLine>> update = connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(APPLY_DELTA_SQL, UPDATED_COLUMNS)) {
+                new ArgumentPreparedStatementSetter(applyDeltaArgs(setId, playerId, delta)).setValues(statement);
+                statement.executeUpdate();
+                try (ResultSet row = statement.getGeneratedKeys()) {
+                    return row.next() ? Optional.of(toStatLine(row)) : Optional.empty();
+                }
+            }
+        };
+        Optional<StatLine> updated = jdbcTemplate.execute(update);
+        entityManager.clear();
+        updated.ifPresent(statLine -> {
+            statLine.setSet(entityManager.getReference(Set.class, setId));
+            statLine.setPlayer(entityManager.getReference(Player.class, playerId));
+        });
+        return updated;
+    }
+
+    @Override
+    public int[] batchApplyDeltas(Map<StatLineKey, StatLineDelta> deltas) {
+        List<Object[]> batchArgs = new ArrayList<>(deltas.size());
+        deltas.forEach((key, delta) -> batchArgs.add(applyDeltaArgs(key.setId(), key.playerId(), delta)));
+        return jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, batchArgs);
+    }
+
+    private static StatLine toStatLine(ResultSet row) throws SQLException {
+        StatLine statLine = StatLine.builder()
+                .id(row.getObject(1, UUID.class))
+                .matchId(row.getLong(2))
+                .isStarter(row.getBoolean(3))
+                .lastEventSequence(row.getObject(4, Long.class))
+                .version(row.getLong(5))
+                .build();
+        int column = 6;
+        for (StatType type : StatType.all()) {
+            statLine.set(type, row.getInt(column++));
+        }
+        return statLine;
+    }
+
+    private static Object[] applyDeltaArgs(Long setId, Integer playerId, StatLineDelta delta) {
+        List<Object> args = StatDeltaSql.counterArgs(delta);
+        args.add(delta.getThroughSequence());
+        args.add(delta.getThroughSequence());
+        args.add(setId);
+        args.add(playerId);
+        return args.toArray();
+    }
+}
@@ -1,20 +1,44 @@
 package com.zacharyscheer.volleyballstattracker.service;
 
+import com.zacharyscheer.volleyballstattracker.dto.MatchHistoryFilter;
+import com.zacharyscheer.volleyballstattracker.dto.MatchHistoryPageDTO;
 import com.zacharyscheer.volleyballstattracker.dto.MatchRequestDTO;
 import com.zacharyscheer.volleyballstattracker.dto.MatchResponseDTO;
 import com.zacharyscheer.volleyballstattracker.models.Match;
 import java.util.List;
+import java.util.Optional;
 
 public interface MatchService {
 
+    // Largest page the match listings return
+    int MAX_PAGE_SIZE = 200;
+
     // --- C: Create ---
     Match createMatch(MatchRequestDTO matchRequestDTO, Integer userId);
 
     // --- R: Read ---
     List<MatchResponseDTO> getRecentMatchesByUserId(Integer userId);
-    List<MatchResponseDTO> getAllMatches();
+    /**
+     * Lists matches newest first, one page at a time.
+     * @param afterId The last match ID of the previous page, or null for the first page.
+     * @param limit The page size (clamped to 1-200).
+     */
+    List<MatchResponseDTO> getAllMatches(Long afterId, int limit);
     MatchResponseDTO getMatchById(Long matchId);
 
+    /**
+     * @return The ID of the user who owns the match, or empty if the match does not exist.
+     */
+    Optional<Integer> findOwnerId(Long matchId);
+
+    /**
+     * Lists a user's matches newest first (by match date, then ID), one page at a time.
+     * @param cursor The nextCursor of the previous page, or null for the first page.
+     * @param limit The page size (clamped to 1-200).
+     * @throws IllegalArgumentException if the cursor is not one this service handed out.
+     */
+    MatchHistoryPageDTO getMatchHistory(Integer userId, MatchHistoryFilter filter, String cursor, int limit);
+
     // --- U: Update ---
     MatchResponseDTO updateMatch(Long matchId, MatchRequestDTO requestDTO);
 
@@ -1,5 +1,7 @@
 package com.zacharyscheer.volleyballstattracker.service;
 
+import com.zacharyscheer.volleyballstattracker.dto.MatchHistoryFilter;
+import com.zacharyscheer.volleyballstattracker.dto.MatchHistoryPageDTO;
 import com.zacharyscheer.volleyballstattracker.dto.MatchRequestDTO;
 import com.zacharyscheer.volleyballstattracker.dto.MatchResponseDTO;
 import com.zacharyscheer.volleyballstattracker.dto.SetDTO;
@@ -7,13 +9,22 @@ import com.zacharyscheer.volleyballstattracker.models.Match;
 import com.zacharyscheer.volleyballstattracker.models.Set;
 import com.zacharyscheer.volleyballstattracker.models.User;
 import com.zacharyscheer.volleyballstattracker.repository.MatchRepository;
+import com.zacharyscheer.volleyballstattracker.repository.SetRepository;
 import com.zacharyscheer.volleyballstattracker.repository.UserRepository;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,10 +32,12 @@ public class MatchServiceImpl implements MatchService {
 
     private final MatchRepository matchRepository;
     private final UserRepository userRepository;
+    private final SetRepository setRepository;
 
-    public MatchServiceImpl(MatchRepository matchRepository, UserRepository userRepository) {
+    public MatchServiceImpl(MatchRepository matchRepository, UserRepository userRepository, SetRepository setRepository) {
         this.matchRepository = matchRepository;
         this.userRepository = userRepository;
+        this.setRepository = setRepository;
     }
 
     // --- C: Create Match ---
@@ -85,17 +98,17 @@ public class MatchServiceImpl implements MatchService {
         List<Match> recentMatches = matchRepository.findTop10ByUser_IdOrderByMatchDateDesc(userId);
 
         // 3. Map the list of entities to a list of DTOs
-        return recentMatches.stream()
-                .map(this::mapToResponseDTO)
-                .collect(Collectors.toList());
+        return mapToResponseDTOs(recentMatches);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<MatchResponseDTO> getAllMatches() {
-        return matchRepository.findAll().stream()
-                .map(this::mapToResponseDTO)
-                .collect(Collectors.toList());
+    public List<MatchResponseDTO> getAllMatches(Long afterId, int limit) {
+        Limit pageSize = Limit.of(Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+        List<Match> page = afterId == null
+                ? matchRepository.findByOrderByIdDesc(pageSize)
+                : matchRepository.findByIdLessThanOrderByIdDesc(afterId, pageSize);
+        return mapToResponseDTOs(page);
     }
 
     @Override
@@ -103,7 +116,59 @@ public class MatchServiceImpl implements MatchService {
     public MatchResponseDTO getMatchById(Long matchId) {
         Match match = matchRepository.findById(matchId)
                 .orElseThrow(() -> new EntityNotFoundException("Match not found with id: " + matchId));
-        return mapToResponseDTO(match);
+        return mapToResponseDTOs(List.of(match)).get(0);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Integer> findOwnerId(Long matchId) {
+        return matchRepository.findUserIdById(matchId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public MatchHistoryPageDTO getMatchHistory(Integer userId, MatchHistoryFilter filter, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        LocalDate afterDate = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] position = decodeCursor(cursor);
+            afterDate = LocalDate.parse(position[0]);
+            afterId = Long.valueOf(position[1]);
+        }
+
+        // Ask for one extra row to know whether another page exists
+        List<Match> rows = matchRepository.findHistoryPage(userId, filter, afterDate, afterId, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<Match> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        Match last = page.isEmpty() ? null : page.get(page.size() - 1);
+        return MatchHistoryPageDTO.builder()
+                .matches(mapToResponseDTOs(page))
+                .nextCursor(hasMore ? encodeCursor(last.getMatchDate(), last.getId()) : null)
+                .build();
+    }
+
+    // --- History Cursor (opaque to clients: Base64 of "matchDate:id") ---
+
+    private static String encodeCursor(LocalDate matchDate, Long id) {
+        String position = matchDate + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 2);
+            if (position.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            LocalDate.parse(position[0]);
+            Long.parseLong(position[1]);
+            return position;
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            // NumberFormatException is an IllegalArgumentException too
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
     }
 
     // --- U/D: Update/Delete Placeholders ---
@@ -122,10 +187,29 @@ public class MatchServiceImpl implements MatchService {
 
     // --- Mapping Utilities ---
 
+    /**
+     * Converts Match entities into DTOs, loading the sets of all of them in one query.
+     * Going through match.getSets() instead would lazily load each match's sets in its own query.
+     */
+    private List<MatchResponseDTO> mapToResponseDTOs(List<Match> matches) {
+        if (matches.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> matchIds = matches.stream().map(Match::getId).collect(Collectors.toList());
+        Map<Long, List<SetDTO>> setsByMatch = new HashMap<>();
+        for (Set set : setRepository.findByMatchIdIn(matchIds)) {
+            setsByMatch.computeIfAbsent(set.getMatch().getId(), id -> new ArrayList<>()).add(mapSetToDTO(set));
+        }
+        return matches.stream()
+                .map(match -> mapToResponseDTO(match, setsByMatch.getOrDefault(match.getId(), new ArrayList<>())))
+                .collect(Collectors.toList());
+    }
+
     /**
      * Converts a Match JPA Entity into a MatchResponseDTO.
+     * Only the user's ID is read, which Hibernate answers from the lazy proxy without loading the user.
      */
-    private MatchResponseDTO mapToResponseDTO(Match match) {
+    private MatchResponseDTO mapToResponseDTO(Match match, List<SetDTO> setDTOs) {
         MatchResponseDTO dto = new MatchResponseDTO();
 
         dto.setId(match.getId());
@@ -134,10 +218,6 @@ public class MatchServiceImpl implements MatchService {
         dto.setHomeSetScore(match.getHomeSetScore());
         dto.setOpponentSetScore(match.getOpponentSetScore());
         dto.setUserId(Long.valueOf(match.getUser().getId()));
-
-        List<SetDTO> setDTOs = match.getSets().stream()
-                .map(this::mapSetToDTO)
-                .collect(Collectors.toList());
         dto.setSets(setDTOs);
 
         return dto;
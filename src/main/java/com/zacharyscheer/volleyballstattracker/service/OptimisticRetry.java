@@ -0,0 +1,64 @@
+package com.zacharyscheer.volleyballstattracker.service;
+
+import com.zacharyscheer.volleyballstattracker.config.MetricsSupport;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs a read-modify-write on @Version entities in its own transaction, retrying a bounded number of
+ * times when another writer commits first. Each attempt re-reads the row, so the retry applies the
+ * change on top of the winner's instead of overwriting it.
+ */
+@Component
+public class OptimisticRetry {
+
+    private static final Logger log = LoggerFactory.getLogger(OptimisticRetry.class);
+
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+
+    public OptimisticRetry(PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${stats.optimistic-retry.max-attempts:3}") int maxAttempts) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("stats.optimistic-retry.max-attempts must be at least 1");
+        }
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Runs the work in a transaction, retrying it on a version conflict.
+     * Inside an existing transaction the work just joins it: a conflict there has already marked the outer
+     * transaction rollback-only, so only the caller can retry.
+     * @param operation Tag for the retry counter, e.g. "home_point".
+     * @throws OptimisticLockingFailureException If every attempt lost the race.
+     */
+    public <T> T execute(String operation, Supplier<T> work) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return work.get();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    log.warn("Giving up on {} after {} conflicting attempts", operation, attempt);
+                    throw e;
+                }
+                meterRegistry.counter(MetricsSupport.OPTIMISTIC_RETRY, "operation", operation).increment();
+            }
+        }
+    }
+}
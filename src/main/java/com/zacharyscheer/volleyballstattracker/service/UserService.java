@@ -1,5 +1,6 @@
 package com.zacharyscheer.volleyballstattracker.service;
 
+import com.zacharyscheer.volleyballstattracker.Security.PrincipalCache;
 import com.zacharyscheer.volleyballstattracker.dto.PasswordChangeRequest;
 import com.zacharyscheer.volleyballstattracker.models.User;
 import com.zacharyscheer.volleyballstattracker.repository.UserRepository;
@@ -13,19 +14,42 @@ import org.springframework.stereotype.Service;
 public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
 
     public User findByEmail(String email){
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found " + email ));
     }
 
-    public void changePassword(Long userId, PasswordChangeRequest passwordChangeRequest){
+    /**
+     * Sets a new password and bumps the user's token version, which signs out every existing session
+     * (including the caller's).
+     * @return The updated user, to issue the caller a replacement token from.
+     */
+    public User changePassword(Long userId, PasswordChangeRequest passwordChangeRequest){
         User user = userRepository.findById(Math.toIntExact(userId))
                 .orElseThrow(() -> new UsernameNotFoundException("user not found"));
 
         String newPassword = passwordEncoder.encode(passwordChangeRequest.getNewPassword());
         user.setPassword(newPassword);
+        // Tokens carry the version they were issued with, so this signs out every existing session
+        user.setTokenVersion(user.getTokenVersion() + 1);
 
-        userRepository.save(user);
+        User saved = userRepository.save(user);
+        // The JWT filter caches principals by email; make the next request load the new row
+        principalCache.invalidateAfterCommit(user.getEmail());
+        return saved;
+    }
+
+    /**
+     * Changes a user's email (their login and token subject).
+     * Tokens issued for the old email stop resolving to a user once the cached principal is dropped.
+     * @return The number of users updated (0 if no user has the old email).
+     */
+    public int updateEmail(String oldEmail, String newEmail) {
+        int updated = userRepository.updateEmail(oldEmail, newEmail);
+        principalCache.invalidateAfterCommit(oldEmail);
+        principalCache.invalidateAfterCommit(newEmail);
+        return updated;
     }
 }
@@ -0,0 +1,527 @@
+package com.zacharyscheer.volleyballstattracker.service.setService;
+
+import com.zacharyscheer.volleyballstattracker.dto.LiveMatchUpdateDTO;
+import com.zacharyscheer.volleyballstattracker.dto.LiveSetStateDTO;
+import com.zacharyscheer.volleyballstattracker.models.Match;
+import com.zacharyscheer.volleyballstattracker.models.ScoringAction;
+import com.zacharyscheer.volleyballstattracker.models.Set;
+import com.zacharyscheer.volleyballstattracker.models.Team;
+import com.zacharyscheer.volleyballstattracker.repository.MatchRepository;
+import com.zacharyscheer.volleyballstattracker.repository.SetRepository;
+import com.zacharyscheer.volleyballstattracker.service.statLineServices.LiveMatchBroadcaster;
+import com.zacharyscheer.volleyballstattracker.service.statLineServices.LiveStatBuffer;
+import com.zacharyscheer.volleyballstattracker.service.statLineServices.ScoringHistory;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory scoreboard of the sets being played (enabled with stats.live-sets.enabled=true, the default).
+ * Each set's score, serving team, our rotation and completion live in memory, so a point or a read of the
+ * live score never waits on the database. Changes are written back every stats.live-sets.flush-interval-ms;
+ * a set's end is written as soon as the rally that ended it commits, together with the match's set score.
+ * A change made inside a transaction that rolls back is taken back out of memory (see revertOnRollback).
+ * The match's set score is kept once per match (see LiveMatch), so every set of the match sees the same one.
+ * The engine assumes one instance scores a given set; disable it when several instances share scoring.
+ */
+@Component
+public class LiveSetEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(LiveSetEngine.class);
+
+    // --- Rules (best of 5: sets to 25, the fifth to 15, all won by 2) ---
+    public static final int SET_POINTS = 25;
+    public static final int DECIDING_SET_POINTS = 15;
+    public static final int DECIDING_SET_NUMBER = 5;
+    public static final int MIN_LEAD = 2;
+    public static final int SETS_TO_WIN = 3;
+    public static final int ROTATIONS = 6;
+
+    private final boolean enabled;
+    private final long idleTtlMs;
+    private final SetRepository setRepository;
+    private final MatchRepository matchRepository;
+    private final LiveStatBuffer liveStatBuffer;
+    private final LiveMatchBroadcaster liveMatchBroadcaster;
+    private final ScoringHistory scoringHistory;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, LiveSet> sets = new ConcurrentHashMap<>();
+    // The set score of each match with a set in memory, shared by those sets
+    private final Map<Long, LiveMatch> matches = new ConcurrentHashMap<>();
+
+    public LiveSetEngine(@Value("${stats.live-sets.enabled:true}") boolean enabled,
+                         @Value("${stats.live-sets.idle-ttl-ms:3600000}") long idleTtlMs,
+                         SetRepository setRepository,
+                         MatchRepository matchRepository,
+                         LiveStatBuffer liveStatBuffer,
+                         LiveMatchBroadcaster liveMatchBroadcaster,
+                         ScoringHistory scoringHistory,
+                         PlatformTransactionManager transactionManager) {
+        this.enabled = enabled;
+        this.idleTtlMs = idleTtlMs;
+        this.setRepository = setRepository;
+        this.matchRepository = matchRepository;
+        this.liveStatBuffer = liveStatBuffer;
+        this.liveMatchBroadcaster = liveMatchBroadcaster;
+        this.scoringHistory = scoringHistory;
+        // Write-backs commit on their own, even if they were triggered from inside another transaction
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // --- Reads (served from memory once the set has been loaded) ---
+
+    /**
+     * @throws EntityNotFoundException If the set does not exist.
+     */
+    public LiveSetStateDTO get(Long setId) {
+        LiveSet set = live(setId);
+        synchronized (set) {
+            set.touch();
+            return set.snapshot();
+        }
+    }
+
+    // --- Rallies ---
+
+    /**
+     * Gives the rally to a team: adds the point, hands it the serve (rotating us if we won it back) and ends
+     * the set once the team has enough points and a 2-point lead. The point goes on the set's undo stack.
+     * @throws IllegalArgumentException If the set is already over.
+     */
+    public LiveSetStateDTO point(Long setId, Team scorer) {
+        return score(setId, scorer, true);
+    }
+
+    /**
+     * Gives the rally to the point's team again (redo). The point is already in the set's history.
+     * @throws IllegalArgumentException If the set is already over.
+     */
+    public LiveSetStateDTO replayPoint(Long setId, ScoringAction.Point point) {
+        return score(setId, point.team(), false);
+    }
+
+    /**
+     * Takes a point back: one point off the team's score, and the serve and rotation from before the rally.
+     * Reopens the set (and takes the set back off the match score) if the point had ended it.
+     * @throws IllegalArgumentException If the team has no points to take back.
+     */
+    public LiveSetStateDTO undoPoint(Long setId, ScoringAction.Point point) {
+        LiveSet set = live(setId);
+        LiveSetStateDTO state;
+        synchronized (set) {
+            Team servingBefore = set.servingTeam;
+            int rotationBefore = set.homeRotation;
+            set.unscore(point);
+            revertOnRollback(set, () -> set.rescore(point.team(), servingBefore, rotationBefore));
+            state = set.snapshot();
+        }
+        publish(state);
+        return state;
+    }
+
+    private LiveSetStateDTO score(Long setId, Team scorer, boolean record) {
+        LiveSet set = live(setId);
+        LiveSetStateDTO state;
+        synchronized (set) {
+            if (set.winner != null) {
+                throw new IllegalArgumentException("Set " + setId + " is already over ("
+                        + set.homeScore + "-" + set.opponentScore + ")");
+            }
+            ScoringAction.Point point = new ScoringAction.Point(scorer, set.servingTeam, set.homeRotation);
+            if (record) {
+                // Under the set's lock, so the undo stack is in the same order the points were applied in
+                scoringHistory.recordAfterCommit(setId, point);
+            }
+            set.score(scorer);
+            revertOnRollback(set, () -> set.unscore(point));
+            state = set.snapshot();
+        }
+        publish(state);
+        if (state.isCompleted()) {
+            afterCommit(() -> setEnded(set));
+        }
+        return state;
+    }
+
+    /**
+     * Sets who serves next and our current rotation (at the start of a set, or to correct the scoreboard).
+     * @throws IllegalArgumentException If the rotation is not between 1 and 6.
+     */
+    public LiveSetStateDTO setServe(Long setId, Team servingTeam, int homeRotation) {
+        checkRotation(homeRotation);
+        LiveSet set = live(setId);
+        LiveSetStateDTO state;
+        synchronized (set) {
+            Team servingBefore = set.servingTeam;
+            int rotationBefore = set.homeRotation;
+            set.serve(servingTeam, homeRotation);
+            revertOnRollback(set, () -> set.serve(servingBefore, rotationBefore));
+            state = set.snapshot();
+        }
+        publish(state);
+        return state;
+    }
+
+    static void checkRotation(int homeRotation) {
+        if (homeRotation < 1 || homeRotation > ROTATIONS) {
+            throw new IllegalArgumentException("Rotation must be between 1 and " + ROTATIONS + ", got " + homeRotation);
+        }
+    }
+
+    /**
+     * The team that has won the set with this score, or null if it is still being played.
+     */
+    public static Team winner(int setNumber, int homeScore, int opponentScore) {
+        int target = setNumber == DECIDING_SET_NUMBER ? DECIDING_SET_POINTS : SET_POINTS;
+        if (homeScore >= target && homeScore - opponentScore >= MIN_LEAD) {
+            return Team.HOME;
+        }
+        if (opponentScore >= target && opponentScore - homeScore >= MIN_LEAD) {
+            return Team.OPPONENT;
+        }
+        return null;
+    }
+
+    // --- Write-back ---
+
+    /**
+     * Periodic write-back of every set that changed since the last one. Each set is written in its own
+     * transaction, so one set that cannot be written never holds back the others. A failed set is logged and
+     * stays pending for the next run; the in-memory state stays authoritative meanwhile.
+     */
+    @Scheduled(fixedDelayString = "${stats.live-sets.flush-interval-ms:1000}")
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        sets.values().forEach(this::writeBack);
+
+        // Forget sets that are fully written and nobody has touched for a while (they reload on demand)
+        long now = System.currentTimeMillis();
+        sets.forEach((setId, set) -> {
+            synchronized (set) {
+                if (set.revision == set.persistedRevision && now - set.lastTouched > idleTtlMs
+                        && sets.remove(setId, set)) {
+                    release(set.match);
+                }
+            }
+        });
+    }
+
+    /**
+     * Writes one set's changes (if it has any), moving the match's set score along with a set that was won
+     * (or reopened). Scoring carries on while the set is written.
+     */
+    private void writeBack(LiveSet set) {
+        // One write-back per set at a time, so an older snapshot can never overwrite a newer one
+        synchronized (set.writeLock) {
+            PendingWrite write;
+            synchronized (set) {
+                if (set.revision == set.persistedRevision) {
+                    return;
+                }
+                write = new PendingWrite(set.revision, set.snapshot(), set.recordedWinner);
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> store(write));
+            } catch (RuntimeException e) {
+                log.error("Failed to write back live set {}; it will be retried", write.state().getId(), e);
+                return;
+            }
+            synchronized (set) {
+                set.persistedRevision = Math.max(set.persistedRevision, write.revision());
+                set.recordedWinner = write.state().getWinner();
+            }
+        }
+    }
+
+    private void store(PendingWrite write) {
+        setRepository.saveLiveState(write.state());
+        Team winner = write.state().getWinner();
+        if (winner != write.recordedWinner()) {
+            matchRepository.addToSetScore(write.state().getMatchId(),
+                    setsWon(Team.HOME, winner) - setsWon(Team.HOME, write.recordedWinner()),
+                    setsWon(Team.OPPONENT, winner) - setsWon(Team.OPPONENT, write.recordedWinner()));
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // Writes the result (and the match's set score) now, and the set's buffered stats with it.
+    // Only this set: the others wait for the timer, so the rally that ended the set never waits on them.
+    private void setEnded(LiveSet set) {
+        writeBack(set);
+        if (liveStatBuffer.isEnabled()) {
+            try {
+                liveStatBuffer.flushSet(set.id);
+            } catch (RuntimeException e) {
+                // Already logged by the buffer; its timer retries the events
+            }
+        }
+    }
+
+    // --- Transactions ---
+
+    /**
+     * Memory is changed right away (so the caller gets the new state back), but the caller's transaction can
+     * still roll back, e.g. when the undo that took a point back fails on its stat. The change is then taken back
+     * out, so the scoreboard never keeps a change the undo history (recorded after commit) does not have.
+     * Must be called under the set's lock, right after the change.
+     */
+    private void revertOnRollback(LiveSet set, Runnable revert) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    // Nothing to publish: the change itself was only going to be published after commit
+                    synchronized (set) {
+                        revert.run();
+                    }
+                }
+            }
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static int setsWon(Team team, Team winner) {
+        return team == winner ? 1 : 0;
+    }
+
+    private void publish(LiveSetStateDTO state) {
+        liveMatchBroadcaster.publishAfterCommit(LiveMatchUpdateDTO.builder()
+                .matchId(state.getMatchId())
+                .setId(state.getId())
+                .homeScore(state.getHomeScore())
+                .opponentScore(state.getOpponentScore())
+                .servingTeam(state.getServingTeam())
+                .homeRotation(state.getHomeRotation())
+                .setCompleted(state.isCompleted())
+                .homeSetScore(state.getHomeSetScore())
+                .opponentSetScore(state.getOpponentSetScore())
+                .build());
+    }
+
+    // --- Loading ---
+
+    private LiveSet live(Long setId) {
+        LiveSet set = sets.get(setId);
+        if (set != null) {
+            return set;
+        }
+        // Loaded outside the map, so a slow query never blocks other sets; if two threads race, the first one wins
+        LiveSet loaded = transactionTemplate.execute(status -> setRepository.findById(setId)
+                .map(stored -> new LiveSet(stored, acquire(stored.getMatch())))
+                .orElseThrow(() -> new EntityNotFoundException("Set not found with ID: " + setId)));
+        LiveSet existing = sets.putIfAbsent(setId, loaded);
+        if (existing != null) {
+            release(loaded.match);
+            return existing;
+        }
+        return loaded;
+    }
+
+    /**
+     * Returns the match's shared set score, reading it from the match row only if no set of the match is in memory
+     * (the row can be behind the memory until the sets are written back). Counts one more set using it.
+     */
+    private LiveMatch acquire(Match match) {
+        return matches.compute(match.getId(), (matchId, live) -> {
+            LiveMatch acquired = live != null ? live : new LiveMatch(match);
+            acquired.liveSets++;
+            return acquired;
+        });
+    }
+
+    // Drops the match's set score once none of its sets is in memory any more
+    private void release(LiveMatch match) {
+        matches.computeIfPresent(match.id, (matchId, live) -> --live.liveSets == 0 ? null : live);
+    }
+
+    private record PendingWrite(long revision, LiveSetStateDTO state, Team recordedWinner) {
+    }
+
+    /**
+     * The set score of one match, shared by every LiveSet of the match, so a set won in one set's scoreboard
+     * is seen by the others (and matchCompleted never comes from a stale copy).
+     * Guarded by its own monitor, always taken after a set's monitor, never before.
+     */
+    static final class LiveMatch {
+        private final Long id;
+        private int homeSetScore;
+        private int opponentSetScore;
+        // Number of LiveSets using this; only read and written inside the matches map's compute
+        private int liveSets;
+
+        LiveMatch(Match match) {
+            this.id = match.getId();
+            this.homeSetScore = match.getHomeSetScore() == null ? 0 : match.getHomeSetScore();
+            this.opponentSetScore = match.getOpponentSetScore() == null ? 0 : match.getOpponentSetScore();
+        }
+
+        synchronized void addSets(int home, int opponent) {
+            homeSetScore += home;
+            opponentSetScore += opponent;
+        }
+    }
+
+    /**
+     * One set's scoreboard. Guarded by its own monitor; sets never wait on each other.
+     */
+    static final class LiveSet {
+        private final Long id;
+        private final LiveMatch match;
+        private final int setNumber;
+        // Held while the set is written back (see writeBack); never while waiting for the set's monitor
+        private final Object writeLock = new Object();
+
+        private int homeScore;
+        private int opponentScore;
+        private Team servingTeam;
+        private int homeRotation;
+        // Null while the set is being played
+        private Team winner;
+
+        // The winner already counted in the stored match set score
+        private Team recordedWinner;
+        private long revision;
+        private long persistedRevision;
+        private long lastTouched = System.currentTimeMillis();
+
+        LiveSet(Set set, LiveMatch match) {
+            this.id = set.getId();
+            this.match = match;
+            this.setNumber = set.getSetNumber();
+            this.homeScore = set.getHomeScore();
+            this.opponentScore = set.getOpponentScore();
+            this.servingTeam = set.getServingTeam();
+            this.homeRotation = set.getHomeRotation() == null ? 1 : set.getHomeRotation();
+            this.winner = set.isCompleted() ? winner(setNumber, homeScore, opponentScore) : null;
+            this.recordedWinner = winner;
+        }
+
+        void score(Team scorer) {
+            if (scorer == Team.HOME) {
+                homeScore++;
+            } else {
+                opponentScore++;
+            }
+            // Side-out: the rally winner serves next, and we rotate whenever we win the serve back
+            if (scorer == Team.HOME && servingTeam == Team.OPPONENT) {
+                homeRotation = homeRotation % ROTATIONS + 1;
+            }
+            servingTeam = scorer;
+            updateCompletion();
+            changed();
+        }
+
+        void unscore(ScoringAction.Point point) {
+            int score = point.team() == Team.HOME ? homeScore : opponentScore;
+            if (score == 0) {
+                throw new IllegalArgumentException("Set " + id + " has no " + point.team() + " point to take back");
+            }
+            if (point.team() == Team.HOME) {
+                homeScore--;
+            } else {
+                opponentScore--;
+            }
+            if (point.homeRotationBefore() != null) {
+                servingTeam = point.servingBefore();
+                homeRotation = point.homeRotationBefore();
+            }
+            updateCompletion();
+            changed();
+        }
+
+        // Takes back an unscore: the point again, with the serve and rotation from before the unscore
+        void rescore(Team team, Team serving, int rotation) {
+            score(team);
+            serve(serving, rotation);
+        }
+
+        void serve(Team serving, int rotation) {
+            servingTeam = serving;
+            homeRotation = rotation;
+            changed();
+        }
+
+        // Keeps the winner and the match's set score in line with the current score
+        void updateCompletion() {
+            Team current = winner(setNumber, homeScore, opponentScore);
+            if (current != winner) {
+                match.addSets(setsWon(Team.HOME, current) - setsWon(Team.HOME, winner),
+                        setsWon(Team.OPPONENT, current) - setsWon(Team.OPPONENT, winner));
+                winner = current;
+            }
+        }
+
+        void changed() {
+            revision++;
+            touch();
+        }
+
+        void touch() {
+            lastTouched = System.currentTimeMillis();
+        }
+
+        LiveSetStateDTO snapshot() {
+            int homeSetScore;
+            int opponentSetScore;
+            synchronized (match) {
+                homeSetScore = match.homeSetScore;
+                opponentSetScore = match.opponentSetScore;
+            }
+            return LiveSetStateDTO.builder()
+                    .id(id)
+                    .matchId(match.id)
+                    .setNumber(setNumber)
+                    .homeScore(homeScore)
+                    .opponentScore(opponentScore)
+                    .servingTeam(servingTeam)
+                    .homeRotation(homeRotation)
+                    .completed(winner != null)
+                    .winner(winner)
+                    .homeSetScore(homeSetScore)
+                    .opponentSetScore(opponentSetScore)
+                    .matchCompleted(homeSetScore >= SETS_TO_WIN || opponentSetScore >= SETS_TO_WIN)
+                    .build();
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.zacharyscheer.volleyballstattracker.service.setService;
 
+import com.zacharyscheer.volleyballstattracker.dto.LiveSetStateDTO;
+import com.zacharyscheer.volleyballstattracker.models.ScoringAction;
 import com.zacharyscheer.volleyballstattracker.models.Set;
+import com.zacharyscheer.volleyballstattracker.models.Team;
 
 /**
  * Service for managing Set entities, scores, and stat initialization.
@@ -21,12 +24,37 @@ public interface SetService {
     Set startNewSet(Long matchId, Iterable<Long> rosterIds);
 
     /**
-     * Records a score point for the home team.
+     * The set's live scoreboard: score, serving team, rotation and whether the set and match are over.
+     * Served from memory while the live set engine is enabled.
      */
-    Set recordHomePoint(Long setId);
+    LiveSetStateDTO getLiveSet(Long setId);
 
     /**
-     * Records a score point for the opponent team.
+     * Records a point (the rally) for a team.
+     * With the live set engine, this also passes the serve, rotates us on a side-out and ends the set
+     * (and, after 3 sets, the match). Without it, the point is stored directly: concurrent points are never
+     * lost (atomic increments by default, otherwise versioned writes retried a bounded number of times).
+     * @throws IllegalArgumentException If the set is already over.
+     * @throws org.springframework.dao.OptimisticLockingFailureException If a versioned write kept conflicting.
      */
-    Set recordOpponentPoint(Long setId);
+    LiveSetStateDTO recordPoint(Long setId, Team team);
+
+    /**
+     * Sets who serves next and our current rotation (1-6).
+     * @throws IllegalArgumentException If the rotation is out of range.
+     */
+    LiveSetStateDTO setServe(Long setId, Team servingTeam, int homeRotation);
+
+    /**
+     * Takes back a point taken off the set's undo stack (restoring the serve and rotation it changed).
+     * Called by StatLineService.undo; does not touch the undo stack itself.
+     * @throws IllegalArgumentException If the team has no points to take back.
+     */
+    LiveSetStateDTO undoPoint(Long setId, ScoringAction.Point point);
+
+    /**
+     * Applies an undone point again. Called by StatLineService.redo; does not touch the undo stack itself.
+     * @throws IllegalArgumentException If the set is already over.
+     */
+    LiveSetStateDTO redoPoint(Long setId, ScoringAction.Point point);
 }
\ No newline at end of file
@@ -1,13 +1,28 @@
 package com.zacharyscheer.volleyballstattracker.service.setService;
 
+import com.zacharyscheer.volleyballstattracker.config.MetricsSupport;
 import com.zacharyscheer.volleyballstattracker.models.*;
 import com.zacharyscheer.volleyballstattracker.repository.*;
 import com.zacharyscheer.volleyballstattracker.service.setService.SetService;
+import com.zacharyscheer.volleyballstattracker.dto.LiveMatchUpdateDTO;
+import com.zacharyscheer.volleyballstattracker.dto.LiveSetStateDTO;
+import com.zacharyscheer.volleyballstattracker.service.OptimisticRetry;
+import com.zacharyscheer.volleyballstattracker.service.statLineServices.LiveMatchBroadcaster;
+import com.zacharyscheer.volleyballstattracker.service.statLineServices.LiveStatBuffer;
+import com.zacharyscheer.volleyballstattracker.service.statLineServices.MatchStatTotalsService;
+import com.zacharyscheer.volleyballstattracker.service.statLineServices.ScoringHistory;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
 /**
  * Service implementation for Set management, focusing on initializing the set data.
  */
@@ -20,6 +35,17 @@ public class SetServiceImpl implements SetService {
     private final PlayerRepository playerRepository;
     private final StatLineRepository statLineRepository;
     private final MatchRepository matchRepository;
+    private final LiveStatBuffer liveStatBuffer;
+    private final MatchStatTotalsService matchStatTotalsService;
+    private final LiveMatchBroadcaster liveMatchBroadcaster;
+    private final MeterRegistry meterRegistry;
+    private final OptimisticRetry optimisticRetry;
+    private final LiveSetEngine liveSetEngine;
+    private final ScoringHistory scoringHistory;
+
+    // true: points are added by an atomic UPDATE (default). false: versioned read-modify-write with bounded retry.
+    @Value("${stats.points.atomic-increment:true}")
+    private boolean atomicPointIncrements = true;
 
     // Helper method to retrieve a Set or throw an exception
     private Set findSetOrThrow(Long setId) {
@@ -27,16 +53,49 @@ public class SetServiceImpl implements SetService {
                 .orElseThrow(() -> new EntityNotFoundException("Set not found with ID: " + setId));
     }
 
+    // Pushes the new score to the match's live stream once the point commits
+    private void publishScore(Set set) {
+        liveMatchBroadcaster.publishAfterCommit(LiveMatchUpdateDTO.builder()
+                .matchId(set.getMatch().getId())
+                .setId(set.getId())
+                .homeScore(set.getHomeScore())
+                .opponentScore(set.getOpponentScore())
+                .build());
+    }
+
     // --- Core Initialization Method ---
 
     @Override
     @Transactional
     public Set startNewSet(Long matchId, Iterable<Long> rosterIds) {
+        return MetricsSupport.time(meterRegistry, MetricsSupport.SET_START, () -> initializeSet(matchId, rosterIds));
+    }
+
+    private Set initializeSet(Long matchId, Iterable<Long> rosterIds) {
         // 1. Find the Match
         Match match = matchRepository.findById(matchId)
                 .orElseThrow(() -> new EntityNotFoundException("Match not found with ID: " + matchId));
 
-        // 2. Create and Save the new Set
+        // Starting a new set ends the previous one, so write out anything still in the stat buffer
+        if (liveStatBuffer.isEnabled()) {
+            match.getSets().forEach(previousSet -> liveStatBuffer.flushSet(previousSet.getId()));
+        }
+
+        // 2. Load the whole roster in one query and report every unknown player at once
+        LinkedHashSet<Integer> playerIds = new LinkedHashSet<>();
+        rosterIds.forEach(playerId -> playerIds.add(Math.toIntExact(playerId)));
+        DistributionSummary.builder(MetricsSupport.SET_START_ROSTER_SIZE)
+                .baseUnit("players")
+                .register(meterRegistry)
+                .record(playerIds.size());
+        List<Player> roster = playerRepository.findAllById(playerIds);
+        if (roster.size() != playerIds.size()) {
+            List<Integer> missing = new ArrayList<>(playerIds);
+            roster.forEach(player -> missing.remove(player.getId()));
+            throw new EntityNotFoundException("Players not found with IDs: " + missing);
+        }
+
+        // 3. Create and Save the new Set
         Set newSet = new Set();
         newSet.setMatch(match);
         newSet.setHomeScore(0);
@@ -52,20 +111,21 @@ public class SetServiceImpl implements SetService {
 
         newSet = setRepository.save(newSet); // Save to get the generated Set ID
 
-        // 3. Initialize StatLine for every player on the roster
-        for (Long playerId : rosterIds) {
-            // Retrieve Player (ensures player exists)
-            Player player = playerRepository.findById(Math.toIntExact(playerId))
-                    .orElseThrow(() -> new EntityNotFoundException("Player not found with ID: " + playerId));
-
-            // Create and initialize StatLine for this player in this set
+        // 4. Initialize StatLine for every player on the roster.
+        // StatLine UUIDs are generated in memory, so saveAll goes out as one JDBC batch (hibernate.jdbc.batch_size)
+        List<StatLine> statLines = new ArrayList<>(roster.size());
+        for (Player player : roster) {
             StatLine statLine = new StatLine();
             statLine.setSet(newSet);
+            statLine.setMatchId(matchId);
             statLine.setPlayer(player);
             // JPA/Hibernate should initialize primitive fields (like kills, blocks, etc.) to 0
-
-            statLineRepository.save(statLine);
+            statLines.add(statLine);
         }
+        statLineRepository.saveAll(statLines);
+
+        // 5. Make sure the match's stored totals have a row for every player, so stat writes can increment them
+        matchStatTotalsService.ensureRows(matchId, playerIds);
 
         return newSet;
     }
@@ -78,18 +138,90 @@ public class SetServiceImpl implements SetService {
     }
 
     @Override
-    @Transactional
-    public Set recordHomePoint(Long setId) {
-        Set set = findSetOrThrow(setId);
-        set.setHomeScore(set.getHomeScore() + 1);
-        return setRepository.save(set);
+    public LiveSetStateDTO getLiveSet(Long setId) {
+        if (liveSetEngine.isEnabled()) {
+            return liveSetEngine.get(setId);
+        }
+        return LiveSetStateDTO.fromSet(findSetOrThrow(setId));
     }
 
     @Override
-    @Transactional
-    public Set recordOpponentPoint(Long setId) {
-        Set set = findSetOrThrow(setId);
-        set.setOpponentScore(set.getOpponentScore() + 1);
-        return setRepository.save(set);
+    public LiveSetStateDTO recordPoint(Long setId, Team team) {
+        if (liveSetEngine.isEnabled()) {
+            return liveSetEngine.point(setId, team);
+        }
+        LiveSetStateDTO state = storePoint(setId, team, 1);
+        // The serve is not tracked without the engine, so there is none to restore on undo
+        scoringHistory.recordAfterCommit(setId, new ScoringAction.Point(team, null, null));
+        return state;
+    }
+
+    @Override
+    public LiveSetStateDTO undoPoint(Long setId, ScoringAction.Point point) {
+        if (liveSetEngine.isEnabled()) {
+            return liveSetEngine.undoPoint(setId, point);
+        }
+        return storePoint(setId, point.team(), -1);
+    }
+
+    @Override
+    public LiveSetStateDTO redoPoint(Long setId, ScoringAction.Point point) {
+        if (liveSetEngine.isEnabled()) {
+            return liveSetEngine.replayPoint(setId, point);
+        }
+        return storePoint(setId, point.team(), 1);
+    }
+
+    @Override
+    public LiveSetStateDTO setServe(Long setId, Team servingTeam, int homeRotation) {
+        if (liveSetEngine.isEnabled()) {
+            return liveSetEngine.setServe(setId, servingTeam, homeRotation);
+        }
+        LiveSetEngine.checkRotation(homeRotation);
+        return LiveSetStateDTO.fromSet(optimisticRetry.execute("serve", () -> {
+            Set set = findSetOrThrow(setId);
+            set.setServingTeam(servingTeam);
+            set.setHomeRotation(homeRotation);
+            return setRepository.saveAndFlush(set);
+        }));
+    }
+
+    // --- Stored scoring (used when the live set engine is disabled) ---
+
+    private LiveSetStateDTO storePoint(Long setId, Team team, int points) {
+        Set saved = team == Team.HOME
+                ? optimisticRetry.execute("home_point", () -> addPoint(setId, points, 0))
+                : optimisticRetry.execute("opponent_point", () -> addPoint(setId, 0, points));
+        return LiveSetStateDTO.fromSet(saved);
+    }
+
+    // Runs inside the transaction opened by OptimisticRetry (or the caller's)
+    private Set addPoint(Long setId, int home, int opponent) {
+        Set saved;
+        if (atomicPointIncrements) {
+            // Commutative: the database adds the point, so concurrent scorers never conflict
+            if (setRepository.addToScore(setId, home, opponent) == 0) {
+                // Either the set is gone (findSetOrThrow throws) or the point would take a score below 0
+                throw noPointToTakeBack(findSetOrThrow(setId), home);
+            }
+            // The UPDATE holds the row until commit, so this reads exactly the score it produced
+            saved = findSetOrThrow(setId);
+        } else {
+            // Versioned read-modify-write: a stale read fails on flush and OptimisticRetry re-reads and retries
+            Set set = findSetOrThrow(setId);
+            if (set.getHomeScore() + home < 0 || set.getOpponentScore() + opponent < 0) {
+                throw noPointToTakeBack(set, home);
+            }
+            set.setHomeScore(set.getHomeScore() + home);
+            set.setOpponentScore(set.getOpponentScore() + opponent);
+            saved = setRepository.saveAndFlush(set);
+        }
+        publishScore(saved);
+        return saved;
+    }
+
+    private static IllegalArgumentException noPointToTakeBack(Set set, int home) {
+        return new IllegalArgumentException("Set " + set.getId() + " has no "
+                + (home < 0 ? Team.HOME : Team.OPPONENT) + " point to take back");
     }
 }
\ No newline at end of file
@@ -0,0 +1,176 @@
+package com.zacharyscheer.volleyballstattracker.service.statLineServices;
+
+import com.zacharyscheer.volleyballstattracker.dto.LiveMatchUpdateDTO;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans committed stat and score changes out to every Server-Sent Events subscriber of a match.
+ * Publishing never blocks the writer: each subscriber has its own bounded queue, drained by a small sender pool.
+ * A subscriber whose queue is full is too slow to keep up and is disconnected (it can reconnect and resync).
+ */
+@Component
+public class LiveMatchBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(LiveMatchBroadcaster.class);
+
+    // Queued in place of an update to keep idle connections (and proxies) alive
+    private static final LiveMatchUpdateDTO HEARTBEAT = LiveMatchUpdateDTO.builder().build();
+
+    private final Map<Long, Set<Subscriber>> subscribersByMatch = new ConcurrentHashMap<>();
+    private final ExecutorService senders;
+    private final int queueCapacity;
+    private final long timeoutMs;
+
+    public LiveMatchBroadcaster(@Value("${stats.stream.queue-capacity:256}") int queueCapacity,
+                                @Value("${stats.stream.timeout-ms:1800000}") long timeoutMs,
+                                @Value("${stats.stream.sender-threads:2}") int senderThreads) {
+        this.queueCapacity = queueCapacity;
+        this.timeoutMs = timeoutMs;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "live-match-sender-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // --- Subscribing ---
+
+    /**
+     * Opens a live stream for a match. The emitter is removed when the client disconnects, times out, or falls behind.
+     */
+    public SseEmitter subscribe(Long matchId) {
+        Subscriber subscriber = new Subscriber(matchId, new SseEmitter(timeoutMs), new ArrayBlockingQueue<>(queueCapacity));
+        subscribersByMatch.computeIfAbsent(matchId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onTimeout(() -> remove(subscriber));
+        subscriber.emitter.onError(error -> remove(subscriber));
+        return subscriber.emitter;
+    }
+
+    // --- Publishing ---
+
+    /**
+     * Queues an update for every subscriber of its match once the current transaction commits,
+     * so clients never see a change that is later rolled back.
+     */
+    public void publishAfterCommit(LiveMatchUpdateDTO update) {
+        if (update.getMatchId() == null || !subscribersByMatch.containsKey(update.getMatchId())) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(update);
+                }
+            });
+        } else {
+            publish(update);
+        }
+    }
+
+    /**
+     * @return True if anyone is currently watching the match (lets callers skip building updates).
+     */
+    public boolean hasSubscribers(Long matchId) {
+        return matchId != null && subscribersByMatch.containsKey(matchId);
+    }
+
+    private void publish(LiveMatchUpdateDTO update) {
+        Set<Subscriber> subscribers = subscribersByMatch.get(update.getMatchId());
+        if (subscribers != null) {
+            subscribers.forEach(subscriber -> enqueue(subscriber, update));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${stats.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        subscribersByMatch.values().forEach(subscribers -> subscribers.forEach(subscriber -> enqueue(subscriber, HEARTBEAT)));
+    }
+
+    private void enqueue(Subscriber subscriber, LiveMatchUpdateDTO update) {
+        if (!subscriber.queue.offer(update)) {
+            log.warn("Disconnecting a slow live stream subscriber of match {} ({} updates queued)", subscriber.matchId, queueCapacity);
+            remove(subscriber);
+            subscriber.emitter.complete();
+            return;
+        }
+        // At most one drain task per subscriber is pending, so the sender pool's queue stays bounded too
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            LiveMatchUpdateDTO update;
+            while ((update = subscriber.queue.poll()) != null) {
+                if (update == HEARTBEAT) {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    subscriber.emitter.send(SseEmitter.event().name("update").data(update, MediaType.APPLICATION_JSON));
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client went away (or the emitter already completed)
+            remove(subscriber);
+            subscriber.queue.clear();
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // An update may have been queued after the last poll but before draining was cleared
+        if (!subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribersByMatch.computeIfPresent(subscriber.matchId, (id, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribersByMatch.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        subscribersByMatch.clear();
+        senders.shutdown();
+    }
+
+    private static final class Subscriber {
+        private final Long matchId;
+        private final SseEmitter emitter;
+        private final Queue<LiveMatchUpdateDTO> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscriber(Long matchId, SseEmitter emitter, Queue<LiveMatchUpdateDTO> queue) {
+            this.matchId = matchId;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+}
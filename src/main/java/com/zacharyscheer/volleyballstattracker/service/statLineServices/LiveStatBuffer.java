@@ -0,0 +1,411 @@
+package com.zacharyscheer.volleyballstattracker.service.statLineServices;
+
+import com.zacharyscheer.volleyballstattracker.models.Player;
+import com.zacharyscheer.volleyballstattracker.models.Set;
+import com.zacharyscheer.volleyballstattracker.models.StatEvent;
+import com.zacharyscheer.volleyballstattracker.models.StatEventDeadLetter;
+import com.zacharyscheer.volleyballstattracker.models.StatLine;
+import com.zacharyscheer.volleyballstattracker.models.StatLineDelta;
+import com.zacharyscheer.volleyballstattracker.models.StatLineKey;
+import com.zacharyscheer.volleyballstattracker.models.StatVector;
+import com.zacharyscheer.volleyballstattracker.repository.StatEventDeadLetterRepository;
+import com.zacharyscheer.volleyballstattracker.repository.StatEventRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Write-behind buffer for the StatLines of live sets (enabled with stats.write-behind.enabled=true).
+ * Taps are counted in memory and queued as StatEvents; nothing is written to the database until a flush,
+ * which appends all queued events and projects them as one coalesced batch.
+ * Flushes happen every stats.write-behind.flush-interval-ms (the most a crash can lose),
+ * when a set ends, and on shutdown.
+ * If the batch fails, each StatLine is retried in its own transaction, so one bad row never holds back the others.
+ * A StatLine whose events fail stats.write-behind.max-attempts flushes in a row is dead-lettered: its events are
+ * moved to the stat_event_dead_letter table, from which replayDeadLetters appends them once the cause is fixed.
+ * Acknowledged events are never dropped: if the dead letters cannot be written either, they stay buffered and
+ * every later flush tries again.
+ */
+@Component
+public class LiveStatBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(LiveStatBuffer.class);
+
+    private final boolean enabled;
+    private final int maxAttempts;
+    private final StatEventRepository statEventRepository;
+    private final StatEventDeadLetterRepository deadLetterRepository;
+    private final StatEventProjector statEventProjector;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<StatLineKey, BufferedStatLine> buffer = new ConcurrentHashMap<>();
+    // Only one flush runs at a time, so a set-end flush never races the timer
+    private final Object flushLock = new Object();
+
+    public LiveStatBuffer(@Value("${stats.write-behind.enabled:false}") boolean enabled,
+                          @Value("${stats.write-behind.max-attempts:5}") int maxAttempts,
+                          StatEventRepository statEventRepository,
+                          StatEventDeadLetterRepository deadLetterRepository,
+                          StatEventProjector statEventProjector,
+                          PlatformTransactionManager transactionManager) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("stats.write-behind.max-attempts must be at least 1");
+        }
+        this.enabled = enabled;
+        this.maxAttempts = maxAttempts;
+        this.statEventRepository = statEventRepository;
+        this.deadLetterRepository = deadLetterRepository;
+        this.statEventProjector = statEventProjector;
+        // A flush commits on its own, even if it was triggered from inside another transaction
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts buffering a StatLine, using the freshly loaded row as the base for its counters.
+     * Does nothing if the StatLine is already buffered.
+     */
+    public void track(StatLine line) {
+        StatLineKey key = new StatLineKey(line.getSet().getId(), line.getPlayer().getId());
+        buffer.putIfAbsent(key, new BufferedStatLine(line));
+    }
+
+    /**
+     * Counts an event against its buffered StatLine without touching the database.
+     * An event whose client event id is already queued (a resent tap) is not counted again.
+     * @return The StatLine including the new event, or null if the StatLine is not being tracked yet.
+     */
+    public StatLine record(StatEvent event) {
+        StatLineKey key = new StatLineKey(event.getSetId(), event.getPlayerId());
+        StatLine[] view = new StatLine[1];
+        // computeIfPresent is atomic per key, so an event can never land on an entry that is being evicted
+        buffer.computeIfPresent(key, (k, entry) -> {
+            view[0] = entry.add(event);
+            return entry;
+        });
+        return view[0];
+    }
+
+    /**
+     * Finds a queued event by the id its scoring device gave it. Events stay findable here until their flush
+     * has committed, so a caller that checks here first and then the database never misses one.
+     * @return The event, or empty if it is not waiting to be written.
+     */
+    public Optional<StatEvent> findQueued(Long setId, Integer playerId, UUID clientEventId) {
+        BufferedStatLine entry = buffer.get(new StatLineKey(setId, playerId));
+        return entry == null ? Optional.empty() : entry.find(clientEventId);
+    }
+
+    /**
+     * @return The buffered StatLine (database values plus unflushed events), or null if it is not buffered.
+     */
+    public StatLine view(Long setId, Integer playerId) {
+        BufferedStatLine entry = buffer.get(new StatLineKey(setId, playerId));
+        return entry == null ? null : entry.view();
+    }
+
+    /**
+     * Periodic flush of every buffered StatLine. The interval is the most data a crash can lose.
+     */
+    @Scheduled(fixedDelayString = "${stats.write-behind.flush-interval-ms:2000}")
+    public void flush() {
+        try {
+            flushWhere(key -> true, false);
+        } catch (RuntimeException e) {
+            // Already logged; the events were put back and the next run retries them
+        }
+    }
+
+    /**
+     * Flushes one set's StatLines and stops buffering them (called when the set ends).
+     * @throws RuntimeException if any StatLine could not be written; its events stay buffered (up to
+     * max-attempts) and are retried by the timer. The set's other StatLines are written regardless.
+     */
+    public void flushSet(Long setId) {
+        flushWhere(key -> key.setId().equals(setId), true);
+    }
+
+    /**
+     * Appends a set's dead-lettered events to the stat log and projects them, then deletes the dead letters,
+     * all in one transaction. Events whose client event id is already in the log (the tap was resent and
+     * recorded after it was dead-lettered) are deleted without being appended again.
+     * @return The number of events appended.
+     * @throws RuntimeException if they still cannot be written; the dead letters are kept.
+     */
+    public int replayDeadLetters(Long setId) {
+        synchronized (flushLock) {
+            Integer replayed = transactionTemplate.execute(status -> {
+                List<StatEventDeadLetter> deadLetters = deadLetterRepository.findBySetIdOrderByIdAsc(setId);
+                List<StatEvent> events = new ArrayList<>(deadLetters.size());
+                deadLetters.forEach(deadLetter -> {
+                    if (deadLetter.getClientEventId() == null
+                            || statEventRepository.findByClientEventId(deadLetter.getClientEventId()).isEmpty()) {
+                        events.add(deadLetter.toEvent());
+                    }
+                });
+                if (!events.isEmpty()) {
+                    events.sort(Comparator.comparing(StatEvent::getRecordedAt));
+                    statEventRepository.assignPositions(events);
+                    statEventRepository.saveAll(events);
+                    statEventProjector.projectAll(events);
+                }
+                deadLetterRepository.deleteAllInBatch(deadLetters);
+                return events.size();
+            });
+            return replayed == null ? 0 : replayed;
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void flushWhere(Predicate<StatLineKey> filter, boolean evict) {
+        synchronized (flushLock) {
+            // 1. Take the queued events out of each entry (new taps keep buffering while we write)
+            Map<BufferedStatLine, List<StatEvent>> drained = new IdentityHashMap<>();
+            List<StatEvent> events = new ArrayList<>();
+            buffer.forEach((key, entry) -> {
+                if (filter.test(key)) {
+                    List<StatEvent> queued = entry.drain();
+                    if (!queued.isEmpty()) {
+                        drained.put(entry, queued);
+                        events.addAll(queued);
+                    }
+                }
+            });
+
+            // 2. Append them in tap order and project them as one coalesced batch
+            RuntimeException failure = null;
+            if (!events.isEmpty()) {
+                events.sort(Comparator.comparing(StatEvent::getRecordedAt));
+                try {
+                    write(events);
+                    drained.forEach(BufferedStatLine::committed);
+                } catch (RuntimeException e) {
+                    // 3. Find the StatLine(s) at fault: retry each on its own, so the rest still get written
+                    // (a batch of one StatLine has already been tried on its own)
+                    if (drained.size() > 1) {
+                        log.warn("Failed to flush {} buffered stat events as one batch; retrying each StatLine on its own",
+                                events.size(), e);
+                    }
+                    for (Map.Entry<BufferedStatLine, List<StatEvent>> drainedEntry : drained.entrySet()) {
+                        BufferedStatLine entry = drainedEntry.getKey();
+                        List<StatEvent> queued = unsaved(drainedEntry.getValue());
+                        RuntimeException lineFailure = drained.size() > 1 ? writeAlone(entry, queued) : e;
+                        if (lineFailure != null) {
+                            failure = lineFailure;
+                            if (entry.isLastAttempt(maxAttempts) && deadLetter(queued, lineFailure)) {
+                                entry.deadLettered();
+                                log.error("Dead-lettered {} stat events after {} failed flushes: {}",
+                                        queued.size(), maxAttempts, queued, lineFailure);
+                            } else {
+                                entry.failed(queued);
+                                log.error("Failed to flush {} buffered stat events; they will be retried",
+                                        queued.size(), lineFailure);
+                            }
+                        }
+                    }
+                }
+            }
+
+            // 4. Stop tracking the StatLines of a finished set (only once nothing is left to write)
+            if (evict) {
+                buffer.keySet().stream()
+                        .filter(filter)
+                        .forEach(key -> buffer.computeIfPresent(key, (k, entry) -> entry.isIdle() ? null : entry));
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    // Returns the failure, or null once the StatLine's events are committed
+    private RuntimeException writeAlone(BufferedStatLine entry, List<StatEvent> queued) {
+        try {
+            write(queued);
+        } catch (RuntimeException e) {
+            return e;
+        }
+        entry.committed(queued);
+        return null;
+    }
+
+    // Returns false if the dead letters could not be written either (the events then stay buffered)
+    private boolean deadLetter(List<StatEvent> queued, RuntimeException failure) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> deadLetterRepository.saveAll(
+                    queued.stream().map(event -> StatEventDeadLetter.of(event, failure)).toList()));
+            return true;
+        } catch (RuntimeException e) {
+            log.error("Failed to dead-letter {} stat events; they stay buffered", queued.size(), e);
+            return false;
+        }
+    }
+
+    private void write(List<StatEvent> events) {
+        transactionTemplate.executeWithoutResult(status -> {
+            statEventRepository.assignPositions(events);
+            statEventRepository.saveAll(events);
+            statEventProjector.projectAll(events);
+        });
+    }
+
+    // Copies events without the sequence and position a rolled-back insert gave them, so they are appended fresh
+    private static List<StatEvent> unsaved(List<StatEvent> events) {
+        List<StatEvent> copies = new ArrayList<>(events.size());
+        events.forEach(event -> copies.add(StatEvent.builder()
+                .setId(event.getSetId())
+                .playerId(event.getPlayerId())
+                .eventType(event.getEventType())
+                .rating(event.getRating())
+                .recordedAt(event.getRecordedAt())
+                .reversal(event.isReversal())
+                .clientEventId(event.getClientEventId())
+                .build()));
+        return copies;
+    }
+
+    /**
+     * In-memory state of one StatLine. All counters are primitive StatVectors held in StatLineDeltas:
+     * what is already in the database, what a running flush is writing, and what is still pending.
+     */
+    private static final class BufferedStatLine {
+        private final UUID id;
+        private final Set set;
+        private final Long matchId;
+        private final Player player;
+        private final boolean starter;
+
+        private final StatLineDelta persisted;
+        private StatLineDelta inFlight = new StatLineDelta();
+        private StatLineDelta pending = new StatLineDelta();
+        private List<StatEvent> events = new ArrayList<>();
+        // The events a running flush is writing
+        private List<StatEvent> inFlightEvents = List.of();
+        // Flushes in a row that failed to write this StatLine's events
+        private int failedAttempts;
+
+        BufferedStatLine(StatLine line) {
+            this.id = line.getId();
+            this.set = line.getSet();
+            this.matchId = line.getMatchId();
+            this.player = line.getPlayer();
+            this.starter = line.isStarter();
+            this.persisted = StatLineDelta.of(line);
+        }
+
+        synchronized StatLine add(StatEvent event) {
+            if (event.getClientEventId() != null && find(event.getClientEventId()).isPresent()) {
+                return view();
+            }
+            pending.add(event.toDelta());
+            events.add(event);
+            return view();
+        }
+
+        synchronized List<StatEvent> drain() {
+            if (events.isEmpty()) {
+                return List.of();
+            }
+            List<StatEvent> queued = events;
+            events = new ArrayList<>();
+            inFlight = pending;
+            pending = new StatLineDelta();
+            inFlightEvents = queued;
+            return queued;
+        }
+
+        synchronized Optional<StatEvent> find(UUID clientEventId) {
+            for (List<StatEvent> queued : List.of(inFlightEvents, events)) {
+                for (StatEvent event : queued) {
+                    if (clientEventId.equals(event.getClientEventId())) {
+                        return Optional.of(event);
+                    }
+                }
+            }
+            return Optional.empty();
+        }
+
+        synchronized void committed(List<StatEvent> written) {
+            persisted.add(inFlight);
+            inFlight = new StatLineDelta();
+            inFlightEvents = List.of();
+            failedAttempts = 0;
+            written.forEach(event -> {
+                if (persisted.getThroughSequence() == null || event.getSequence() > persisted.getThroughSequence()) {
+                    persisted.setThroughSequence(event.getSequence());
+                }
+            });
+        }
+
+        synchronized boolean isLastAttempt(int maxAttempts) {
+            return failedAttempts + 1 >= maxAttempts;
+        }
+
+        /**
+         * Lets go of events that were moved to the dead-letter table.
+         * The view goes back to what is stored plus anything tapped since.
+         */
+        synchronized void deadLettered() {
+            inFlight = new StatLineDelta();
+            inFlightEvents = List.of();
+            failedAttempts = 0;
+        }
+
+        /**
+         * Puts the events back in front of anything tapped during the failed flush.
+         */
+        synchronized void failed(List<StatEvent> queued) {
+            inFlight = new StatLineDelta();
+            inFlightEvents = List.of();
+            failedAttempts++;
+            List<StatEvent> requeued = new ArrayList<>(unsaved(queued));
+            requeued.addAll(events);
+            events = requeued;
+            queued.forEach(event -> pending.add(event.toDelta()));
+        }
+
+        synchronized boolean isIdle() {
+            return events.isEmpty();
+        }
+
+        synchronized StatLine view() {
+            StatLine line = StatLine.builder()
+                    .id(id)
+                    .set(set)
+                    .matchId(matchId)
+                    .player(player)
+                    .isStarter(starter)
+                    .lastEventSequence(persisted.getThroughSequence())
+                    .build();
+            StatVector counts = persisted.getCounts().copy();
+            counts.add(inFlight.getCounts());
+            counts.add(pending.getCounts());
+            line.addCounts(counts);
+            return line;
+        }
+    }
+}
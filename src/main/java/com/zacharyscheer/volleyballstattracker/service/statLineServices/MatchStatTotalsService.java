@@ -0,0 +1,94 @@
+package com.zacharyscheer.volleyballstattracker.service.statLineServices;
+
+import com.zacharyscheer.volleyballstattracker.dto.PlayerMatchAggregateStatsDTO;
+import com.zacharyscheer.volleyballstattracker.dto.TeamMatchAggregateStatsDTO;
+import com.zacharyscheer.volleyballstattracker.mapper.MatchStatTotalsMapper;
+import com.zacharyscheer.volleyballstattracker.models.MatchStatTotals;
+import com.zacharyscheer.volleyballstattracker.repository.MatchStatTotalsRepository;
+import com.zacharyscheer.volleyballstattracker.repository.StatLineRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Owns the materialized match_stat_totals table: creating its rows when a set starts,
+ * reading them for the totals endpoints, and rebuilding them from StatLines.
+ * The counters themselves are incremented by StatEventProjector on every stat write.
+ */
+@Service
+@RequiredArgsConstructor
+public class MatchStatTotalsService {
+
+    private final MatchStatTotalsRepository matchStatTotalsRepository;
+    private final StatLineRepository statLineRepository;
+    private final MatchStatTotalsMapper matchStatTotalsMapper;
+    private final MatchTotalsCache matchTotalsCache;
+
+    /**
+     * Makes sure the match has a row for every player on the roster,
+     * so the projector's incremental UPDATEs always have a row to hit.
+     * A match without any rows (e.g. one started before this table existed) is rebuilt from its StatLines first.
+     */
+    @Transactional
+    public void ensureRows(Long matchId, Iterable<Integer> rosterIds) {
+        if (!matchStatTotalsRepository.existsByMatchId(matchId)) {
+            rebuild(matchId);
+        }
+
+        Set<Integer> existing = new HashSet<>();
+        matchStatTotalsRepository.findByMatchId(matchId).forEach(row -> existing.add(row.getPlayerId()));
+
+        List<MatchStatTotals> missing = new ArrayList<>();
+        for (Integer playerId : rosterIds) {
+            if (existing.add(playerId)) {
+                missing.add(MatchStatTotals.builder().matchId(matchId).playerId(playerId).build());
+            }
+        }
+        matchStatTotalsRepository.saveAll(missing);
+    }
+
+    /**
+     * Recomputes a match's totals from its StatLines, replacing whatever the table held.
+     * @return The rebuilt team totals.
+     */
+    @Transactional
+    public TeamMatchAggregateStatsDTO rebuild(Long matchId) {
+        matchStatTotalsRepository.deleteByMatchId(matchId);
+
+        List<MatchStatTotals> rows = new ArrayList<>();
+        statLineRepository.sumPlayerTotalsByMatch(matchId)
+                .forEach(playerTotals -> rows.add(matchStatTotalsMapper.toEntity(matchId, playerTotals)));
+
+        matchStatTotalsRepository.saveAll(rows);
+
+        TeamMatchAggregateStatsDTO teamTotals = statLineRepository.sumTeamMatchTotals(matchId);
+        teamTotals.setMatchId(matchId);
+        matchTotalsCache.invalidateMatchAfterCommit(matchId);
+        return teamTotals;
+    }
+
+    /**
+     * @return The player's materialized totals, or empty if the match has no row for them.
+     */
+    @Transactional(readOnly = true)
+    public Optional<PlayerMatchAggregateStatsDTO> findPlayerTotals(Long matchId, Integer playerId) {
+        return matchStatTotalsRepository.findByMatchIdAndPlayerId(matchId, playerId)
+                .map(matchStatTotalsMapper::toPlayerDto);
+    }
+
+    /**
+     * @return The team's totals summed from the materialized player rows, or empty if the match has not been materialized.
+     */
+    @Transactional(readOnly = true)
+    public Optional<TeamMatchAggregateStatsDTO> findTeamTotals(Long matchId) {
+        Optional<TeamMatchAggregateStatsDTO> teamTotals = matchStatTotalsRepository.sumTeamTotals(matchId);
+        teamTotals.ifPresent(totals -> totals.setMatchId(matchId));
+        return teamTotals;
+    }
+}
@@ -0,0 +1,154 @@
+package com.zacharyscheer.volleyballstattracker.service.statLineServices;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.zacharyscheer.volleyballstattracker.dto.CacheStatsDTO;
+import com.zacharyscheer.volleyballstattracker.dto.PlayerMatchAggregateStatsDTO;
+import com.zacharyscheer.volleyballstattracker.repository.MatchRepository;
+import com.zacharyscheer.volleyballstattracker.repository.SetRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Read cache for match totals (player and team), sitting in front of the totals queries.
+ * Size-bounded; entries of in-progress matches also expire after a TTL as a safety net, while finished matches
+ * never change and are kept until evicted by size. Entries are invalidated after commit by every write that changes them.
+ */
+@Component
+public class MatchTotalsCache {
+
+    // playerId is null for the team totals
+    private record TotalsKey(Long matchId, Integer playerId) {}
+
+    private record CachedTotals(PlayerMatchAggregateStatsDTO totals, boolean finished) {}
+
+    private final SetRepository setRepository;
+    private final MatchRepository matchRepository;
+
+    private final Cache<TotalsKey, CachedTotals> totals;
+    // A set never moves to another match, so this mapping never needs invalidating
+    private final Cache<Long, Long> setMatchIds;
+
+    public MatchTotalsCache(SetRepository setRepository,
+                            MatchRepository matchRepository,
+                            @Value("${stats.totals-cache.maximum-size:10000}") long maximumSize,
+                            @Value("${stats.totals-cache.live-ttl-seconds:300}") long liveTtlSeconds) {
+        this.setRepository = setRepository;
+        this.matchRepository = matchRepository;
+        long liveTtlNanos = Duration.ofSeconds(liveTtlSeconds).toNanos();
+        this.totals = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<TotalsKey, CachedTotals>() {
+                    @Override
+                    public long expireAfterCreate(TotalsKey key, CachedTotals value, long currentTime) {
+                        return value.finished() ? Long.MAX_VALUE : liveTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(TotalsKey key, CachedTotals value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(TotalsKey key, CachedTotals value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        this.setMatchIds = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    // --- Reads ---
+
+    /**
+     * Returns the cached totals for a player (or the team, when playerId is null), loading them on a miss.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends PlayerMatchAggregateStatsDTO> T get(Long matchId, Integer playerId, Supplier<T> loader) {
+        CachedTotals cached = totals.get(new TotalsKey(matchId, playerId),
+                key -> new CachedTotals(loader.get(), matchRepository.isFinished(matchId)));
+        return (T) cached.totals();
+    }
+
+    /**
+     * @return The ID of the match a set belongs to (cached), or null if the set does not exist.
+     */
+    public Long matchIdOf(Long setId) {
+        return setMatchIds.get(setId, id -> setRepository.findMatchIdById(id).orElse(null));
+    }
+
+    // --- Invalidation ---
+
+    /**
+     * Drops the totals a stat write changed (the players' and the team's), once the write commits.
+     * Called wherever StatLine counters are updated, so both direct and write-behind writes are covered.
+     */
+    public void invalidateAfterCommit(Long setId, Collection<Integer> playerIds) {
+        Long matchId = matchIdOf(setId);
+        if (matchId == null) {
+            return;
+        }
+        List<TotalsKey> keys = new ArrayList<>(playerIds.size() + 1);
+        keys.add(new TotalsKey(matchId, null));
+        playerIds.forEach(playerId -> keys.add(new TotalsKey(matchId, playerId)));
+        afterCommit(() -> totals.invalidateAll(keys));
+    }
+
+    /**
+     * Drops every cached total of a match once the current transaction commits (e.g. after a rebuild).
+     */
+    public void invalidateMatchAfterCommit(Long matchId) {
+        afterCommit(() -> totals.asMap().keySet().removeIf(key -> key.matchId().equals(matchId)));
+    }
+
+    private void afterCommit(Runnable invalidation) {
+        // Invalidating before commit would let a concurrent read cache the old values again
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidation.run();
+                }
+            });
+        } else {
+            invalidation.run();
+        }
+    }
+
+    // --- Statistics ---
+
+    /**
+     * @return Hit/miss/eviction counts for each cache, for sizing stats.totals-cache.maximum-size.
+     */
+    public List<CacheStatsDTO> stats() {
+        return List.of(
+                toDto("matchTotals", totals),
+                toDto("setMatchIds", setMatchIds));
+    }
+
+    private CacheStatsDTO toDto(String name, Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        return CacheStatsDTO.builder()
+                .name(name)
+                .size(cache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .build();
+    }
+}
@@ -0,0 +1,144 @@
+package com.zacharyscheer.volleyballstattracker.service.statLineServices;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zacharyscheer.volleyballstattracker.models.ScoringAction;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Per-set undo and redo stacks of the scorer's recent actions (stat taps and points).
+ * Each stack keeps at most stats.undo.depth actions; older ones are dropped. A set's history is forgotten
+ * after stats.undo.idle-ttl-minutes without activity, and at most stats.undo.maximum-sets sets are kept.
+ * Recording a new action clears the set's redo stack.
+ */
+@Component
+public class ScoringHistory {
+
+    private static final Logger log = LoggerFactory.getLogger(ScoringHistory.class);
+
+    private final Cache<Long, History> histories;
+    private final int depth;
+
+    public ScoringHistory(@Value("${stats.undo.depth:50}") int depth,
+                          @Value("${stats.undo.maximum-sets:1000}") long maximumSets,
+                          @Value("${stats.undo.idle-ttl-minutes:180}") long idleTtlMinutes) {
+        this.depth = depth;
+        this.histories = Caffeine.newBuilder()
+                .maximumSize(maximumSets)
+                .expireAfterAccess(Duration.ofMinutes(idleTtlMinutes))
+                .build();
+    }
+
+    /**
+     * Pushes a new action onto the set's undo stack once the current transaction commits (or right away
+     * if there is none), so an action that is rolled back can never be undone.
+     */
+    public void recordAfterCommit(Long setId, ScoringAction action) {
+        afterCommit(() -> history(setId).recorded(action), () -> { });
+    }
+
+    /**
+     * Takes the most recent action off the undo stack and applies it. The action moves to the redo stack when
+     * the undo commits, and goes back on the undo stack if it fails or is rolled back, so it can be retried.
+     * An action that can never be undone (IllegalArgumentException or EntityNotFoundException, e.g. the score
+     * is already 0 or the set was deleted) is dropped instead, so it does not block the actions below it.
+     * @return The result of applying the action, or empty if there is nothing to undo.
+     */
+    public <R> Optional<R> undo(Long setId, Function<ScoringAction, R> apply) {
+        History history = history(setId);
+        return move(setId, history, history.undo, history.redo, apply);
+    }
+
+    /**
+     * Takes the most recently undone action off the redo stack and applies it again; it moves back to the
+     * undo stack when the redo commits. Failures are handled as in {@link #undo}.
+     * @return The result of applying the action, or empty if there is nothing to redo.
+     */
+    public <R> Optional<R> redo(Long setId, Function<ScoringAction, R> apply) {
+        History history = history(setId);
+        return move(setId, history, history.redo, history.undo, apply);
+    }
+
+    private <R> Optional<R> move(Long setId, History history, Deque<ScoringAction> from, Deque<ScoringAction> to,
+                                 Function<ScoringAction, R> apply) {
+        Optional<ScoringAction> taken = history.pop(from);
+        if (taken.isEmpty()) {
+            return Optional.empty();
+        }
+        ScoringAction action = taken.get();
+        R result;
+        try {
+            result = apply.apply(action);
+        } catch (IllegalArgumentException | EntityNotFoundException e) {
+            log.warn("Dropping {} from the history of set {}: {}", action, setId, e.getMessage());
+            throw e;
+        } catch (RuntimeException e) {
+            history.push(from, action);
+            throw e;
+        }
+        afterCommit(() -> history.push(to, action), () -> history.push(from, action));
+        return Optional.of(result);
+    }
+
+    private History history(Long setId) {
+        return histories.get(setId, id -> new History(depth));
+    }
+
+    private static void afterCommit(Runnable committed, Runnable rolledBack) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        committed.run();
+                    } else {
+                        rolledBack.run();
+                    }
+                }
+            });
+        } else {
+            committed.run();
+        }
+    }
+
+    /**
+     * The two bounded stacks of one set. Every operation is O(1).
+     */
+    private static final class History {
+        private final int depth;
+        private final Deque<ScoringAction> undo = new ArrayDeque<>();
+        private final Deque<ScoringAction> redo = new ArrayDeque<>();
+
+        History(int depth) {
+            this.depth = depth;
+        }
+
+        synchronized void recorded(ScoringAction action) {
+            push(undo, action);
+            redo.clear();
+        }
+
+        synchronized void push(Deque<ScoringAction> stack, ScoringAction action) {
+            stack.push(action);
+            if (stack.size() > depth) {
+                stack.removeLast();
+            }
+        }
+
+        synchronized Optional<ScoringAction> pop(Deque<ScoringAction> stack) {
+            return Optional.ofNullable(stack.poll());
+        }
+    }
+}
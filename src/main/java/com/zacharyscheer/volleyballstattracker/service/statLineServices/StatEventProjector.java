@@ -0,0 +1,138 @@
+package com.zacharyscheer.volleyballstattracker.service.statLineServices;
+
+import com.zacharyscheer.volleyballstattracker.dto.LiveMatchUpdateDTO;
+import com.zacharyscheer.volleyballstattracker.models.MatchTotalsKey;
+import com.zacharyscheer.volleyballstattracker.models.StatEvent;
+import com.zacharyscheer.volleyballstattracker.models.StatLine;
+import com.zacharyscheer.volleyballstattracker.models.StatLineDelta;
+import com.zacharyscheer.volleyballstattracker.models.StatLineKey;
+import com.zacharyscheer.volleyballstattracker.repository.MatchStatTotalsRepository;
+import com.zacharyscheer.volleyballstattracker.repository.StatLineRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps StatLine counters up to date from the StatEvent log.
+ * Each event's delta is added to its StatLine incrementally (never recomputed from the whole log),
+ * and the StatLine's lastEventSequence records the log offset it has been projected through.
+ * The same delta is added to the player's row of the match's materialized totals,
+ * and the cached copies of those totals are dropped once the transaction commits.
+ * Committed changes are also pushed to the match's live stream (see LiveMatchBroadcaster).
+ * Must be called inside the transaction that appended the events, so the log and the counters commit together.
+ */
+@Component
+public class StatEventProjector {
+
+    private final StatLineRepository statLineRepository;
+    private final MatchStatTotalsRepository matchStatTotalsRepository;
+    private final MatchTotalsCache matchTotalsCache;
+    private final LiveMatchBroadcaster liveMatchBroadcaster;
+
+    public StatEventProjector(StatLineRepository statLineRepository,
+                              MatchStatTotalsRepository matchStatTotalsRepository,
+                              MatchTotalsCache matchTotalsCache,
+                              LiveMatchBroadcaster liveMatchBroadcaster) {
+        this.statLineRepository = statLineRepository;
+        this.matchStatTotalsRepository = matchStatTotalsRepository;
+        this.matchTotalsCache = matchTotalsCache;
+        this.liveMatchBroadcaster = liveMatchBroadcaster;
+    }
+
+    /**
+     * Applies a single appended event to its StatLine with one atomic UPDATE.
+     * @return The StatLine as updated, returned by the UPDATE itself (no read-back query).
+     */
+    public StatLine project(StatEvent event) {
+        StatLineDelta delta = event.toDelta();
+        delta.setThroughSequence(event.getSequence());
+
+        StatLine updated = statLineRepository.applyDelta(event.getSetId(), event.getPlayerId(), delta)
+                .orElseThrow(() -> notFound(event.getSetId(), event.getPlayerId()));
+        matchStatTotalsRepository.applyDelta(updated.getMatchId(), event.getPlayerId(), delta);
+        matchTotalsCache.invalidateAfterCommit(event.getSetId(), List.of(event.getPlayerId()));
+        publish(event.getSetId(), event.getPlayerId(), delta, event.getPosition());
+        return updated;
+    }
+
+    /**
+     * Coalesces a run of appended events into one net delta per StatLine and applies them as a single JDBC batch.
+     * Rows are updated in StatLineKey order (not tap order), so concurrent batches lock them in the same order.
+     * @return The StatLines that were updated, in the order they first appeared in the events.
+     */
+    public List<StatLineKey> projectAll(List<StatEvent> events) {
+        Map<StatLineKey, StatLineDelta> deltas = new TreeMap<>();
+        Map<StatLineKey, Long> throughPositions = new HashMap<>();
+        List<StatLineKey> firstSeen = new ArrayList<>();
+        for (StatEvent event : events) {
+            StatLineDelta delta = event.toDelta();
+            delta.setThroughSequence(event.getSequence());
+            StatLineKey statLineKey = new StatLineKey(event.getSetId(), event.getPlayerId());
+            deltas.computeIfAbsent(statLineKey, key -> {
+                firstSeen.add(key);
+                return new StatLineDelta();
+            }).add(delta);
+            if (event.getPosition() != null) {
+                throughPositions.merge(statLineKey, event.getPosition(), Math::max);
+            }
+        }
+
+        int[] updateCounts = statLineRepository.batchApplyDeltas(deltas);
+        List<StatLineKey> sorted = new ArrayList<>(deltas.keySet());
+        for (int i = 0; i < sorted.size(); i++) {
+            if (updateCounts[i] == 0) {
+                // Rolls back the whole batch (including the appended events) so the client can safely resend it
+                throw notFound(sorted.get(i).setId(), sorted.get(i).playerId());
+            }
+        }
+        matchStatTotalsRepository.batchApplyDeltas(byMatch(deltas));
+
+        Map<Long, List<Integer>> playersBySet = new LinkedHashMap<>();
+        sorted.forEach(key -> playersBySet.computeIfAbsent(key.setId(), setId -> new ArrayList<>()).add(key.playerId()));
+        playersBySet.forEach(matchTotalsCache::invalidateAfterCommit);
+        deltas.forEach((key, delta) -> publish(key.setId(), key.playerId(), delta, throughPositions.get(key)));
+        return firstSeen;
+    }
+
+    /**
+     * Re-keys the StatLine deltas by match totals row, adding up a player's deltas from different sets of one match.
+     * The set-to-match lookup is cached, so the totals update never has to read the sets table.
+     */
+    private Map<MatchTotalsKey, StatLineDelta> byMatch(Map<StatLineKey, StatLineDelta> deltas) {
+        Map<MatchTotalsKey, StatLineDelta> byMatch = new TreeMap<>();
+        deltas.forEach((key, delta) -> byMatch
+                .computeIfAbsent(new MatchTotalsKey(matchTotalsCache.matchIdOf(key.setId()), key.playerId()),
+                        totalsKey -> new StatLineDelta())
+                .add(delta));
+        return byMatch;
+    }
+
+    /**
+     * Pushes the change to the match's live stream subscribers (if any) once the transaction commits.
+     * @param throughPosition The highest set position of the events in the change, the client's resync cursor.
+     */
+    private void publish(Long setId, Integer playerId, StatLineDelta delta, Long throughPosition) {
+        Long matchId = matchTotalsCache.matchIdOf(setId);
+        if (liveMatchBroadcaster.hasSubscribers(matchId)) {
+            liveMatchBroadcaster.publishAfterCommit(LiveMatchUpdateDTO.builder()
+                    .matchId(matchId)
+                    .setId(setId)
+                    .playerId(playerId)
+                    .changes(delta.changedCounters())
+                    .position(throughPosition)
+                    .build());
+        }
+    }
+
+    private EntityNotFoundException notFound(Long setId, Integer playerId) {
+        return new EntityNotFoundException(
+                String.format("StatLine not found for Set ID %d and Player ID %d. Ensure the set was started correctly.", setId, playerId)
+        );
+    }
+}
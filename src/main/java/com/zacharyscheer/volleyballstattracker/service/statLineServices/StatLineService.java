@@ -1,9 +1,19 @@
 package com.zacharyscheer.volleyballstattracker.service.statLineServices;
 
+import com.zacharyscheer.volleyballstattracker.dto.CacheStatsDTO;
+import com.zacharyscheer.volleyballstattracker.dto.MultiMatchAggregateStatsDTO;
 import com.zacharyscheer.volleyballstattracker.dto.PlayerMatchAggregateStatsDTO;
+import com.zacharyscheer.volleyballstattracker.dto.StatEventRequestDTO;
 import com.zacharyscheer.volleyballstattracker.dto.TeamMatchAggregateStatsDTO;
+import com.zacharyscheer.volleyballstattracker.models.StatEvent;
+import com.zacharyscheer.volleyballstattracker.models.StatEventType;
 import com.zacharyscheer.volleyballstattracker.models.StatLine;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
 public interface StatLineService {
 
     // --- Utility Finders ---
@@ -30,6 +40,89 @@ public interface StatLineService {
      */
     TeamMatchAggregateStatsDTO getTeamMatchTotals(Long matchId);
 
+    /**
+     * Recomputes a match's materialized totals (every player and the team) from its StatLines.
+     * @param matchId The ID of the match to rebuild.
+     * @return The rebuilt team totals.
+     */
+    TeamMatchAggregateStatsDTO rebuildMatchTotals(Long matchId);
+
+    /**
+     * @return Hit/miss/eviction counts of the match totals read cache.
+     */
+    List<CacheStatsDTO> getTotalsCacheStats();
+
+    /**
+     * Aggregates every player's stats (and the team's) over all of a coach's matches in a date range.
+     * @param coachEmail The authenticated coach; only their matches are included.
+     * @param from The first match date to include.
+     * @param to The last match date to include.
+     * @return One line per player plus team totals, all computed in the database.
+     */
+    MultiMatchAggregateStatsDTO getSeasonTotals(String coachEmail, LocalDate from, LocalDate to);
+
+    /**
+     * Aggregates every player's stats (and the team's) over a chosen set of a coach's matches.
+     * @param coachEmail The authenticated coach; matches owned by other coaches are ignored.
+     * @param matchIds The matches to include.
+     * @return One line per player plus team totals, all computed in the database.
+     */
+    MultiMatchAggregateStatsDTO getMultiMatchTotals(String coachEmail, List<Long> matchIds);
+
+    // --- Generic & Batch Recording ---
+
+    /**
+     * Records a single stat event of any type for a player in a set.
+     * @param rating The pass rating (0-3), only used for PASS_RATING events.
+     * @return The updated StatLine.
+     */
+    StatLine recordEvent(Long setId, Integer playerId, StatEventType eventType, Integer rating);
+
+    /**
+     * Records a stat event sent by a scoring device under its own id. A resent event (same id) is not recorded
+     * again; the event recorded the first time is returned instead.
+     * @param clientEventId The id the device generated for the tap, or null to record it without that check.
+     * @return The recorded event. Its sequence is null while it waits in the write-behind buffer.
+     * @throws org.springframework.dao.DataIntegrityViolationException if the same id was recorded concurrently
+     * (the caller can then look it up with findClientEvent).
+     */
+    StatEvent recordClientEvent(UUID clientEventId, Long setId, Integer playerId, StatEventType eventType, Integer rating);
+
+    /**
+     * @return The event a scoring device recorded under the given id, or empty if none has been recorded.
+     */
+    Optional<StatEvent> findClientEvent(Long setId, Integer playerId, UUID clientEventId);
+
+    /**
+     * Records an ordered batch of stat events (e.g. taps queued offline) in one transaction.
+     * Every event is appended to the log, then coalesced per StatLine and written as a single JDBC batch.
+     * @param events The queued events, in the order they happened.
+     * @return The final StatLine for every set/player pair touched by the batch, in first-seen order.
+     */
+    List<StatLine> recordEvents(List<StatEventRequestDTO> events);
+
+    /**
+     * Returns the play-by-play for a set from the stat event log.
+     * @param afterPosition Only events after this position in the set are returned (null for the whole set).
+     * @return The events, oldest first.
+     */
+    List<StatEvent> getSetEvents(Long setId, Long afterPosition);
+
+    // --- Undo / Redo (stat taps and points, most recent first) ---
+
+    /**
+     * Takes back the set's most recent stat tap or point. A stat is undone by appending a reversal event,
+     * applied as one atomic decrement (the inverse of the original delta); nothing is recomputed.
+     * @return What was undone, or empty if the set has nothing left to undo.
+     */
+    Optional<UndoResult> undo(Long setId);
+
+    /**
+     * Applies the set's most recently undone action again.
+     * @return What was redone, or empty if there is nothing to redo (or a new action has been recorded since).
+     */
+    Optional<UndoResult> redo(Long setId);
+
     // --- Hitting Actions ---
     StatLine recordKill(Long setId, Integer playerId);
     StatLine recordAttackAttempt(Long setId, Integer playerId);
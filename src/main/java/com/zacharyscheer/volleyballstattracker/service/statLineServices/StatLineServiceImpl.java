@@ -1,23 +1,68 @@
 package com.zacharyscheer.volleyballstattracker.service.statLineServices;
 
 
+import com.zacharyscheer.volleyballstattracker.config.MetricsSupport;
+import com.zacharyscheer.volleyballstattracker.dto.CacheStatsDTO;
+import com.zacharyscheer.volleyballstattracker.dto.LiveSetStateDTO;
+import com.zacharyscheer.volleyballstattracker.dto.MultiMatchAggregateStatsDTO;
 import com.zacharyscheer.volleyballstattracker.dto.PlayerMatchAggregateStatsDTO;
+import com.zacharyscheer.volleyballstattracker.dto.StatEventRequestDTO;
 import com.zacharyscheer.volleyballstattracker.dto.TeamMatchAggregateStatsDTO;
+import com.zacharyscheer.volleyballstattracker.models.ScoringAction;
+import com.zacharyscheer.volleyballstattracker.models.StatEvent;
+import com.zacharyscheer.volleyballstattracker.models.StatEventType;
 import com.zacharyscheer.volleyballstattracker.models.StatLine;
+import com.zacharyscheer.volleyballstattracker.models.StatLineKey;
+import com.zacharyscheer.volleyballstattracker.repository.StatEventRepository;
 import com.zacharyscheer.volleyballstattracker.repository.StatLineRepository;
+import com.zacharyscheer.volleyballstattracker.service.setService.SetService;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 
 @Service
 public class StatLineServiceImpl implements StatLineService {
     private final StatLineRepository statLineRepository;
-
-    public StatLineServiceImpl(StatLineRepository statLineRepository) {
+    private final StatEventRepository statEventRepository;
+    private final StatEventProjector statEventProjector;
+    private final LiveStatBuffer liveStatBuffer;
+    private final MatchStatTotalsService matchStatTotalsService;
+    private final MatchTotalsCache matchTotalsCache;
+    private final MeterRegistry meterRegistry;
+    private final ScoringHistory scoringHistory;
+    private final SetService setService;
+
+    public StatLineServiceImpl(StatLineRepository statLineRepository,
+                               StatEventRepository statEventRepository,
+                               StatEventProjector statEventProjector,
+                               LiveStatBuffer liveStatBuffer,
+                               MatchStatTotalsService matchStatTotalsService,
+                               MatchTotalsCache matchTotalsCache,
+                               MeterRegistry meterRegistry,
+                               ScoringHistory scoringHistory,
+                               SetService setService) {
         this.statLineRepository = statLineRepository;
+        this.statEventRepository = statEventRepository;
+        this.statEventProjector = statEventProjector;
+        this.liveStatBuffer = liveStatBuffer;
+        this.matchStatTotalsService = matchStatTotalsService;
+        this.matchTotalsCache = matchTotalsCache;
+        this.meterRegistry = meterRegistry;
+        this.scoringHistory = scoringHistory;
+        this.setService = setService;
     }
 
     /**
@@ -31,86 +76,129 @@ public class StatLineServiceImpl implements StatLineService {
                 ));
     }
 
-    // --- Aggregation Utility (Generic Helper Method) ---
     /**
-     * Internal generic method to sum all raw stats from a list of StatLine entities
-     * into an aggregation DTO (either Player or Team).
-     * @param statLines The list of StatLine entities to aggregate.
-     * @param totalsDTO The DTO object (PlayerMatchAggregateStatsDTO or TeamMatchAggregateStatsDTO)
-     * to store the aggregated results.
-     * @param <T> A type that extends PlayerMatchAggregateStatsDTO.
-     * @return The populated totalsDTO with calculated metrics.
+     * Builds a new (not yet saved) entry for the stat event log.
+     */
+    private StatEvent newEvent(Long setId, Integer playerId, StatEventType eventType, Integer rating) {
+        return newEvent(setId, playerId, eventType, rating, false, null);
+    }
+
+    private StatEvent newEvent(Long setId, Integer playerId, StatEventType eventType, Integer rating, boolean reversal,
+                               UUID clientEventId) {
+        eventType.validateRating(rating);
+        return StatEvent.builder()
+                .setId(setId)
+                .playerId(playerId)
+                .eventType(eventType)
+                .rating(eventType == StatEventType.PASS_RATING ? rating : null)
+                .recordedAt(Instant.now())
+                .reversal(reversal)
+                .clientEventId(clientEventId)
+                .build();
+    }
+
+    /**
+     * Write-behind path: counts the event in the LiveStatBuffer instead of writing it.
+     * Only the first tap for a StatLine reads the database, to load the row the buffer builds on.
      */
-    private <T extends PlayerMatchAggregateStatsDTO> T aggregateRawStats(List<StatLine> statLines, T totalsDTO) {
-        if (statLines.isEmpty()) {
-            // No data, but we still need to calculate metrics which will all be 0.0
-            totalsDTO.calculateMetrics();
-            return totalsDTO;
+    private StatLine recordBuffered(StatEvent event) {
+        StatLine view = liveStatBuffer.record(event);
+        while (view == null) {
+            liveStatBuffer.track(findStatLine(event.getSetId(), event.getPlayerId()));
+            view = liveStatBuffer.record(event);
         }
+        return view;
+    }
+
+    // ----------------------------------------------------------------------------------
+    // AGGREGATION METHODS (Match Totals)
+    // ----------------------------------------------------------------------------------
 
-        statLines.forEach(statLine -> {
-            // Hitting
-            totalsDTO.setKills(totalsDTO.getKills() + statLine.getKills());
-            totalsDTO.setKillErrors(totalsDTO.getKillErrors() + statLine.getKillErrors());
-            totalsDTO.setAttackAttempts(totalsDTO.getAttackAttempts() + statLine.getAttackAttempts());
+    // Not @Transactional: a cache hit should not open a transaction (or borrow a connection) at all
+    @Override
+    public PlayerMatchAggregateStatsDTO getIndividualMatchTotals(Long matchId, Integer playerId) {
+        return matchTotalsCache.get(matchId, playerId, () -> MetricsSupport.time(meterRegistry, MetricsSupport.STAT_AGGREGATION,
+                () -> loadIndividualMatchTotals(matchId, playerId), "query", "match_player"));
+    }
 
-            // Passing
-            totalsDTO.setThreePass(totalsDTO.getThreePass() + statLine.getThreePass());
-            totalsDTO.setTwoPass(totalsDTO.getTwoPass() + statLine.getTwoPass());
-            totalsDTO.setOnePass(totalsDTO.getOnePass() + statLine.getOnePass());
-            totalsDTO.setZeroPass(totalsDTO.getZeroPass() + statLine.getZeroPass());
+    private PlayerMatchAggregateStatsDTO loadIndividualMatchTotals(Long matchId, Integer playerId) {
+        // One row from the materialized totals; matches that were never materialized are summed by the database
+        return matchStatTotalsService.findPlayerTotals(matchId, playerId)
+                .or(() -> statLineRepository.sumPlayerMatchTotals(matchId, playerId))
+                .orElseGet(() -> {
+                    // No data, but we still need to calculate metrics which will all be 0.0
+                    PlayerMatchAggregateStatsDTO totals = new PlayerMatchAggregateStatsDTO();
+                    totals.setPlayerId(playerId);
+                    totals.setMatchId(matchId);
+                    totals.calculateMetrics();
+                    return totals;
+                });
+    }
 
-            // Serving
-            totalsDTO.setServiceAce(totalsDTO.getServiceAce() + statLine.getServiceAce());
-            totalsDTO.setServiceError(totalsDTO.getServiceError() + statLine.getServiceError());
-            totalsDTO.setServiceAttempt(totalsDTO.getServiceAttempt() + statLine.getServiceAttempt());
+    @Override
+    public TeamMatchAggregateStatsDTO getTeamMatchTotals(Long matchId) {
+        return matchTotalsCache.get(matchId, null, () -> MetricsSupport.time(meterRegistry, MetricsSupport.STAT_AGGREGATION,
+                () -> loadTeamMatchTotals(matchId), "query", "match_team"));
+    }
 
-            // Setting
-            totalsDTO.setAssists(totalsDTO.getAssists() + statLine.getAssists());
-            totalsDTO.setSetError(totalsDTO.getSetError() + statLine.getSetError());
-            totalsDTO.setSetAttempts(totalsDTO.getSetAttempts() + statLine.getSetAttempts());
+    private TeamMatchAggregateStatsDTO loadTeamMatchTotals(Long matchId) {
+        return matchStatTotalsService.findTeamTotals(matchId)
+                .orElseGet(() -> {
+                    TeamMatchAggregateStatsDTO totals = statLineRepository.sumTeamMatchTotals(matchId);
+                    totals.setMatchId(matchId);
+                    return totals;
+                });
+    }
 
-            // Blocking & Defense
-            totalsDTO.setBlocks(totalsDTO.getBlocks() + statLine.getBlocks());
-            totalsDTO.setBlockError(totalsDTO.getBlockError() + statLine.getBlockError());
-            totalsDTO.setDigs(totalsDTO.getDigs() + statLine.getDigs());
-            totalsDTO.setDigError(totalsDTO.getDigError() + statLine.getDigError());
-        });
+    @Override
+    @Transactional
+    public TeamMatchAggregateStatsDTO rebuildMatchTotals(Long matchId) {
+        if (liveStatBuffer.isEnabled()) {
+            // The rebuild reads StatLines, so write out any taps still waiting in the buffer first
+            statLineRepository.findByMatchId(matchId).stream()
+                    .map(line -> line.getSet().getId())
+                    .distinct()
+                    .forEach(liveStatBuffer::flushSet);
+        }
+        return matchStatTotalsService.rebuild(matchId);
+    }
 
-        // Calculate metrics like percentages after all raw stats are summed up
-        totalsDTO.calculateMetrics();
-        return totalsDTO;
+    @Override
+    public List<CacheStatsDTO> getTotalsCacheStats() {
+        return matchTotalsCache.stats();
     }
 
     // ----------------------------------------------------------------------------------
-    // AGGREGATION METHODS (Match Totals)
+    // AGGREGATION METHODS (Season / Multi-Match Totals)
     // ----------------------------------------------------------------------------------
 
     @Override
     @Transactional(readOnly = true)
-    public PlayerMatchAggregateStatsDTO getIndividualMatchTotals(Long matchId, Integer playerId) {
-        // NOTE: This repository method must be defined in StatLineRepository.java
-        List<StatLine> statLines = statLineRepository.findByPlayerIdAndSetMatchId(playerId, matchId);
-
-        PlayerMatchAggregateStatsDTO totals = new PlayerMatchAggregateStatsDTO();
-        totals.setPlayerId(playerId);
-        totals.setMatchId(matchId);
+    public MultiMatchAggregateStatsDTO getSeasonTotals(String coachEmail, LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException("A valid date range is required (from must not be after to)");
+        }
 
-        // Use the generic helper to aggregate the raw stats and calculate metrics
-        return aggregateRawStats(statLines, totals);
+        return MetricsSupport.time(meterRegistry, MetricsSupport.STAT_AGGREGATION, () -> MultiMatchAggregateStatsDTO.builder()
+                .from(from)
+                .to(to)
+                .players(statLineRepository.sumPlayerTotalsBetween(coachEmail, from, to))
+                .team(statLineRepository.sumTeamTotalsBetween(coachEmail, from, to))
+                .build(), "query", "season");
     }
 
     @Override
     @Transactional(readOnly = true)
-    public TeamMatchAggregateStatsDTO getTeamMatchTotals(Long matchId) {
-        // NOTE: This repository method must be defined in StatLineRepository.java
-        List<StatLine> statLines = statLineRepository.findBySetMatchId(matchId);
-
-        TeamMatchAggregateStatsDTO totals = new TeamMatchAggregateStatsDTO();
-        totals.setMatchId(matchId);
+    public MultiMatchAggregateStatsDTO getMultiMatchTotals(String coachEmail, List<Long> matchIds) {
+        if (matchIds == null || matchIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one match ID is required");
+        }
 
-        // Use the generic helper to aggregate the raw stats and calculate metrics
-        return aggregateRawStats(statLines, totals);
+        return MetricsSupport.time(meterRegistry, MetricsSupport.STAT_AGGREGATION, () -> MultiMatchAggregateStatsDTO.builder()
+                .matchIds(matchIds)
+                .players(statLineRepository.sumPlayerTotalsForMatches(coachEmail, matchIds))
+                .team(statLineRepository.sumTeamTotalsForMatches(coachEmail, matchIds))
+                .build(), "query", "multi_match");
     }
 
     // ----------------------------------------------------------------------------------
@@ -120,9 +208,172 @@ public class StatLineServiceImpl implements StatLineService {
     @Override
     @Transactional(readOnly = true)
     public StatLine getStatLineBySetAndPlayer(Long setId, Integer playerId) {
+        if (liveStatBuffer.isEnabled()) {
+            // Include taps that are still waiting in the write-behind buffer
+            StatLine buffered = liveStatBuffer.view(setId, playerId);
+            if (buffered != null) {
+                return buffered;
+            }
+        }
         return findStatLine(setId, playerId);
     }
 
+    // ----------------------------------------------------------------------------------
+    // GENERIC & BATCH RECORDING
+    // ----------------------------------------------------------------------------------
+
+    @Override
+    @Transactional
+    public StatLine recordEvent(Long setId, Integer playerId, StatEventType eventType, Integer rating) {
+        // Timed per event type; the commit itself happens after this returns, in the caller's transaction
+        return MetricsSupport.time(meterRegistry, MetricsSupport.STAT_RECORD,
+                () -> recordEventUntimed(setId, playerId, eventType, rating), "event_type", String.valueOf(eventType));
+    }
+
+    private StatLine recordEventUntimed(Long setId, Integer playerId, StatEventType eventType, Integer rating) {
+        StatLine updated = append(newEvent(setId, playerId, eventType, rating));
+        scoringHistory.recordAfterCommit(setId, new ScoringAction.StatTap(playerId, eventType, rating));
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    public StatEvent recordClientEvent(UUID clientEventId, Long setId, Integer playerId, StatEventType eventType,
+                                       Integer rating) {
+        if (clientEventId != null) {
+            Optional<StatEvent> recorded = findClientEvent(setId, playerId, clientEventId);
+            if (recorded.isPresent()) {
+                return recorded.get();
+            }
+        }
+        return MetricsSupport.time(meterRegistry, MetricsSupport.STAT_RECORD, () -> {
+            StatEvent event = newEvent(setId, playerId, eventType, rating, false, clientEventId);
+            if (liveStatBuffer.isEnabled()) {
+                recordBuffered(event);
+            } else {
+                event = appendToLog(event);
+                statEventProjector.project(event);
+            }
+            scoringHistory.recordAfterCommit(setId, new ScoringAction.StatTap(playerId, eventType, rating));
+            return event;
+        }, "event_type", String.valueOf(eventType));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<StatEvent> findClientEvent(Long setId, Integer playerId, UUID clientEventId) {
+        // The buffer first: its events stay there until their flush has committed
+        if (liveStatBuffer.isEnabled()) {
+            Optional<StatEvent> queued = liveStatBuffer.findQueued(setId, playerId, clientEventId);
+            if (queued.isPresent()) {
+                return queued;
+            }
+        }
+        return statEventRepository.findByClientEventId(clientEventId);
+    }
+
+    /**
+     * Appends one event (a tap or a reversal) and applies its delta. Shared by recording, undo and redo.
+     */
+    private StatLine append(StatEvent newEvent) {
+        if (liveStatBuffer.isEnabled()) {
+            return recordBuffered(newEvent);
+        }
+        // The UPDATE returns the row, so the StatLine is not read back
+        return statEventProjector.project(appendToLog(newEvent));
+    }
+
+    /**
+     * Appends an event to the log (this assigns its sequence number and its position in the set).
+     * The caller projects it onto the StatLine counters right after, in the same transaction.
+     */
+    private StatEvent appendToLog(StatEvent newEvent) {
+        statEventRepository.assignPositions(List.of(newEvent));
+        return statEventRepository.save(newEvent);
+    }
+
+    @Override
+    @Transactional
+    public List<StatLine> recordEvents(List<StatEventRequestDTO> events) {
+        return MetricsSupport.time(meterRegistry, MetricsSupport.STAT_RECORD,
+                () -> recordEventsUntimed(events), "event_type", "BATCH");
+    }
+
+    private List<StatLine> recordEventsUntimed(List<StatEventRequestDTO> events) {
+        if (events.isEmpty()) {
+            return List.of();
+        }
+
+        // 1. Append every event to the log, keeping the order they were tapped in
+        List<StatEvent> appended = new ArrayList<>(events.size());
+        for (StatEventRequestDTO event : events) {
+            if (event.getSetId() == null || event.getPlayerId() == null || event.getEventType() == null) {
+                throw new IllegalArgumentException("Each stat event needs a setId, playerId and eventType");
+            }
+            appended.add(newEvent(event.getSetId(), event.getPlayerId(), event.getEventType(), event.getRating()));
+        }
+        // Every tap in the batch can be undone on its own, newest first
+        appended.forEach(event -> scoringHistory.recordAfterCommit(event.getSetId(),
+                new ScoringAction.StatTap(event.getPlayerId(), event.getEventType(), event.getRating())));
+
+        if (liveStatBuffer.isEnabled()) {
+            // The buffer coalesces and writes them on its next flush; return the latest view of each StatLine
+            Map<StatLineKey, StatLine> latest = new LinkedHashMap<>();
+            appended.forEach(event -> latest.put(new StatLineKey(event.getSetId(), event.getPlayerId()), recordBuffered(event)));
+            return new ArrayList<>(latest.values());
+        }
+        statEventRepository.assignPositions(appended);
+        statEventRepository.saveAll(appended);
+
+        // 2. Project them as one net delta per StatLine, applied in a single JDBC batch
+        List<StatLineKey> touched = statEventProjector.projectAll(appended);
+
+        // 3. Read back the final rows for every StatLine the batch touched
+        Set<Long> setIds = new HashSet<>();
+        touched.forEach(key -> setIds.add(key.setId()));
+        Map<StatLineKey, StatLine> updated = new HashMap<>();
+        statLineRepository.findBySetIdIn(setIds).forEach(line ->
+                updated.put(new StatLineKey(line.getSet().getId(), line.getPlayer().getId()), line));
+
+        List<StatLine> results = new ArrayList<>(touched.size());
+        touched.forEach(key -> results.add(updated.get(key)));
+        return results;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<StatEvent> getSetEvents(Long setId, Long afterPosition) {
+        return statEventRepository.findBySetIdAndPositionGreaterThanOrderByPositionAsc(
+                setId, afterPosition == null ? 0L : afterPosition);
+    }
+
+    // ----------------------------------------------------------------------------------
+    // UNDO / REDO
+    // ----------------------------------------------------------------------------------
+
+    @Override
+    @Transactional
+    public Optional<UndoResult> undo(Long setId) {
+        // If this transaction rolls back, the action goes back on the undo stack
+        return scoringHistory.undo(setId, action -> apply(setId, action, true));
+    }
+
+    @Override
+    @Transactional
+    public Optional<UndoResult> redo(Long setId) {
+        return scoringHistory.redo(setId, action -> apply(setId, action, false));
+    }
+
+    private UndoResult apply(Long setId, ScoringAction action, boolean undo) {
+        if (action instanceof ScoringAction.StatTap tap) {
+            StatLine updated = append(newEvent(setId, tap.playerId(), tap.eventType(), tap.rating(), undo, null));
+            return new UndoResult(action, updated, null);
+        }
+        ScoringAction.Point point = (ScoringAction.Point) action;
+        LiveSetStateDTO set = undo ? setService.undoPoint(setId, point) : setService.redoPoint(setId, point);
+        return new UndoResult(action, null, set);
+    }
+
     // ----------------------------------------------------------------------------------
     // HITTING STATS
     // ----------------------------------------------------------------------------------
@@ -130,28 +381,19 @@ public class StatLineServiceImpl implements StatLineService {
     @Override
     @Transactional
     public StatLine recordKill(Long setId, Integer playerId) {
-        StatLine sl = findStatLine(setId, playerId);
-        sl.setKills(sl.getKills() + 1);
-        sl.setAttackAttempts(sl.getAttackAttempts() + 1); // Kill is always an attempt
-
-        return statLineRepository.save(sl);
+        return recordEvent(setId, playerId, StatEventType.KILL, null);
     }
 
     @Override
     @Transactional
     public StatLine recordAttackAttempt(Long setId, Integer playerId) {
-        StatLine line = findStatLine(setId, playerId);
-        line.setAttackAttempts(line.getAttackAttempts() + 1);
-        return statLineRepository.save(line);
+        return recordEvent(setId, playerId, StatEventType.ATTACK_ATTEMPT, null);
     }
 
     @Transactional
     @Override
     public StatLine recordKillError(Long setId, Integer playerId) {
-        StatLine line = findStatLine(setId, playerId);
-        line.setKillErrors(line.getKillErrors() + 1);
-        line.setAttackAttempts(line.getAttackAttempts() + 1); // Kill error is always an attempt
-        return statLineRepository.save(line);
+        return recordEvent(setId, playerId, StatEventType.KILL_ERROR, null);
     }
 
     // ----------------------------------------------------------------------------------
@@ -161,28 +403,19 @@ public class StatLineServiceImpl implements StatLineService {
     @Override
     @Transactional
     public StatLine recordServiceAce(Long setId, Integer playerId) {
-        StatLine line =  findStatLine(setId, playerId);
-        line.setServiceAce(line.getServiceAce() + 1);
-        line.setServiceAttempt(line.getServiceAttempt() + 1); // Ace is always an attempt
-
-        return statLineRepository.save(line);
+        return recordEvent(setId, playerId, StatEventType.SERVICE_ACE, null);
     }
 
     @Override
     @Transactional
     public StatLine recordServiceAttempt(Long setId, Integer playerId) {
-        StatLine line = findStatLine(setId, playerId);
-        line.setServiceAttempt(line.getServiceAttempt() + 1);
-        return statLineRepository.save(line);
+        return recordEvent(setId, playerId, StatEventType.SERVICE_ATTEMPT, null);
     }
 
     @Override
     @Transactional
     public StatLine recordServiceError(Long setId, Integer playerId) {
-        StatLine line = findStatLine(setId, playerId);
-        line.setServiceAttempt(line.getServiceAttempt() + 1); // Error is always an attempt
-        line.setServiceError(line.getServiceError() + 1);
-        return statLineRepository.save(line);
+        return recordEvent(setId, playerId, StatEventType.SERVICE_ERROR, null);
     }
 
     // ----------------------------------------------------------------------------------
@@ -192,29 +425,7 @@ public class StatLineServiceImpl implements StatLineService {
     @Override
     @Transactional
     public StatLine recordPassRating(Long setId, Integer playerId, int rating) {
-        StatLine line = findStatLine(setId, playerId);
-
-        if(rating < 0 || rating > 3){
-            throw new IllegalArgumentException("rating should be between 0 and 3");
-        }
-
-        // Use a switch statement for cleaner logic flow
-        switch (rating) {
-            case 3:
-                line.setThreePass(line.getThreePass() + 1);
-                break;
-            case 2:
-                line.setTwoPass(line.getTwoPass() + 1);
-                break;
-            case 1:
-                line.setOnePass(line.getOnePass() + 1);
-                break;
-            case 0:
-                line.setZeroPass(line.getZeroPass() + 1);
-                break;
-        }
-
-        return statLineRepository.save(line);
+        return recordEvent(setId, playerId, StatEventType.PASS_RATING, rating);
     }
 
     // ----------------------------------------------------------------------------------
@@ -224,33 +435,25 @@ public class StatLineServiceImpl implements StatLineService {
     @Override
     @Transactional
     public StatLine recordDig(Long setId, Integer playerId) {
-        StatLine line = findStatLine(setId, playerId);
-        line.setDigs(line.getDigs() + 1);
-        return statLineRepository.save(line);
+        return recordEvent(setId, playerId, StatEventType.DIG, null);
     }
 
     @Override
     @Transactional
     public StatLine recordDigError(Long setId, Integer playerId) {
-        StatLine line = findStatLine(setId, playerId);
-        line.setDigError(line.getDigError() + 1);
-        return statLineRepository.save(line);
+        return recordEvent(setId, playerId, StatEventType.DIG_ERROR, null);
     }
 
     @Override
     @Transactional
     public StatLine recordBlock(Long setId, Integer playerId) {
-        StatLine line = findStatLine(setId, playerId);
-        line.setBlocks(line.getBlocks() + 1);
-        return statLineRepository.save(line);
+        return recordEvent(setId, playerId, StatEventType.BLOCK, null);
     }
 
     @Override
     @Transactional
     public StatLine recordBlockError(Long setId, Integer playerId) {
-        StatLine line = findStatLine(setId, playerId);
-        line.setBlockError(line.getBlockError() + 1);
-        return statLineRepository.save(line);
+        return recordEvent(setId, playerId, StatEventType.BLOCK_ERROR, null);
     }
 
     // ----------------------------------------------------------------------------------
@@ -260,26 +463,18 @@ public class StatLineServiceImpl implements StatLineService {
     @Override
     @Transactional
     public StatLine recordAssist(Long setId, Integer playerId) {
-        StatLine line = findStatLine(setId, playerId);
-        line.setAssists(line.getAssists() + 1);
-        line.setSetAttempts(line.getSetAttempts() + 1); // FIX 3: An assist is also a set attempt
-        return statLineRepository.save(line);
+        return recordEvent(setId, playerId, StatEventType.ASSIST, null);
     }
 
     @Override
     @Transactional
     public StatLine recordSetAttempt(Long setId, Integer playerId) {
-        StatLine line = findStatLine(setId, playerId);
-        line.setSetAttempts(line.getSetAttempts() + 1);
-        return statLineRepository.save(line);
+        return recordEvent(setId, playerId, StatEventType.SET_ATTEMPT, null);
     }
 
     @Override
     @Transactional
     public StatLine recordSetError(Long setId, Integer playerId) {
-        StatLine line = findStatLine(setId, playerId);
-        line.setSetError(line.getSetError() + 1);
-        line.setSetAttempts(line.getSetAttempts() + 1); // FIX 4: A set error is also a set attempt
-        return statLineRepository.save(line);
+        return recordEvent(setId, playerId, StatEventType.SET_ERROR, null);
     }
-}
\ No newline at end of file
+}
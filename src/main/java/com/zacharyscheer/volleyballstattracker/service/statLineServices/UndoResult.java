@@ -0,0 +1,12 @@
+package com.zacharyscheer.volleyballstattracker.service.statLineServices;
+
+import com.zacharyscheer.volleyballstattracker.dto.LiveSetStateDTO;
+import com.zacharyscheer.volleyballstattracker.models.ScoringAction;
+import com.zacharyscheer.volleyballstattracker.models.StatLine;
+
+/**
+ * The action an undo or redo applied, and what it changed: the player's StatLine for a stat tap,
+ * or the set's scoreboard for a point (the other one is null).
+ */
+public record UndoResult(ScoringAction action, StatLine statLine, LiveSetStateDTO set) {
+}
@@ -0,0 +1,17 @@
+-- ----------------------------------------------------
+-- V10: Stat log position counters in their own table
+-- ----------------------------------------------------
+-- V9 kept each set's last event position on the sets row, so every tap locked that row until commit
+-- and queued behind (and blocked) the set's score writes. The counter now has a row of its own that only
+-- the stat log touches. Rows are created by a set's first event; deleting the set deletes its counter.
+
+CREATE TABLE IF NOT EXISTS stat_event_set_counter (
+    set_id        bigint PRIMARY KEY REFERENCES sets (id) ON DELETE CASCADE,
+    last_position bigint NOT NULL DEFAULT 0
+);
+
+INSERT INTO stat_event_set_counter (set_id, last_position)
+SELECT id, last_event_position FROM sets WHERE last_event_position > 0
+ON CONFLICT (set_id) DO NOTHING;
+
+ALTER TABLE sets DROP COLUMN IF EXISTS last_event_position;
@@ -0,0 +1,22 @@
+-- ----------------------------------------------------
+-- V11: Dead letters of the write-behind stat buffer
+-- ----------------------------------------------------
+-- Taps the write-behind buffer has acknowledged but could not write in stats.write-behind.max-attempts
+-- flushes are kept here instead of being dropped, so they can be replayed into the stat log once the
+-- cause is fixed (see LiveStatBuffer.replayDeadLetters). Plain ids without foreign keys: a missing set
+-- or player row is one of the reasons an event ends up here.
+
+CREATE TABLE IF NOT EXISTS stat_event_dead_letter (
+    id                bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    set_id            bigint NOT NULL,
+    player_id         integer NOT NULL,
+    event_type        varchar(255) NOT NULL,
+    rating            integer,
+    recorded_at       timestamp(6) with time zone NOT NULL,
+    client_event_id   uuid,
+    reversal          boolean NOT NULL DEFAULT false,
+    failure           varchar(1000),
+    dead_lettered_at  timestamp(6) with time zone NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_stat_event_dead_letter_set ON stat_event_dead_letter (set_id, id);
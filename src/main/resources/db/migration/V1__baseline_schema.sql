@@ -0,0 +1,102 @@
+-- ----------------------------------------------------
+-- V1: Baseline schema
+-- ----------------------------------------------------
+-- The schema as Hibernate's ddl-auto=update produced it before migrations were introduced.
+-- Every statement is idempotent: on a fresh database it creates everything, and on an existing
+-- database (baselined at version 0) it only adds what an older deployment is missing.
+
+CREATE TABLE IF NOT EXISTS _user (
+    id                integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email             varchar(255) NOT NULL UNIQUE,
+    password          varchar(255) NOT NULL,
+    token_version     integer NOT NULL DEFAULT 0
+);
+ALTER TABLE _user ADD COLUMN IF NOT EXISTS token_version integer NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS players (
+    id                integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name              varchar(255) NOT NULL,
+    number            integer NOT NULL UNIQUE,
+    position          varchar(255),
+    user_id           integer REFERENCES _user (id)
+);
+
+CREATE TABLE IF NOT EXISTS match (
+    id                 bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    opponent_team      varchar(255) NOT NULL,
+    match_date         date NOT NULL,
+    opponent_set_score integer NOT NULL DEFAULT 0,
+    home_set_score     integer NOT NULL DEFAULT 0,
+    user_id            integer NOT NULL REFERENCES _user (id)
+);
+
+CREATE TABLE IF NOT EXISTS sets (
+    id                bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    set_number        integer NOT NULL,
+    home_score        integer NOT NULL,
+    opponent_score    integer NOT NULL,
+    match_id          bigint NOT NULL REFERENCES match (id)
+);
+
+CREATE TABLE IF NOT EXISTS stat_line (
+    id                  uuid PRIMARY KEY,
+    player_id           integer NOT NULL REFERENCES players (id),
+    set_id              bigint NOT NULL REFERENCES sets (id),
+    is_starter          boolean NOT NULL DEFAULT false,
+    attack_attempts   integer NOT NULL DEFAULT 0,
+    kills             integer NOT NULL DEFAULT 0,
+    kill_errors       integer NOT NULL DEFAULT 0,
+    three_pass        integer NOT NULL DEFAULT 0,
+    two_pass          integer NOT NULL DEFAULT 0,
+    one_pass          integer NOT NULL DEFAULT 0,
+    zero_pass         integer NOT NULL DEFAULT 0,
+    service_attempt   integer NOT NULL DEFAULT 0,
+    service_error     integer NOT NULL DEFAULT 0,
+    service_ace       integer NOT NULL DEFAULT 0,
+    digs              integer NOT NULL DEFAULT 0,
+    dig_error         integer NOT NULL DEFAULT 0,
+    blocks            integer NOT NULL DEFAULT 0,
+    block_error       integer NOT NULL DEFAULT 0,
+    set_attempts      integer NOT NULL DEFAULT 0,
+    set_error         integer NOT NULL DEFAULT 0,
+    assists           integer NOT NULL DEFAULT 0,
+    last_event_sequence bigint
+);
+ALTER TABLE stat_line ADD COLUMN IF NOT EXISTS last_event_sequence bigint;
+
+-- Append-only stat log; IDs come from a sequence so inserts can be batched
+CREATE SEQUENCE IF NOT EXISTS stat_event_seq START WITH 1 INCREMENT BY 50;
+CREATE TABLE IF NOT EXISTS stat_event (
+    sequence          bigint PRIMARY KEY,
+    set_id            bigint NOT NULL,
+    player_id         integer NOT NULL,
+    event_type        varchar(255) NOT NULL,
+    rating            integer,
+    recorded_at       timestamp(6) with time zone NOT NULL
+);
+
+-- Materialized per-match totals; player_id is null for the team row
+CREATE SEQUENCE IF NOT EXISTS match_stat_totals_seq START WITH 1 INCREMENT BY 50;
+CREATE TABLE IF NOT EXISTS match_stat_totals (
+    id                bigint PRIMARY KEY,
+    match_id          bigint NOT NULL,
+    player_id         integer,
+    attack_attempts   integer NOT NULL DEFAULT 0,
+    kills             integer NOT NULL DEFAULT 0,
+    kill_errors       integer NOT NULL DEFAULT 0,
+    three_pass        integer NOT NULL DEFAULT 0,
+    two_pass          integer NOT NULL DEFAULT 0,
+    one_pass          integer NOT NULL DEFAULT 0,
+    zero_pass         integer NOT NULL DEFAULT 0,
+    service_attempt   integer NOT NULL DEFAULT 0,
+    service_error     integer NOT NULL DEFAULT 0,
+    service_ace       integer NOT NULL DEFAULT 0,
+    digs              integer NOT NULL DEFAULT 0,
+    dig_error         integer NOT NULL DEFAULT 0,
+    blocks            integer NOT NULL DEFAULT 0,
+    block_error       integer NOT NULL DEFAULT 0,
+    set_attempts      integer NOT NULL DEFAULT 0,
+    set_error         integer NOT NULL DEFAULT 0,
+    assists           integer NOT NULL DEFAULT 0,
+    CONSTRAINT uk_match_stat_totals_match_player UNIQUE (match_id, player_id)
+);
@@ -0,0 +1,33 @@
+-- ----------------------------------------------------
+-- V2: StatLine lookup indexes and one StatLine per player per set
+-- ----------------------------------------------------
+
+-- 1. Drop duplicate StatLines (a roster that listed a player twice) so the unique constraint below can be created.
+--    Duplicates hold identical counters: the single-row lookup failed on them, and the atomic counter UPDATE
+--    (WHERE set_id = ? AND player_id = ?) incremented every copy the same way. Keeping one row loses nothing.
+DELETE FROM stat_line s
+USING (
+    SELECT set_id, player_id, MIN(id::text)::uuid AS keep_id
+    FROM stat_line
+    GROUP BY set_id, player_id
+    HAVING COUNT(*) > 1
+) dup
+WHERE s.set_id = dup.set_id
+  AND s.player_id = dup.player_id
+  AND s.id <> dup.keep_id;
+
+-- 2. findBySetIdAndPlayerId (every stat tap) and the atomic counter UPDATE: a unique index lookup.
+--    Its set_id prefix also serves findBySetMatchId / findBySetIdIn after the sets join.
+ALTER TABLE stat_line ADD CONSTRAINT uk_stat_line_set_player UNIQUE (set_id, player_id);
+
+-- 3. findByPlayerIdAndSetMatchId: a player's StatLines, narrowed to the match's sets
+CREATE INDEX IF NOT EXISTS idx_stat_line_player_set ON stat_line (player_id, set_id);
+
+-- 4. Set -> match joins (every totals query); including id makes the join index-only
+CREATE INDEX IF NOT EXISTS idx_sets_match_id ON sets (match_id, id);
+
+-- 5. Play-by-play reads: a set's events after a given sequence
+CREATE INDEX IF NOT EXISTS idx_stat_event_set_sequence ON stat_event (set_id, sequence);
+
+-- 6. Keyset-paginated match history (declared on the Match entity)
+CREATE INDEX IF NOT EXISTS idx_match_user_date_id ON match (user_id, match_date, id);
@@ -0,0 +1,22 @@
+-- ----------------------------------------------------
+-- V3: Denormalized match_id on stat_line
+-- ----------------------------------------------------
+-- Match and season totals used to reach the match through sets (stat_line -> sets -> match).
+-- Copying the match ID onto every StatLine lets them read stat_line alone with a range scan.
+
+-- 1. Add the column, nullable until the existing rows are filled in
+ALTER TABLE stat_line ADD COLUMN IF NOT EXISTS match_id bigint;
+
+-- 2. Backfill from each StatLine's set
+UPDATE stat_line sl
+SET match_id = s.match_id
+FROM sets s
+WHERE s.id = sl.set_id
+  AND sl.match_id IS NULL;
+
+-- 3. Every StatLine belongs to a set, and every set to a match, so nothing is left null
+ALTER TABLE stat_line ALTER COLUMN match_id SET NOT NULL;
+ALTER TABLE stat_line ADD CONSTRAINT fk_stat_line_match FOREIGN KEY (match_id) REFERENCES match (id);
+
+-- 4. findByMatchId and the per-match sums; player_id second serves the per-player match total and its GROUP BY
+CREATE INDEX IF NOT EXISTS idx_stat_line_match_player ON stat_line (match_id, player_id);
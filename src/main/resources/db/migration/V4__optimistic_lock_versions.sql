@@ -0,0 +1,8 @@
+-- ----------------------------------------------------
+-- V4: Optimistic lock versions on sets and stat_line
+-- ----------------------------------------------------
+-- Existing rows start at version 0. The atomic score and counter UPDATEs bump the version themselves,
+-- so a versioned write based on an older read fails instead of undoing them.
+
+ALTER TABLE sets ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+ALTER TABLE stat_line ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
@@ -0,0 +1,14 @@
+-- ----------------------------------------------------
+-- V5: Live set state (serving team, rotation, completion)
+-- ----------------------------------------------------
+-- Written back by the in-memory live set engine. Existing sets have no known server and start in rotation 1.
+-- A set already at 25 (15 in the fifth) with a 2-point lead is marked completed.
+
+ALTER TABLE sets ADD COLUMN IF NOT EXISTS serving_team varchar(16);
+ALTER TABLE sets ADD COLUMN IF NOT EXISTS home_rotation integer NOT NULL DEFAULT 1;
+ALTER TABLE sets ADD COLUMN IF NOT EXISTS completed boolean NOT NULL DEFAULT false;
+
+UPDATE sets
+SET completed = true
+WHERE GREATEST(home_score, opponent_score) >= CASE WHEN set_number = 5 THEN 15 ELSE 25 END
+  AND ABS(home_score - opponent_score) >= 2;
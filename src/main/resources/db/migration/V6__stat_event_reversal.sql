@@ -0,0 +1,6 @@
+-- ----------------------------------------------------
+-- V6: Reversal flag on the stat log (undo)
+-- ----------------------------------------------------
+-- An undo appends a reversal event that negates an earlier event's counters; the log stays append-only.
+
+ALTER TABLE stat_event ADD COLUMN IF NOT EXISTS reversal boolean NOT NULL DEFAULT false;
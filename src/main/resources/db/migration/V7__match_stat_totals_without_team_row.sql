@@ -0,0 +1,9 @@
+-- ----------------------------------------------------
+-- V7: Drop the team row from match_stat_totals
+-- ----------------------------------------------------
+-- Team totals are now summed from the player rows on read. The team row (player_id IS NULL) was a single hot row
+-- that every tap in a match had to lock, and UNIQUE (match_id, player_id) never stopped duplicate NULL rows.
+
+DELETE FROM match_stat_totals WHERE player_id IS NULL;
+
+ALTER TABLE match_stat_totals ALTER COLUMN player_id SET NOT NULL;
@@ -0,0 +1,8 @@
+-- ----------------------------------------------------
+-- V8: Client event ids on the stat log (WebSocket retries)
+-- ----------------------------------------------------
+-- A scoring device resends any tap it has no ack for, with the id it generated for the tap.
+-- The unique constraint records a resent tap once. REST taps have no id, and NULLs never conflict.
+
+ALTER TABLE stat_event ADD COLUMN IF NOT EXISTS client_event_id uuid;
+ALTER TABLE stat_event ADD CONSTRAINT uk_stat_event_client_event_id UNIQUE (client_event_id);
@@ -0,0 +1,22 @@
+-- ----------------------------------------------------
+-- V9: Per-set positions on the stat log (play-by-play cursor)
+-- ----------------------------------------------------
+-- The sequence primary key is allocated in blocks of 50, so a newer event can commit with a lower
+-- sequence and a client polling with after=<last sequence> would skip it. Each set now numbers its
+-- events 1, 2, 3... under a lock on the set's row, so positions commit in order and without gaps.
+
+ALTER TABLE sets ADD COLUMN IF NOT EXISTS last_event_position bigint NOT NULL DEFAULT 0;
+ALTER TABLE stat_event ADD COLUMN IF NOT EXISTS set_position bigint;
+
+-- Existing events keep their sequence order
+UPDATE stat_event e
+SET set_position = numbered.position
+FROM (SELECT sequence, ROW_NUMBER() OVER (PARTITION BY set_id ORDER BY sequence) AS position
+      FROM stat_event) numbered
+WHERE e.sequence = numbered.sequence;
+
+UPDATE sets s
+SET last_event_position = (SELECT COALESCE(MAX(e.set_position), 0) FROM stat_event e WHERE e.set_id = s.id);
+
+ALTER TABLE stat_event ALTER COLUMN set_position SET NOT NULL;
+ALTER TABLE stat_event ADD CONSTRAINT uk_stat_event_set_position UNIQUE (set_id, set_position);
@@ -0,0 +1,78 @@
+package com.zacharyscheer.volleyballstattracker;
+
+import com.zacharyscheer.volleyballstattracker.Security.JwtService;
+import com.zacharyscheer.volleyballstattracker.config.MetricsSupport;
+import com.zacharyscheer.volleyballstattracker.models.User;
+import com.zacharyscheer.volleyballstattracker.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The Actuator endpoints: health is open, the Prometheus scrape needs the scrape credentials and exports the timers.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+// Tests switch metrics export off by default; this brings the Prometheus registry back
+@AutoConfigureObservability
+@ActiveProfiles("test")
+public class ActuatorSecurityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void health_shouldBeOpen() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void prometheus_shouldRejectAnonymousWrongPasswordAndCoachTokens() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "guess")))
+                .andExpect(status().isUnauthorized());
+
+        // A coach's API token is not a scrape credential
+        User coach = userRepository.save(User.builder()
+                .email("coach-" + UUID.randomUUID() + "@example.com")
+                .password("{noop}password")
+                .build());
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer " + jwtService.generateToken(coach)))
+                .andExpect(status().is4xxClientError());
+    }
+
+    @Test
+    void prometheus_withTheScrapeCredentials_shouldExportTheTimers() throws Exception {
+        // Arrange
+        MetricsSupport.time(meterRegistry, MetricsSupport.STAT_RECORD, () -> "ok", "event_type", "KILL");
+
+        // Act & Assert
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "test-scrape-password")))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("stats_record_seconds_count{")));
+    }
+}
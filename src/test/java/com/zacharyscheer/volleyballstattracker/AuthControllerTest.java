@@ -6,7 +6,9 @@ import com.zacharyscheer.volleyballstattracker.dto.AuthenticationResponse;
 import com.zacharyscheer.volleyballstattracker.dto.LoginRequest;
 import com.zacharyscheer.volleyballstattracker.dto.RegisterRequest;
 import com.zacharyscheer.volleyballstattracker.Security.JwtService;
+import com.zacharyscheer.volleyballstattracker.Security.PrincipalCache;
 import com.zacharyscheer.volleyballstattracker.service.AuthenticationService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
@@ -52,6 +54,12 @@ public class AuthControllerTest {
     @MockBean
     private UserDetailsService userDetailsService;
 
+    @MockBean
+    private PrincipalCache principalCache;
+
+    @MockBean // The JWT filter times token parsing; no request here carries a Bearer token
+    private MeterRegistry meterRegistry;
+
     @MockBean // CRITICAL FIX: Required to correctly process unauthenticated requests (401)
     private AuthenticationManager authenticationManager;
 
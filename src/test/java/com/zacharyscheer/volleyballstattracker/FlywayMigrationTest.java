@@ -0,0 +1,52 @@
+package com.zacharyscheer.volleyballstattracker;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Applies every Flyway migration to an empty PostgreSQL and starts the app on it with ddl-auto=validate,
+ * exactly as production does. The rest of the suite runs on an H2 schema built from the entities, so this is
+ * the only test that catches a migration that fails on PostgreSQL or no longer matches the entities.
+ * Needs Docker; skipped where it is not available.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.datasource.driver-class-name=org.postgresql.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect"
+})
+public class FlywayMigrationTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private Flyway flyway;
+
+    @Test
+    void migrations_shouldApplyToAnEmptyDatabaseAndMatchTheEntities() {
+        // The context only starts if Hibernate validated the migrated schema against every entity
+        MigrationInfo[] applied = flyway.info().applied();
+        assertTrue(applied.length > 0);
+        assertEquals(0, flyway.info().pending().length);
+        for (MigrationInfo migration : applied) {
+            assertTrue(migration.getState().isApplied() && !migration.getState().isFailed(),
+                    () -> migration.getScript() + " did not apply: " + migration.getState());
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.zacharyscheer.volleyballstattracker;
+
+import com.zacharyscheer.volleyballstattracker.Security.JwtAuthenticationFilter;
+import com.zacharyscheer.volleyballstattracker.Security.JwtService;
+import com.zacharyscheer.volleyballstattracker.Security.PrincipalCache;
+import com.zacharyscheer.volleyballstattracker.Security.TokenPrincipal;
+import com.zacharyscheer.volleyballstattracker.models.User;
+import com.zacharyscheer.volleyballstattracker.repository.UserRepository;
+import com.zacharyscheer.volleyballstattracker.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the JwtAuthenticationFilter and the PrincipalCache behind it:
+ * a request verifies its token once and only loads the user when the principal is not cached.
+ */
+public class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "dm9sbGV5YmFsbC1zdGF0LXRyYWNrZXItdGVzdC1rZXk=";
+    private static final String TEST_EMAIL = "coach@gcu.edu";
+
+    private JwtService jwtService;
+    private UserDetailsService userDetailsService;
+    private PrincipalCache principalCache;
+    private JwtAuthenticationFilter filter;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "secretKey", SECRET);
+        ReflectionTestUtils.setField(service, "jwtExpiration", 60_000L);
+        ReflectionTestUtils.setField(service, "keyId", "primary");
+        ReflectionTestUtils.setField(service, "verificationKeys", "");
+        service.init();
+        jwtService = spy(service);
+
+        testUser = User.builder()
+                .id(1)
+                .email(TEST_EMAIL)
+                .password("encoded_password")
+                .build();
+        userDetailsService = mock(UserDetailsService.class);
+        when(userDetailsService.loadUserByUsername(TEST_EMAIL)).thenReturn(testUser);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        principalCache = new PrincipalCache(meterRegistry, 100, 60);
+        filter = new JwtAuthenticationFilter(jwtService, userDetailsService, principalCache, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_shouldParseClaimsOnce_andAuthenticateFromThem() throws Exception {
+        // Arrange
+        String token = jwtService.generateToken(testUser);
+
+        // Act
+        Authentication authentication = authenticate(token);
+
+        // Assert
+        assertNotNull(authentication);
+        TokenPrincipal principal = assertInstanceOf(TokenPrincipal.class, authentication.getPrincipal());
+        assertEquals(1, principal.userId());
+        assertEquals(TEST_EMAIL, principal.getUsername());
+        verify(jwtService, times(1)).parseClaims(token);
+        verify(jwtService, never()).extractUsername(anyString());
+        verify(jwtService, never()).isTokenValid(anyString(), any(UserDetails.class));
+    }
+
+    @Test
+    void doFilter_shouldLoadUserOnce_whenPrincipalIsCached() throws Exception {
+        // Arrange
+        String token = jwtService.generateToken(testUser);
+
+        // Act
+        Authentication first = authenticate(token);
+        Authentication second = authenticate(token);
+
+        // Assert
+        assertNotNull(first);
+        assertNotNull(second);
+        verify(userDetailsService, times(1)).loadUserByUsername(TEST_EMAIL);
+    }
+
+    @Test
+    void doFilter_shouldNotAuthenticate_whenCachedVersionIsNewerThanToken() throws Exception {
+        // Arrange
+        String token = jwtService.generateToken(testUser);
+        testUser.setTokenVersion(1);
+
+        // Act
+        Authentication authentication = authenticate(token);
+
+        // Assert
+        assertNull(authentication);
+    }
+
+    @Test
+    void updateEmail_shouldEvictCachedPrincipalOnlyAfterCommit() {
+        // Arrange
+        UserRepository userRepository = mock(UserRepository.class);
+        UserService userService = new UserService(userRepository, mock(PasswordEncoder.class), principalCache);
+        when(userRepository.updateEmail(TEST_EMAIL, "new@gcu.edu")).thenReturn(1);
+        AtomicInteger loads = new AtomicInteger();
+        principalCache.get(TEST_EMAIL, email -> load(loads));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            userService.updateEmail(TEST_EMAIL, "new@gcu.edu");
+
+            // Assert
+            // Still cached until the transaction commits
+            principalCache.get(TEST_EMAIL, email -> load(loads));
+            assertEquals(1, loads.get());
+
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        principalCache.get(TEST_EMAIL, email -> load(loads));
+        assertEquals(2, loads.get());
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/players");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private TokenPrincipal load(AtomicInteger loads) {
+        loads.incrementAndGet();
+        return TokenPrincipal.from(testUser);
+    }
+}
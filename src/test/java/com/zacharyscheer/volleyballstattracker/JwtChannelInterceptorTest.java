@@ -0,0 +1,110 @@
+package com.zacharyscheer.volleyballstattracker;
+
+import com.zacharyscheer.volleyballstattracker.Security.JwtChannelInterceptor;
+import com.zacharyscheer.volleyballstattracker.Security.JwtService;
+import com.zacharyscheer.volleyballstattracker.models.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.MalformedJwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for JwtChannelInterceptor: only a STOMP session that sends a valid JWT on CONNECT gets a user.
+ */
+@ExtendWith(MockitoExtension.class)
+public class JwtChannelInterceptorTest {
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Mock
+    private MessageChannel channel;
+
+    private JwtChannelInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        interceptor = new JwtChannelInterceptor(jwtService, userDetailsService);
+    }
+
+    @Test
+    void connect_withoutAToken_shouldBeRejected() {
+        assertThrows(MessagingException.class, () -> interceptor.preSend(frame(StompCommand.CONNECT, null), channel));
+        verifyNoInteractions(jwtService, userDetailsService);
+    }
+
+    @Test
+    void connect_withAnInvalidToken_shouldBeRejected() {
+        // Arrange
+        when(jwtService.parseClaims("forged")).thenThrow(new MalformedJwtException("bad signature"));
+
+        // Act & Assert
+        assertThrows(MessagingException.class,
+                () -> interceptor.preSend(frame(StompCommand.CONNECT, "Bearer forged"), channel));
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void connect_withATokenForAnOutdatedPassword_shouldBeRejected() {
+        // Arrange
+        Claims claims = mock(Claims.class);
+        User coach = User.builder().email("coach@example.com").password("{noop}password").build();
+        when(jwtService.parseClaims("stale")).thenReturn(claims);
+        when(claims.getSubject()).thenReturn("coach@example.com");
+        when(userDetailsService.loadUserByUsername("coach@example.com")).thenReturn(coach);
+        when(jwtService.isTokenValid(claims, coach)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(MessagingException.class,
+                () -> interceptor.preSend(frame(StompCommand.CONNECT, "Bearer stale"), channel));
+    }
+
+    @Test
+    void connect_withAValidToken_shouldAuthenticateTheSession() {
+        // Arrange
+        Claims claims = mock(Claims.class);
+        User coach = User.builder().email("coach@example.com").password("{noop}password").build();
+        when(jwtService.parseClaims("valid")).thenReturn(claims);
+        when(claims.getSubject()).thenReturn("coach@example.com");
+        when(userDetailsService.loadUserByUsername("coach@example.com")).thenReturn(coach);
+        when(jwtService.isTokenValid(claims, coach)).thenReturn(true);
+
+        // Act
+        Message<?> message = interceptor.preSend(frame(StompCommand.CONNECT, "Bearer valid"), channel);
+
+        // Assert
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+        assertNotNull(accessor.getUser());
+        assertEquals("coach@example.com", accessor.getUser().getName());
+    }
+
+    @Test
+    void send_withoutAnAuthenticatedSession_shouldBeRejected() {
+        assertThrows(MessagingException.class, () -> interceptor.preSend(frame(StompCommand.SEND, null), channel));
+    }
+
+    private static Message<byte[]> frame(StompCommand command, String authorization) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        if (authorization != null) {
+            accessor.setNativeHeader("Authorization", authorization);
+        }
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
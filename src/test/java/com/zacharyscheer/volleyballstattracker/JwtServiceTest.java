@@ -0,0 +1,226 @@
+package com.zacharyscheer.volleyballstattracker;
+
+import com.zacharyscheer.volleyballstattracker.Security.JwtService;
+import com.zacharyscheer.volleyballstattracker.Security.PrincipalCache;
+import com.zacharyscheer.volleyballstattracker.Security.TokenPrincipal;
+import com.zacharyscheer.volleyballstattracker.dto.PasswordChangeRequest;
+import com.zacharyscheer.volleyballstattracker.models.User;
+import com.zacharyscheer.volleyballstattracker.repository.UserRepository;
+import com.zacharyscheer.volleyballstattracker.service.UserService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the JwtService's key handling: signing with the current key ID and verifying tokens signed
+ * with retired keys during a rotation, and revoking tokens through the user's token version.
+ */
+public class JwtServiceTest {
+
+    private static final String OLD_SECRET = "b2xkLXZvbGxleWJhbGwtc3RhdC10cmFja2VyLXNpZ25pbmcta2V5";
+    private static final String NEW_SECRET = "bmV3LXZvbGxleWJhbGwtc3RhdC10cmFja2VyLXNpZ25pbmcta2V5";
+    private static final String TEST_EMAIL = "coach@gcu.edu";
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = User.builder()
+                .id(1)
+                .email(TEST_EMAIL)
+                .password("encoded_password")
+                .build();
+    }
+
+    @Test
+    void parseClaims_shouldAcceptTokenSignedWithRotatedKey_whenListedAsVerificationKey() {
+        // Arrange
+        String token = jwtService("old", OLD_SECRET, "").generateToken(testUser);
+        JwtService rotated = jwtService("new", NEW_SECRET, "old:" + OLD_SECRET);
+
+        // Act
+        Claims claims = rotated.parseClaims(token);
+
+        // Assert
+        assertEquals(TEST_EMAIL, claims.getSubject());
+        assertTrue(rotated.isTokenValid(claims, testUser));
+    }
+
+    @Test
+    void parseClaims_shouldRejectTokenWithUnknownKeyId() {
+        // Arrange
+        String token = jwtService("old", OLD_SECRET, "").generateToken(testUser);
+        JwtService rotated = jwtService("new", NEW_SECRET, "");
+
+        // Act & Assert
+        assertThrows(UnsupportedJwtException.class, () -> rotated.parseClaims(token));
+    }
+
+    @Test
+    void parseClaims_shouldRejectTokenWhoseKeyIdDoesNotMatchItsSignature() {
+        // Arrange
+        // Signed with the new secret but claiming to be from the old key
+        String forged = Jwts.builder()
+                .setHeaderParam("kid", "old")
+                .setSubject(TEST_EMAIL)
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(NEW_SECRET)), SignatureAlgorithm.HS256)
+                .compact();
+        JwtService rotated = jwtService("new", NEW_SECRET, "old:" + OLD_SECRET);
+
+        // Act & Assert
+        assertThrows(SignatureException.class, () -> rotated.parseClaims(forged));
+    }
+
+    @Test
+    void parseClaims_shouldAcceptLegacyTokenWithoutKeyId_whenSignedWithCurrentKey() {
+        // Arrange
+        String legacy = Jwts.builder()
+                .setSubject(TEST_EMAIL)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(NEW_SECRET)), SignatureAlgorithm.HS256)
+                .compact();
+        JwtService service = jwtService("new", NEW_SECRET, "old:" + OLD_SECRET);
+
+        // Act
+        Claims claims = service.parseClaims(legacy);
+
+        // Assert
+        assertEquals(TEST_EMAIL, claims.getSubject());
+        assertTrue(service.isTokenValid(claims, testUser));
+    }
+
+    @Test
+    void generateToken_shouldWriteCurrentKeyIdToHeader() {
+        // Arrange
+        JwtService service = jwtService("new", NEW_SECRET, "old:" + OLD_SECRET);
+
+        // Act
+        String token = service.generateToken(testUser);
+
+        // Assert
+        String kid = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(NEW_SECRET)))
+                .build()
+                .parseClaimsJws(token)
+                .getHeader()
+                .getKeyId();
+        assertEquals("new", kid);
+    }
+
+    @Test
+    void init_shouldRejectMalformedVerificationKeys() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> jwtService("new", NEW_SECRET, OLD_SECRET));
+        assertThrows(IllegalArgumentException.class, () -> jwtService("new", NEW_SECRET, "new:" + OLD_SECRET));
+    }
+
+    @Test
+    void isTokenValid_shouldRejectTokenIssuedBeforePasswordChange() {
+        // Arrange
+        JwtService service = jwtService("new", NEW_SECRET, "");
+        UserRepository userRepository = mock(UserRepository.class);
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        UserService userService = new UserService(userRepository, passwordEncoder, mock(PrincipalCache.class));
+        when(userRepository.findById(1)).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.encode("new_password")).thenReturn("encoded_new_password");
+        PasswordChangeRequest request = new PasswordChangeRequest();
+        request.setCurrentPassword("old_password");
+        request.setNewPassword("new_password");
+
+        Claims before = service.parseClaims(service.generateToken(testUser));
+
+        // Act
+        userService.changePassword(1L, request);
+        Claims after = service.parseClaims(service.generateToken(testUser));
+
+        // Assert
+        assertEquals(0, before.get(JwtService.CLAIM_TOKEN_VERSION, Integer.class));
+        assertFalse(service.isTokenValid(before, testUser));
+        assertFalse(service.isTokenValid(before, TokenPrincipal.from(testUser)));
+        assertTrue(service.isTokenValid(after, testUser));
+        assertTrue(service.isTokenValid(after, TokenPrincipal.from(testUser)));
+    }
+
+    @Test
+    void extractPrincipal_shouldReadUserIdAuthoritiesAndVersionFromClaims() {
+        // Arrange
+        JwtService service = jwtService("new", NEW_SECRET, "");
+        testUser.setTokenVersion(3);
+
+        // Act
+        TokenPrincipal principal = service.extractPrincipal(service.parseClaims(service.generateToken(testUser)));
+
+        // Assert
+        assertNotNull(principal);
+        assertEquals(1, principal.userId());
+        assertEquals(TEST_EMAIL, principal.getUsername());
+        assertEquals(3, principal.tokenVersion());
+        assertEquals(List.copyOf(testUser.getAuthorities()), principal.getAuthorities());
+    }
+
+    @Test
+    void tokenWithoutUserClaims_shouldFallBackToLoadedPrincipalAndVersionZero() {
+        // Arrange
+        // Issued before the uid, authorities and ver claims were added
+        JwtService service = jwtService("new", NEW_SECRET, "");
+        String legacy = Jwts.builder()
+                .setHeaderParam("kid", "new")
+                .setSubject(TEST_EMAIL)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(NEW_SECRET)), SignatureAlgorithm.HS256)
+                .compact();
+        Claims claims = service.parseClaims(legacy);
+
+        // Act
+        TokenPrincipal principal = service.extractPrincipal(claims);
+
+        // Assert
+        assertNull(principal);
+        assertTrue(service.isTokenValid(claims, testUser));
+        testUser.setTokenVersion(1);
+        assertFalse(service.isTokenValid(claims, testUser));
+    }
+
+    @Test
+    void isStreamTokenValid_shouldRejectAnExpiredStreamToken() {
+        // Arrange
+        // Stream tokens end up in access logs, so an old one from a log must not open the stream again
+        JwtService service = jwtService("new", NEW_SECRET, "");
+        String live = service.generateStreamToken(TEST_EMAIL, 5L);
+        ReflectionTestUtils.setField(service, "streamTokenExpiration", -1_000L);
+        String expired = service.generateStreamToken(TEST_EMAIL, 5L);
+
+        // Act & Assert
+        assertTrue(service.isStreamTokenValid(live, 5L));
+        assertFalse(service.isStreamTokenValid(expired, 5L));
+    }
+
+    private static JwtService jwtService(String keyId, String secretKey, String verificationKeys) {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "secretKey", secretKey);
+        ReflectionTestUtils.setField(service, "jwtExpiration", 60_000L);
+        ReflectionTestUtils.setField(service, "streamTokenExpiration", 60_000L);
+        ReflectionTestUtils.setField(service, "keyId", keyId);
+        ReflectionTestUtils.setField(service, "verificationKeys", verificationKeys);
+        service.init();
+        return service;
+    }
+}
@@ -0,0 +1,80 @@
+package com.zacharyscheer.volleyballstattracker;
+
+import com.zacharyscheer.volleyballstattracker.dto.LiveMatchUpdateDTO;
+import com.zacharyscheer.volleyballstattracker.service.statLineServices.LiveMatchBroadcaster;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LiveMatchBroadcaster's subscriber bookkeeping (the stream itself is covered by LiveMatchStreamTest).
+ */
+public class LiveMatchBroadcasterTest {
+
+    private LiveMatchBroadcaster broadcaster;
+
+    private final Long MATCH_ID = 5L;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = new LiveMatchBroadcaster(2, 60_000, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void subscribe_shouldOnlyRegisterTheSubscriberForItsMatch() {
+        // Act
+        broadcaster.subscribe(MATCH_ID);
+
+        // Assert
+        assertTrue(broadcaster.hasSubscribers(MATCH_ID));
+        assertFalse(broadcaster.hasSubscribers(6L));
+        assertFalse(broadcaster.hasSubscribers(null));
+    }
+
+    @Test
+    void publish_toACompletedStream_shouldRemoveTheSubscriber() throws Exception {
+        // Arrange: the client has gone away
+        SseEmitter emitter = broadcaster.subscribe(MATCH_ID);
+        emitter.complete();
+
+        // Act
+        broadcaster.publishAfterCommit(update());
+
+        // Assert: the failed send removes it
+        awaitNoSubscribers();
+    }
+
+    @Test
+    void publish_toASubscriberThatFallsBehind_shouldDisconnectIt() throws Exception {
+        // Arrange: a client that never reads (the emitter is not attached to a response, so nothing is sent)
+        broadcaster.subscribe(MATCH_ID);
+
+        // Act: more updates than its queue holds
+        for (int i = 0; i < 10; i++) {
+            broadcaster.publishAfterCommit(update());
+        }
+
+        // Assert
+        awaitNoSubscribers();
+    }
+
+    private LiveMatchUpdateDTO update() {
+        return LiveMatchUpdateDTO.builder().matchId(MATCH_ID).homeScore(1).opponentScore(0).build();
+    }
+
+    private void awaitNoSubscribers() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (broadcaster.hasSubscribers(MATCH_ID) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse(broadcaster.hasSubscribers(MATCH_ID));
+    }
+}
@@ -0,0 +1,173 @@
+package com.zacharyscheer.volleyballstattracker;
+
+import com.zacharyscheer.volleyballstattracker.Security.JwtService;
+import com.zacharyscheer.volleyballstattracker.dto.LiveMatchUpdateDTO;
+import com.zacharyscheer.volleyballstattracker.models.Match;
+import com.zacharyscheer.volleyballstattracker.models.User;
+import com.zacharyscheer.volleyballstattracker.repository.MatchRepository;
+import com.zacharyscheer.volleyballstattracker.repository.UserRepository;
+import com.zacharyscheer.volleyballstattracker.service.statLineServices.LiveMatchBroadcaster;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The live match stream end to end: stream tokens, owner-only access, subscribing, receiving broadcasts
+ * and cleanup on timeout.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class LiveMatchStreamTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private LiveMatchBroadcaster liveMatchBroadcaster;
+
+    private User coach;
+    private Long matchId;
+
+    @BeforeEach
+    void setUp() {
+        coach = coach();
+        // A fresh match per test, so no subscriber is left over from another test
+        Match match = new Match();
+        match.setOpponentTeam("Rivals");
+        match.setMatchDate(LocalDate.now());
+        match.setHomeSetScore(0);
+        match.setOpponentSetScore(0);
+        match.setUser(coach);
+        matchId = matchRepository.save(match).getId();
+    }
+
+    @Test
+    void streamToken_shouldBeIssuedToAnAuthenticatedCoach() throws Exception {
+        mockMvc.perform(post("/api/stats/match/{matchId}/stream-token", matchId)
+                        .header("Authorization", "Bearer " + jwtService.generateToken(coach)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").isString())
+                .andExpect(jsonPath("$.expiresInSeconds").value(300));
+    }
+
+    @Test
+    void streamAccess_shouldBeRefusedToAnotherCoach_andMissingMatchesShouldBeNotFound() throws Exception {
+        String otherCoach = "Bearer " + jwtService.generateToken(coach());
+
+        mockMvc.perform(post("/api/stats/match/{matchId}/stream-token", matchId)
+                        .header("Authorization", otherCoach))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/stats/match/{matchId}/stream", matchId)
+                        .header("Authorization", otherCoach))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/stats/match/{matchId}/stream-token", Long.MAX_VALUE)
+                        .header("Authorization", otherCoach))
+                .andExpect(status().isNotFound());
+        assertFalse(liveMatchBroadcaster.hasSubscribers(matchId));
+
+        // The owner can open it with the bearer token too
+        mockMvc.perform(get("/api/stats/match/{matchId}/stream", matchId)
+                        .header("Authorization", "Bearer " + jwtService.generateToken(coach)))
+                .andExpect(request().asyncStarted());
+        assertTrue(liveMatchBroadcaster.hasSubscribers(matchId));
+    }
+
+    @Test
+    void stream_shouldRejectAMissingTokenAnApiTokenAndAnotherMatchesToken() throws Exception {
+        mockMvc.perform(get("/api/stats/match/{matchId}/stream", matchId))
+                .andExpect(status().isUnauthorized());
+        // The long-lived API token must never be accepted in a URL
+        mockMvc.perform(get("/api/stats/match/{matchId}/stream", matchId)
+                        .param("token", jwtService.generateToken(coach)))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/stats/match/{matchId}/stream", matchId)
+                        .param("token", jwtService.generateStreamToken(coach.getEmail(), matchId + 1)))
+                .andExpect(status().isUnauthorized());
+        assertFalse(liveMatchBroadcaster.hasSubscribers(matchId));
+    }
+
+    @Test
+    void streamToken_shouldNotBeAcceptedAsAnApiToken() throws Exception {
+        mockMvc.perform(get("/api/stats/cache/stats")
+                        .header("Authorization", "Bearer " + jwtService.generateStreamToken(coach.getEmail(), matchId)))
+                .andExpect(status().is4xxClientError());
+    }
+
+    @Test
+    void stream_withAStreamToken_shouldReceiveBroadcastsUntilItTimesOut() throws Exception {
+        // Arrange: subscribe the way a browser EventSource does, with the token in the URL
+        MvcResult stream = mockMvc.perform(get("/api/stats/match/{matchId}/stream", matchId)
+                        .param("token", jwtService.generateStreamToken(coach.getEmail(), matchId)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertTrue(liveMatchBroadcaster.hasSubscribers(matchId));
+
+        // Act: a committed change is broadcast (no transaction here, so it is published right away)
+        liveMatchBroadcaster.publishAfterCommit(LiveMatchUpdateDTO.builder()
+                .matchId(matchId)
+                .setId(3L)
+                .playerId(7)
+                .changes(Map.of("kills", 1))
+                .build());
+
+        // Assert: the sender pool writes it to the stream
+        String body = awaitBody(stream, "\"kills\":1");
+        assertTrue(body.contains("event:update"), body);
+
+        // Act: the stream times out
+        MockAsyncContext asyncContext = (MockAsyncContext) stream.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+
+        // Assert: the subscriber is gone, so later updates are not even built for it
+        assertFalse(liveMatchBroadcaster.hasSubscribers(matchId));
+    }
+
+    private User coach() {
+        return userRepository.save(User.builder()
+                .email("coach-" + UUID.randomUUID() + "@example.com")
+                .password("{noop}password")
+                .build());
+    }
+
+    private static String awaitBody(MvcResult stream, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        String body = stream.getResponse().getContentAsString();
+        while (!body.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            body = stream.getResponse().getContentAsString();
+        }
+        assertTrue(body.contains(expected), body);
+        return body;
+    }
+}
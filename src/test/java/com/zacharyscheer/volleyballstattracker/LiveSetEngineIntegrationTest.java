@@ -0,0 +1,128 @@
+package com.zacharyscheer.volleyballstattracker;
+
+import com.zacharyscheer.volleyballstattracker.models.Match;
+import com.zacharyscheer.volleyballstattracker.models.ScoringAction;
+import com.zacharyscheer.volleyballstattracker.models.Set;
+import com.zacharyscheer.volleyballstattracker.models.Team;
+import com.zacharyscheer.volleyballstattracker.models.User;
+import com.zacharyscheer.volleyballstattracker.repository.MatchRepository;
+import com.zacharyscheer.volleyballstattracker.repository.SetRepository;
+import com.zacharyscheer.volleyballstattracker.repository.UserRepository;
+import com.zacharyscheer.volleyballstattracker.service.setService.LiveSetEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs LiveSetEngine against the H2 schema, so its write-back queries (saveLiveState, addToSetScore)
+ * are executed for real and the persisted sets and match rows are checked, not just the calls.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class LiveSetEngineIntegrationTest {
+
+    @Autowired
+    private LiveSetEngine liveSetEngine;
+
+    @Autowired
+    private SetRepository setRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Match match;
+
+    @BeforeEach
+    void setUp() {
+        User coach = userRepository.save(User.builder()
+                .email("coach-" + UUID.randomUUID() + "@example.com")
+                .password("{noop}password")
+                .build());
+        match = new Match();
+        match.setOpponentTeam("Rivals");
+        match.setMatchDate(LocalDate.now());
+        match.setHomeSetScore(0);
+        match.setOpponentSetScore(0);
+        match.setUser(coach);
+        match = matchRepository.save(match);
+    }
+
+    private Set newSet(int setNumber, int homeScore, int opponentScore) {
+        Set set = new Set();
+        set.setMatch(match);
+        set.setSetNumber(setNumber);
+        set.setHomeScore(homeScore);
+        set.setOpponentScore(opponentScore);
+        return setRepository.save(set);
+    }
+
+    @Test
+    void endingASet_shouldPersistTheSetAndTheMatchSetScore() {
+        // Arrange: 24-23, opponent serving, we are in rotation 6
+        Long setId = newSet(1, 24, 23).getId();
+        liveSetEngine.setServe(setId, Team.OPPONENT, 6);
+
+        // Act: the set point is written immediately
+        liveSetEngine.point(setId, Team.HOME);
+
+        // Assert
+        Set stored = setRepository.findById(setId).orElseThrow();
+        assertEquals(25, stored.getHomeScore());
+        assertEquals(23, stored.getOpponentScore());
+        assertEquals(Team.HOME, stored.getServingTeam());
+        assertEquals(1, stored.getHomeRotation());
+        assertTrue(stored.isCompleted());
+        Match storedMatch = matchRepository.findById(match.getId()).orElseThrow();
+        assertEquals(1, storedMatch.getHomeSetScore());
+        assertEquals(0, storedMatch.getOpponentSetScore());
+    }
+
+    @Test
+    void undoingTheSetPoint_shouldReopenTheSetAndTakeItOffTheMatchScore() {
+        // Arrange
+        Long setId = newSet(2, 23, 24).getId();
+        liveSetEngine.setServe(setId, Team.OPPONENT, 3);
+        liveSetEngine.point(setId, Team.OPPONENT);
+        assertEquals(1, matchRepository.findById(match.getId()).orElseThrow().getOpponentSetScore());
+
+        // Act
+        liveSetEngine.undoPoint(setId, new ScoringAction.Point(Team.OPPONENT, Team.OPPONENT, 3));
+        liveSetEngine.flush();
+
+        // Assert
+        Set stored = setRepository.findById(setId).orElseThrow();
+        assertEquals(24, stored.getOpponentScore());
+        assertFalse(stored.isCompleted());
+        assertEquals(0, matchRepository.findById(match.getId()).orElseThrow().getOpponentSetScore());
+    }
+
+    @Test
+    void flush_shouldPersistTheLiveScoreOfSetsInOtherMatchesAfterOneEnds() {
+        // Arrange: one set in progress, another about to end
+        Long playing = newSet(1, 10, 8).getId();
+        Long ending = newSet(3, 24, 20).getId();
+        liveSetEngine.point(playing, Team.HOME);
+
+        // Act
+        liveSetEngine.point(ending, Team.HOME);
+        liveSetEngine.point(playing, Team.OPPONENT);
+        liveSetEngine.flush();
+
+        // Assert
+        Set stored = setRepository.findById(playing).orElseThrow();
+        assertEquals(11, stored.getHomeScore());
+        assertEquals(9, stored.getOpponentScore());
+        assertEquals(Team.OPPONENT, stored.getServingTeam());
+        assertTrue(setRepository.findById(ending).orElseThrow().isCompleted());
+    }
+}
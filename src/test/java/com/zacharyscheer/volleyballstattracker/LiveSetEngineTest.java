@@ -0,0 +1,231 @@
+package com.zacharyscheer.volleyballstattracker;
+
+import com.zacharyscheer.volleyballstattracker.dto.LiveSetStateDTO;
+import com.zacharyscheer.volleyballstattracker.models.Match;
+import com.zacharyscheer.volleyballstattracker.models.Set;
+import com.zacharyscheer.volleyballstattracker.models.Team;
+import com.zacharyscheer.volleyballstattracker.repository.MatchRepository;
+import com.zacharyscheer.volleyballstattracker.repository.SetRepository;
+import com.zacharyscheer.volleyballstattracker.service.setService.LiveSetEngine;
+import com.zacharyscheer.volleyballstattracker.service.statLineServices.LiveMatchBroadcaster;
+import com.zacharyscheer.volleyballstattracker.service.statLineServices.LiveStatBuffer;
+import com.zacharyscheer.volleyballstattracker.service.statLineServices.ScoringHistory;
+import com.zacharyscheer.volleyballstattracker.models.ScoringAction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the in-memory LiveSetEngine: rally rules, set/match completion, rollbacks and the write-back.
+ */
+@ExtendWith(MockitoExtension.class)
+public class LiveSetEngineTest {
+
+    @Mock
+    private SetRepository setRepository;
+
+    @Mock
+    private MatchRepository matchRepository;
+
+    @Mock
+    private LiveStatBuffer liveStatBuffer;
+
+    @Mock
+    private LiveMatchBroadcaster liveMatchBroadcaster;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final Long MATCH_ID = 3L;
+    private final Long SET_ID = 10L;
+
+    private LiveSetEngine engine(int setNumber, int homeScore, int opponentScore, int homeSets, int opponentSets) {
+        Match match = new Match();
+        match.setId(MATCH_ID);
+        match.setHomeSetScore(homeSets);
+        match.setOpponentSetScore(opponentSets);
+        Set set = new Set();
+        set.setId(SET_ID);
+        set.setMatch(match);
+        set.setSetNumber(setNumber);
+        set.setHomeScore(homeScore);
+        set.setOpponentScore(opponentScore);
+        when(setRepository.findById(SET_ID)).thenReturn(Optional.of(set));
+        return new LiveSetEngine(true, 3_600_000, setRepository, matchRepository,
+                liveStatBuffer, liveMatchBroadcaster, new ScoringHistory(50, 1000, 180), transactionManager);
+    }
+
+    @Test
+    void point_shouldPassTheServeAndRotateUsOnASideOut() {
+        // Arrange
+        LiveSetEngine engine = engine(1, 0, 0, 0, 0);
+        engine.setServe(SET_ID, Team.OPPONENT, 6);
+
+        // Act: we win the opponent's serve, then hold our own
+        engine.point(SET_ID, Team.HOME);
+        LiveSetStateDTO state = engine.point(SET_ID, Team.HOME);
+
+        // Assert
+        assertEquals(2, state.getHomeScore());
+        assertEquals(Team.HOME, state.getServingTeam());
+        assertEquals(1, state.getHomeRotation()); // 6 wraps to 1, and only once
+        assertFalse(state.isCompleted());
+        verifyNoInteractions(matchRepository); // nothing is written until the set ends or the timer runs
+    }
+
+    @Test
+    void point_shouldNotEndASetWithoutATwoPointLead() {
+        LiveSetEngine engine = engine(1, 24, 24, 0, 0);
+
+        assertFalse(engine.point(SET_ID, Team.HOME).isCompleted()); // 25-24
+        assertFalse(engine.point(SET_ID, Team.OPPONENT).isCompleted()); // 25-25
+        engine.point(SET_ID, Team.OPPONENT);
+        LiveSetStateDTO state = engine.point(SET_ID, Team.OPPONENT); // 25-27
+
+        assertTrue(state.isCompleted());
+        assertEquals(Team.OPPONENT, state.getWinner());
+        assertEquals(1, state.getOpponentSetScore());
+    }
+
+    @Test
+    void point_shouldEndTheMatchAndWriteTheResultOnceWhenTheDecidingSetIsWon() {
+        // Arrange: 2-2 in sets, 14-13 in the fifth (played to 15)
+        LiveSetEngine engine = engine(5, 14, 13, 2, 2);
+
+        // Act
+        LiveSetStateDTO state = engine.point(SET_ID, Team.HOME);
+        engine.flush();
+
+        // Assert
+        assertTrue(state.isCompleted());
+        assertEquals(Team.HOME, state.getWinner());
+        assertEquals(3, state.getHomeSetScore());
+        assertTrue(state.getMatchCompleted());
+        verify(setRepository, times(1)).saveLiveState(any());
+        verify(matchRepository, times(1)).addToSetScore(MATCH_ID, 1, 0);
+        assertThrows(IllegalArgumentException.class, () -> engine.point(SET_ID, Team.OPPONENT));
+    }
+
+    @Test
+    void undoPoint_shouldRestoreTheServeAndRotationAndReopenTheSet() {
+        // Arrange: at 24-23 we win the set on the opponent's serve, which also rotated us
+        LiveSetEngine engine = engine(1, 24, 23, 0, 0);
+        engine.setServe(SET_ID, Team.OPPONENT, 4);
+        assertTrue(engine.point(SET_ID, Team.HOME).isCompleted());
+
+        // Act: take back the set point
+        LiveSetStateDTO state = engine.undoPoint(SET_ID, new ScoringAction.Point(Team.HOME, Team.OPPONENT, 4));
+
+        // Assert
+        assertEquals(24, state.getHomeScore());
+        assertFalse(state.isCompleted());
+        assertNull(state.getWinner());
+        assertEquals(0, state.getHomeSetScore());
+        assertEquals(Team.OPPONENT, state.getServingTeam());
+        assertEquals(4, state.getHomeRotation());
+    }
+
+    @Test
+    void point_shouldBeTakenBackOut_whenItsTransactionRollsBack() {
+        // Arrange: the point would end the set
+        LiveSetEngine engine = engine(1, 24, 20, 0, 0);
+        engine.setServe(SET_ID, Team.OPPONENT, 2);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            assertTrue(engine.point(SET_ID, Team.HOME).isCompleted());
+            TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Assert: back to 24-20 on the opponent's serve, and the set end was never written
+        LiveSetStateDTO state = engine.get(SET_ID);
+        assertEquals(24, state.getHomeScore());
+        assertFalse(state.isCompleted());
+        assertEquals(0, state.getHomeSetScore());
+        assertEquals(Team.OPPONENT, state.getServingTeam());
+        assertEquals(2, state.getHomeRotation());
+        verify(setRepository, never()).saveLiveState(any());
+    }
+
+    @Test
+    void setsOfOneMatch_shouldShareTheMatchSetScore_andASetEndShouldOnlyWriteThatSet() {
+        // Arrange: the second set is already in memory (and changed) when the first one ends
+        LiveSetEngine engine = engine(1, 24, 20, 0, 0);
+        otherSet(2);
+        engine.point(11L, Team.OPPONENT);
+
+        // Act
+        engine.point(SET_ID, Team.HOME);
+
+        // Assert
+        LiveSetStateDTO other = engine.get(11L);
+        assertEquals(1, other.getHomeSetScore());
+        assertFalse(other.getMatchCompleted());
+        verify(setRepository, times(1)).saveLiveState(argThat(state -> state.getId().equals(SET_ID)));
+        verify(setRepository, never()).saveLiveState(argThat(state -> state.getId() == 11L));
+    }
+
+    @Test
+    void flush_shouldWriteEachSetOnItsOwnAndRetryOnlyTheOneThatFailed() {
+        // Arrange: a second set in the same engine, whose write-back fails once
+        LiveSetEngine engine = engine(1, 3, 4, 0, 0);
+        otherSet(2);
+        AtomicBoolean failed = new AtomicBoolean();
+        when(setRepository.saveLiveState(any())).thenAnswer(invocation -> {
+            LiveSetStateDTO state = invocation.getArgument(0);
+            if (state.getId() == 11L && failed.compareAndSet(false, true)) {
+                throw new IllegalStateException("connection reset");
+            }
+            return 1;
+        });
+        engine.point(11L, Team.HOME);
+        engine.point(SET_ID, Team.HOME);
+
+        // Act
+        engine.flush();
+        engine.flush();
+
+        // Assert: set 10 went through on the first run despite set 11 failing; set 11 went through on the retry
+        verify(setRepository, times(1)).saveLiveState(argThat(state -> state.getId().equals(SET_ID)));
+        verify(setRepository, times(2)).saveLiveState(argThat(state -> state.getId() == 11L));
+    }
+
+    @Test
+    void flush_shouldOnlyWriteSetsThatChanged() {
+        LiveSetEngine engine = engine(1, 3, 4, 0, 0);
+        engine.point(SET_ID, Team.HOME);
+
+        engine.flush();
+        engine.flush();
+
+        verify(setRepository, times(1)).saveLiveState(argThat(state -> state.getHomeScore() == 4));
+        verify(matchRepository, never()).addToSetScore(any(), anyInt(), anyInt());
+    }
+
+    // Set 11 of the same match, 0-0
+    private void otherSet(int setNumber) {
+        Set other = new Set();
+        other.setId(11L);
+        other.setMatch(setRepository.findById(SET_ID).orElseThrow().getMatch());
+        other.setSetNumber(setNumber);
+        other.setHomeScore(0);
+        other.setOpponentScore(0);
+        when(setRepository.findById(11L)).thenReturn(Optional.of(other));
+    }
+}
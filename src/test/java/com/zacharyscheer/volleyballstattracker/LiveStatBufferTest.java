@@ -0,0 +1,243 @@
+package com.zacharyscheer.volleyballstattracker;
+
+import com.zacharyscheer.volleyballstattracker.models.MatchTotalsKey;
+import com.zacharyscheer.volleyballstattracker.models.Player;
+import com.zacharyscheer.volleyballstattracker.models.Set;
+import com.zacharyscheer.volleyballstattracker.models.StatEvent;
+import com.zacharyscheer.volleyballstattracker.models.StatEventDeadLetter;
+import com.zacharyscheer.volleyballstattracker.models.StatEventType;
+import com.zacharyscheer.volleyballstattracker.models.StatLine;
+import com.zacharyscheer.volleyballstattracker.models.StatLineKey;
+import com.zacharyscheer.volleyballstattracker.repository.MatchStatTotalsRepository;
+import com.zacharyscheer.volleyballstattracker.repository.StatEventDeadLetterRepository;
+import com.zacharyscheer.volleyballstattracker.repository.StatEventRepository;
+import com.zacharyscheer.volleyballstattracker.repository.StatLineRepository;
+import com.zacharyscheer.volleyballstattracker.service.statLineServices.LiveMatchBroadcaster;
+import com.zacharyscheer.volleyballstattracker.service.statLineServices.LiveStatBuffer;
+import com.zacharyscheer.volleyballstattracker.service.statLineServices.MatchTotalsCache;
+import com.zacharyscheer.volleyballstattracker.service.statLineServices.StatEventProjector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the write-behind LiveStatBuffer.
+ */
+@ExtendWith(MockitoExtension.class)
+public class LiveStatBufferTest {
+
+    @Mock
+    private StatLineRepository statLineRepository;
+
+    @Mock
+    private StatEventRepository statEventRepository;
+
+    @Mock
+    private StatEventDeadLetterRepository deadLetterRepository;
+
+    @Mock
+    private MatchStatTotalsRepository matchStatTotalsRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private LiveStatBuffer buffer;
+
+    private final Long MATCH_ID = 3L;
+    private final Long SET_ID = 1L;
+    private final Integer PLAYER_ID = 7;
+
+    @BeforeEach
+    void setUp() {
+        MatchTotalsCache cache = mock(MatchTotalsCache.class);
+        lenient().when(cache.matchIdOf(SET_ID)).thenReturn(MATCH_ID);
+        buffer = new LiveStatBuffer(true, 2, statEventRepository, deadLetterRepository, new StatEventProjector(statLineRepository, matchStatTotalsRepository,
+                cache, mock(LiveMatchBroadcaster.class)), transactionManager);
+
+        Set set = new Set();
+        set.setId(SET_ID);
+        StatLine line = StatLine.builder()
+                .set(set)
+                .player(Player.builder().id(PLAYER_ID).build())
+                .kills(2)
+                .attackAttempts(4)
+                .build();
+        buffer.track(line);
+    }
+
+    @Test
+    void record_shouldCountEventsInMemoryWithoutWriting() {
+        // Act
+        StatLine view = buffer.record(event(StatEventType.KILL));
+
+        // Assert
+        assertEquals(3, view.getKills());
+        assertEquals(5, view.getAttackAttempts());
+        assertEquals(3, buffer.view(SET_ID, PLAYER_ID).getKills());
+        verifyNoInteractions(statLineRepository, statEventRepository);
+    }
+
+    @Test
+    void record_shouldCountAResentTapOnceAndFindItByItsClientEventId() {
+        // Arrange
+        UUID clientEventId = UUID.randomUUID();
+        StatEvent tap = StatEvent.builder()
+                .setId(SET_ID)
+                .playerId(PLAYER_ID)
+                .eventType(StatEventType.KILL)
+                .recordedAt(Instant.now())
+                .clientEventId(clientEventId)
+                .build();
+
+        // Act
+        buffer.record(tap);
+        StatLine view = buffer.record(StatEvent.builder()
+                .setId(SET_ID)
+                .playerId(PLAYER_ID)
+                .eventType(StatEventType.KILL)
+                .recordedAt(Instant.now())
+                .clientEventId(clientEventId)
+                .build());
+
+        // Assert
+        assertEquals(3, view.getKills());
+        assertSame(tap, buffer.findQueued(SET_ID, PLAYER_ID, clientEventId).orElseThrow());
+        assertTrue(buffer.findQueued(SET_ID, PLAYER_ID, UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    void record_shouldReturnNull_whenStatLineIsNotTracked() {
+        assertNull(buffer.record(StatEvent.builder()
+                .setId(SET_ID)
+                .playerId(99)
+                .eventType(StatEventType.DIG)
+                .recordedAt(Instant.now())
+                .build()));
+    }
+
+    @Test
+    void flushSet_shouldWriteCoalescedEventsAndStopTrackingTheSet() {
+        // Arrange
+        when(statLineRepository.batchApplyDeltas(anyMap())).thenReturn(new int[]{1});
+        buffer.record(event(StatEventType.KILL));
+        buffer.record(event(StatEventType.DIG));
+
+        // Act
+        buffer.flushSet(SET_ID);
+
+        // Assert
+        verify(statEventRepository, times(1)).saveAll(anyList());
+        verify(statLineRepository, times(1)).batchApplyDeltas(anyMap());
+        verify(matchStatTotalsRepository, times(1)).batchApplyDeltas(anyMap());
+        assertNull(buffer.view(SET_ID, PLAYER_ID));
+    }
+
+    @Test
+    void flush_shouldWriteHealthyStatLinesAndDeadLetterOneThatKeepsFailing() {
+        // Arrange: a second StatLine whose row has gone missing (its UPDATE matches nothing)
+        Integer missingPlayer = 8;
+        Set set = new Set();
+        set.setId(SET_ID);
+        buffer.track(StatLine.builder().set(set).player(Player.builder().id(missingPlayer).build()).build());
+        StatLineKey missing = new StatLineKey(SET_ID, missingPlayer);
+        when(statLineRepository.batchApplyDeltas(anyMap())).thenAnswer(invocation -> {
+            Map<StatLineKey, ?> deltas = invocation.getArgument(0);
+            return deltas.keySet().stream().mapToInt(key -> key.equals(missing) ? 0 : 1).toArray();
+        });
+        buffer.record(event(StatEventType.KILL));
+        buffer.record(StatEvent.builder().setId(SET_ID).playerId(missingPlayer)
+                .eventType(StatEventType.DIG).recordedAt(Instant.now()).build());
+
+        // Act: the batch fails, then player 7 is written on its own and player 8 is kept for a retry
+        buffer.flush();
+
+        // Assert
+        assertEquals(3, buffer.view(SET_ID, PLAYER_ID).getKills());
+        assertEquals(1, buffer.view(SET_ID, missingPlayer).getDigs());
+        verify(matchStatTotalsRepository, times(1)).batchApplyDeltas(argThat(deltas -> deltas.size() == 1
+                && deltas.containsKey(new MatchTotalsKey(MATCH_ID, PLAYER_ID))));
+
+        // Act: the second failure (max-attempts is 2) moves player 8's events to the dead-letter table
+        buffer.flush();
+        buffer.flush();
+
+        // Assert: nothing is left to retry (batch, 7 alone, 8 alone, then 8's retry), and player 7 was written once
+        assertEquals(0, buffer.view(SET_ID, missingPlayer).getDigs());
+        verify(statLineRepository, times(4)).batchApplyDeltas(anyMap());
+        verify(matchStatTotalsRepository, times(1)).batchApplyDeltas(anyMap());
+        verify(deadLetterRepository, times(1)).saveAll(argThat((List<StatEventDeadLetter> deadLetters) ->
+                deadLetters.size() == 1
+                        && deadLetters.get(0).getPlayerId().equals(missingPlayer)
+                        && deadLetters.get(0).getEventType() == StatEventType.DIG
+                        && deadLetters.get(0).getFailure() != null));
+    }
+
+    @Test
+    void flush_shouldKeepEventsBuffered_whenTheyCannotBeDeadLetteredEither() {
+        // Arrange: the StatLine's row is missing and the dead-letter table cannot be written
+        when(statLineRepository.batchApplyDeltas(anyMap())).thenReturn(new int[]{0});
+        when(deadLetterRepository.saveAll(anyList())).thenThrow(new IllegalStateException("database down"));
+        buffer.record(event(StatEventType.KILL));
+
+        // Act: past max-attempts, every flush retries the events and then tries to dead-letter them again
+        buffer.flush();
+        buffer.flush();
+        buffer.flush();
+
+        // Assert: the acknowledged tap is still counted and queued
+        assertEquals(3, buffer.view(SET_ID, PLAYER_ID).getKills());
+        verify(statLineRepository, times(3)).batchApplyDeltas(anyMap());
+        verify(deadLetterRepository, times(2)).saveAll(anyList());
+    }
+
+    @Test
+    void replayDeadLetters_shouldAppendThemAndSkipTapsAlreadyInTheLog() {
+        // Arrange
+        UUID resent = UUID.randomUUID();
+        StatEventDeadLetter lost = StatEventDeadLetter.of(event(StatEventType.KILL), new IllegalStateException("x"));
+        StatEventDeadLetter alreadyLogged = StatEventDeadLetter.of(StatEvent.builder()
+                .setId(SET_ID)
+                .playerId(PLAYER_ID)
+                .eventType(StatEventType.DIG)
+                .recordedAt(Instant.now())
+                .clientEventId(resent)
+                .build(), new IllegalStateException("x"));
+        List<StatEventDeadLetter> deadLetters = List.of(lost, alreadyLogged);
+        when(deadLetterRepository.findBySetIdOrderByIdAsc(SET_ID)).thenReturn(deadLetters);
+        when(statEventRepository.findByClientEventId(resent)).thenReturn(Optional.of(event(StatEventType.DIG)));
+        when(statLineRepository.batchApplyDeltas(anyMap())).thenReturn(new int[]{1});
+
+        // Act
+        int replayed = buffer.replayDeadLetters(SET_ID);
+
+        // Assert
+        assertEquals(1, replayed);
+        verify(statEventRepository).saveAll(argThat((List<StatEvent> events) -> events.size() == 1
+                && events.get(0).getEventType() == StatEventType.KILL && events.get(0).getSequence() == null));
+        verify(deadLetterRepository).deleteAllInBatch(deadLetters);
+    }
+
+    private StatEvent event(StatEventType type) {
+        return StatEvent.builder()
+                .setId(SET_ID)
+                .playerId(PLAYER_ID)
+                .eventType(type)
+                .recordedAt(Instant.now())
+                .build();
+    }
+}
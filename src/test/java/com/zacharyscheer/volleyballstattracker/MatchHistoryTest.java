@@ -0,0 +1,182 @@
+package com.zacharyscheer.volleyballstattracker;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zacharyscheer.volleyballstattracker.Security.JwtService;
+import com.zacharyscheer.volleyballstattracker.models.Match;
+import com.zacharyscheer.volleyballstattracker.models.User;
+import com.zacharyscheer.volleyballstattracker.repository.MatchRepository;
+import com.zacharyscheer.volleyballstattracker.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET /api/matches/history end to end: keyset paging with the opaque cursor, the optional filters
+ * (run through MatchRepositoryCustomImpl's JPQL), and rejection of cursors it did not hand out.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class MatchHistoryTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 9, 1);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User coach;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        // A fresh coach per test, so only this test's matches are in the history
+        coach = coach();
+        token = jwtService.generateToken(coach);
+    }
+
+    @Test
+    void history_shouldPageThroughEveryMatchNewestFirst_withTheCursorOfEachPagesLastRow() throws Exception {
+        // Arrange: two matches share a date, so the id breaks the tie across a page boundary
+        Match oldest = match(coach, "Rivals", DAY, 3, 0);
+        Match sameDayFirst = match(coach, "Rivals", DAY.plusDays(1), 3, 1);
+        Match sameDaySecond = match(coach, "Rivals", DAY.plusDays(1), 1, 3);
+        Match newest = match(coach, "Rivals", DAY.plusDays(2), 3, 2);
+        match(coach(), "Rivals", DAY.plusDays(3), 3, 0);
+
+        // Act
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder request = history().param("limit", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode page = page(request);
+            JsonNode matches = page.get("matches");
+            matches.forEach(match -> ids.add(match.get("id").asLong()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+
+            // Assert: the cursor is Base64 of the last row's "matchDate:id"
+            if (cursor != null) {
+                JsonNode last = matches.get(matches.size() - 1);
+                assertEquals(last.get("matchDate").asText() + ":" + last.get("id").asLong(),
+                        new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+            }
+        } while (cursor != null);
+
+        // Assert
+        assertEquals(List.of(newest.getId(), sameDaySecond.getId(), sameDayFirst.getId(), oldest.getId()), ids);
+    }
+
+    @Test
+    void history_shouldFilterByResultOpponentAndDateRange() throws Exception {
+        // Arrange
+        Match win = match(coach, "Lopes Volleyball", DAY, 3, 1);
+        Match loss = match(coach, "Sun Devils", DAY.plusDays(1), 0, 3);
+        Match laterWin = match(coach, "Wildcats", DAY.plusDays(5), 3, 2);
+
+        // Act & Assert
+        assertEquals(List.of(laterWin.getId(), win.getId()), ids(history().param("result", "WIN")));
+        assertEquals(List.of(loss.getId()), ids(history().param("result", "LOSS")));
+        assertEquals(List.of(win.getId()), ids(history().param("opponent", "  lopes ")));
+        assertEquals(List.of(loss.getId(), win.getId()), ids(history()
+                .param("from", DAY.toString())
+                .param("to", DAY.plusDays(1).toString())));
+        assertEquals(List.of(laterWin.getId()), ids(history()
+                .param("result", "WIN")
+                .param("from", DAY.plusDays(1).toString())));
+    }
+
+    @Test
+    void history_shouldMatchLikeWildcardsInTheOpponentLiterally() throws Exception {
+        // Arrange
+        Match underscore = match(coach, "A_B Club", DAY, 3, 0);
+        match(coach, "AxB Club", DAY.plusDays(1), 3, 0);
+        Match percent = match(coach, "100% Effort", DAY.plusDays(2), 3, 0);
+        match(coach, "1000 Effort", DAY.plusDays(3), 3, 0);
+        Match backslash = match(coach, "Back\\Slash", DAY.plusDays(4), 3, 0);
+
+        // Act & Assert
+        assertEquals(List.of(underscore.getId()), ids(history().param("opponent", "a_b")));
+        assertEquals(List.of(percent.getId()), ids(history().param("opponent", "100%")));
+        assertEquals(List.of(backslash.getId()), ids(history().param("opponent", "k\\s")));
+    }
+
+    @Test
+    void history_shouldRejectACursorItDidNotHandOut() throws Exception {
+        // Arrange
+        match(coach, "Rivals", DAY, 3, 0);
+        String notADate = Base64.getUrlEncoder().encodeToString("yesterday:1".getBytes(StandardCharsets.UTF_8));
+        String notAnId = Base64.getUrlEncoder().encodeToString((DAY + ":abc").getBytes(StandardCharsets.UTF_8));
+        String noSeparator = Base64.getUrlEncoder().encodeToString("20260901".getBytes(StandardCharsets.UTF_8));
+
+        // Act & Assert
+        for (String cursor : List.of("not base64!", notADate, notAnId, noSeparator)) {
+            mockMvc.perform(history().param("cursor", cursor))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    private MockHttpServletRequestBuilder history() {
+        return get("/api/matches/history").header("Authorization", "Bearer " + token);
+    }
+
+    private JsonNode page(MockHttpServletRequestBuilder request) throws Exception {
+        String body = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private List<Long> ids(MockHttpServletRequestBuilder request) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        page(request).get("matches").forEach(match -> ids.add(match.get("id").asLong()));
+        return ids;
+    }
+
+    private User coach() {
+        return userRepository.save(User.builder()
+                .email("coach-" + UUID.randomUUID() + "@example.com")
+                .password("{noop}password")
+                .build());
+    }
+
+    private Match match(User owner, String opponent, LocalDate date, int homeSets, int opponentSets) {
+        Match match = new Match();
+        match.setOpponentTeam(opponent);
+        match.setMatchDate(date);
+        match.setHomeSetScore(homeSets);
+        match.setOpponentSetScore(opponentSets);
+        match.setUser(owner);
+        return matchRepository.save(match);
+    }
+}
@@ -0,0 +1,68 @@
+package com.zacharyscheer.volleyballstattracker;
+
+import com.zacharyscheer.volleyballstattracker.config.MetricsSupport;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MetricsSupport.time: every call is recorded, tagged with its outcome, on a timer registered once.
+ */
+public class MetricsSupportTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void time_shouldRecordEverySuccessfulCallOnOneTimer() {
+        // Act
+        for (int i = 0; i < 3; i++) {
+            assertEquals("ok", MetricsSupport.time(meterRegistry, MetricsSupport.STAT_RECORD, () -> "ok", "event_type", "KILL"));
+        }
+
+        // Assert
+        Timer timer = meterRegistry.get(MetricsSupport.STAT_RECORD)
+                .tags("event_type", "KILL", "outcome", "success", "exception", "none")
+                .timer();
+        assertEquals(3, timer.count());
+        assertEquals(1, meterRegistry.find(MetricsSupport.STAT_RECORD).timers().size());
+    }
+
+    @Test
+    void time_shouldRecordAFailureUnderItsExceptionAndRethrowIt() {
+        // Act
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+                () -> MetricsSupport.time(meterRegistry, MetricsSupport.STAT_RECORD, () -> {
+                    throw new IllegalArgumentException("Pass rating must be 0-3");
+                }, "event_type", "PASS_RATING"));
+
+        // Assert
+        assertEquals("Pass rating must be 0-3", thrown.getMessage());
+        assertEquals(1, meterRegistry.get(MetricsSupport.STAT_RECORD)
+                .tags("event_type", "PASS_RATING", "outcome", "error", "exception", "IllegalArgumentException")
+                .timer()
+                .count());
+    }
+
+    @Test
+    void time_shouldKeepTheTimersOfEachRegistrySeparate() {
+        // Arrange
+        SimpleMeterRegistry otherRegistry = new SimpleMeterRegistry();
+
+        // Act
+        MetricsSupport.time(meterRegistry, MetricsSupport.SET_START, () -> 1);
+        MetricsSupport.time(otherRegistry, MetricsSupport.SET_START, () -> 1);
+        MetricsSupport.time(otherRegistry, MetricsSupport.SET_START, () -> 1);
+
+        // Assert
+        assertEquals(1, meterRegistry.get(MetricsSupport.SET_START).timer().count());
+        assertEquals(2, otherRegistry.get(MetricsSupport.SET_START).timer().count());
+    }
+}
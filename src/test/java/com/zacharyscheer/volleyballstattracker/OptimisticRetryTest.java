@@ -0,0 +1,74 @@
+package com.zacharyscheer.volleyballstattracker;
+
+import com.zacharyscheer.volleyballstattracker.config.MetricsSupport;
+import com.zacharyscheer.volleyballstattracker.service.OptimisticRetry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the bounded OptimisticRetry around versioned writes.
+ */
+public class OptimisticRetryTest {
+
+    private PlatformTransactionManager transactionManager;
+    private SimpleMeterRegistry meterRegistry;
+    private OptimisticRetry optimisticRetry;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = mock(PlatformTransactionManager.class);
+        meterRegistry = new SimpleMeterRegistry();
+        optimisticRetry = new OptimisticRetry(transactionManager, meterRegistry, 3);
+    }
+
+    @Test
+    void execute_shouldRetryInAFreshTransactionUntilTheWriteWins() {
+        // Arrange: the first two attempts lose the race
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act
+        String result = optimisticRetry.execute("home_point", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException("Set", 5L);
+            }
+            return "scored";
+        });
+
+        // Assert
+        assertEquals("scored", result);
+        verify(transactionManager, times(3)).getTransaction(any());
+        verify(transactionManager, times(2)).rollback(any());
+        assertEquals(2.0, meterRegistry.counter(MetricsSupport.OPTIMISTIC_RETRY, "operation", "home_point").count());
+    }
+
+    @Test
+    void execute_shouldGiveUpAfterMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(OptimisticLockingFailureException.class, () -> optimisticRetry.execute("home_point", () -> {
+            attempts.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException("Set", 5L);
+        }));
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void execute_shouldNotRetryOtherFailures() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> optimisticRetry.execute("home_point", () -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("boom");
+        }));
+        assertEquals(1, attempts.get());
+    }
+}
@@ -0,0 +1,72 @@
+package com.zacharyscheer.volleyballstattracker;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zacharyscheer.volleyballstattracker.Security.JwtService;
+import com.zacharyscheer.volleyballstattracker.models.User;
+import com.zacharyscheer.volleyballstattracker.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * PATCH /api/user/password end to end: the change signs out every existing token,
+ * and the caller gets a replacement token in the response.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class PasswordChangeTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void updatePassword_shouldReturnAWorkingTokenAndRejectTheOldOne() throws Exception {
+        // Arrange
+        User coach = userRepository.save(User.builder()
+                .email("coach-" + UUID.randomUUID() + "@example.com")
+                .password("{noop}password")
+                .build());
+        String oldToken = jwtService.generateToken(coach);
+        // The old token works until the password changes
+        mockMvc.perform(get("/api/user/profile").header("Authorization", "Bearer " + oldToken))
+                .andExpect(status().isOk());
+
+        // Act
+        String body = mockMvc.perform(patch("/api/user/password")
+                        .header("Authorization", "Bearer " + oldToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"currentPassword": "password", "newPassword": "new-password"}"""))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String newToken = objectMapper.readTree(body).get("token").asText();
+
+        // Assert
+        assertNotEquals(oldToken, newToken);
+        mockMvc.perform(get("/api/user/profile").header("Authorization", "Bearer " + newToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/user/profile").header("Authorization", "Bearer " + oldToken))
+                .andExpect(status().isForbidden());
+    }
+}
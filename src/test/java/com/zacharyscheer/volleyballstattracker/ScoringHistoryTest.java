@@ -0,0 +1,68 @@
+package com.zacharyscheer.volleyballstattracker;
+
+import com.zacharyscheer.volleyballstattracker.models.ScoringAction;
+import com.zacharyscheer.volleyballstattracker.models.StatEventType;
+import com.zacharyscheer.volleyballstattracker.models.Team;
+import com.zacharyscheer.volleyballstattracker.service.statLineServices.ScoringHistory;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ScoringHistory's per-set undo/redo stacks (run without a transaction, so moves happen at once).
+ */
+public class ScoringHistoryTest {
+
+    private static final Long SET_ID = 1L;
+
+    private final ScoringHistory history = new ScoringHistory(2, 100, 60);
+
+    private static ScoringAction tap(int playerId) {
+        return new ScoringAction.StatTap(playerId, StatEventType.KILL, null);
+    }
+
+    @Test
+    void undo_shouldKeepOnlyTheMostRecentActionsAndMoveThemToRedo() {
+        // Arrange: depth is 2, so the first tap is dropped
+        history.recordAfterCommit(SET_ID, tap(1));
+        history.recordAfterCommit(SET_ID, tap(2));
+        history.recordAfterCommit(SET_ID, tap(3));
+
+        // Act & Assert
+        assertEquals(Optional.of(tap(3)), history.undo(SET_ID, Function.identity()));
+        assertEquals(Optional.of(tap(2)), history.undo(SET_ID, Function.identity()));
+        assertTrue(history.undo(SET_ID, Function.identity()).isEmpty());
+        assertEquals(Optional.of(tap(2)), history.redo(SET_ID, Function.identity()));
+    }
+
+    @Test
+    void recordAfterCommit_shouldClearTheRedoStack() {
+        history.recordAfterCommit(SET_ID, tap(1));
+        history.undo(SET_ID, Function.identity());
+
+        history.recordAfterCommit(SET_ID, new ScoringAction.Point(Team.HOME, null, null));
+
+        assertTrue(history.redo(SET_ID, Function.identity()).isEmpty());
+    }
+
+    @Test
+    void undo_shouldDropAnActionThatCanNeverBeUndoneButKeepOneThatFailedTransiently() {
+        // Arrange
+        history.recordAfterCommit(SET_ID, tap(1));
+        history.recordAfterCommit(SET_ID, tap(2));
+
+        // Act: a transient failure leaves tap 2 on top; a permanent one drops it
+        assertThrows(IllegalStateException.class, () -> history.undo(SET_ID, action -> {
+            throw new IllegalStateException("connection reset");
+        }));
+        assertThrows(IllegalArgumentException.class, () -> history.undo(SET_ID, action -> {
+            throw new IllegalArgumentException("no point to take back");
+        }));
+
+        // Assert: the action below is still reachable
+        assertEquals(Optional.of(tap(1)), history.undo(SET_ID, Function.identity()));
+    }
+}
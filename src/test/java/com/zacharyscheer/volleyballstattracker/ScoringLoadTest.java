@@ -0,0 +1,424 @@
+package com.zacharyscheer.volleyballstattracker;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zacharyscheer.volleyballstattracker.models.Set;
+import com.zacharyscheer.volleyballstattracker.models.StatEventType;
+import com.zacharyscheer.volleyballstattracker.models.StatLine;
+import com.zacharyscheer.volleyballstattracker.models.StatType;
+import com.zacharyscheer.volleyballstattracker.models.StatVector;
+import com.zacharyscheer.volleyballstattracker.repository.SetRepository;
+import com.zacharyscheer.volleyballstattracker.repository.StatLineRepository;
+import com.zacharyscheer.volleyballstattracker.service.setService.LiveSetEngine;
+import com.zacharyscheer.volleyballstattracker.service.statLineServices.LiveStatBuffer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load test simulating courtside scorers hammering the REST API at the same time.
+ * <p>
+ * Boots the whole app on H2, registers a coach per match, creates the roster, the match and its first set,
+ * then lets several virtual scorers per match tap through rally-shaped sequences of stat and point calls.
+ * Afterwards it flushes the in-memory live set and stat buffers, reads every StatLine and the set score back
+ * from the database and compares them with what the scorers got a 2xx for, so increments that were
+ * acknowledged but never persisted show up as lost updates.
+ * <p>
+ * Skipped by default. Run it with:
+ * <pre>
+ * mvn test -Dtest=ScoringLoadTest -Dloadtest=true -Dloadtest.matches=4 -Dloadtest.scorersPerMatch=2 -Dloadtest.rallies=100
+ * </pre>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+public class ScoringLoadTest {
+
+    // --- Load Shape (override with -Dloadtest.<name>=...) ---
+    private static final int MATCHES = Integer.getInteger("loadtest.matches", 4);
+    private static final int SCORERS_PER_MATCH = Integer.getInteger("loadtest.scorersPerMatch", 2);
+    private static final int RALLIES_PER_SCORER = Integer.getInteger("loadtest.rallies", 100);
+    private static final int ROSTER_SIZE = Integer.getInteger("loadtest.roster", 12);
+    private static final long SEED = Long.getLong("loadtest.seed", 42L);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Verification reads the database directly: the API serves live scores from memory
+    @Autowired
+    private LiveSetEngine liveSetEngine;
+
+    @Autowired
+    private LiveStatBuffer liveStatBuffer;
+
+    @Autowired
+    private SetRepository setRepository;
+
+    @Autowired
+    private StatLineRepository statLineRepository;
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    void concurrentScorers_shouldNotLoseAcknowledgedUpdates() throws Exception {
+        // 1. Set up every match before the clock starts
+        List<MatchFixture> fixtures = new ArrayList<>();
+        for (int m = 0; m < MATCHES; m++) {
+            fixtures.add(createMatch(m));
+        }
+
+        // 2. Release all scorers at once
+        int scorerCount = MATCHES * SCORERS_PER_MATCH;
+        ExecutorService pool = Executors.newFixedThreadPool(scorerCount);
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Future<ScorerResult>> futures = new ArrayList<>();
+        for (int i = 0; i < scorerCount; i++) {
+            MatchFixture fixture = fixtures.get(i % MATCHES);
+            Random random = new Random(SEED + i);
+            futures.add(pool.submit(() -> {
+                startGate.await();
+                return new Scorer(fixture, random).run();
+            }));
+        }
+
+        long started = System.nanoTime();
+        startGate.countDown();
+        List<ScorerResult> results = new ArrayList<>();
+        for (Future<ScorerResult> future : futures) {
+            results.add(future.get(10, TimeUnit.MINUTES));
+        }
+        long elapsedNanos = System.nanoTime() - started;
+        pool.shutdown();
+
+        // 3. Write back everything still held in memory, then compare what was acknowledged with the database
+        liveSetEngine.flush();
+        if (liveStatBuffer.isEnabled()) {
+            liveStatBuffer.flush();
+        }
+        long lostUpdates = 0;
+        for (MatchFixture fixture : fixtures) {
+            lostUpdates += countLostUpdates(fixture, results);
+        }
+
+        // 4. Report
+        List<Long> statLatencies = new ArrayList<>();
+        List<Long> pointLatencies = new ArrayList<>();
+        long errors = 0;
+        for (ScorerResult result : results) {
+            statLatencies.addAll(result.statLatencies);
+            pointLatencies.addAll(result.pointLatencies);
+            errors += result.errors;
+        }
+        long requests = statLatencies.size() + pointLatencies.size();
+        double seconds = elapsedNanos / 1_000_000_000.0;
+
+        System.out.printf("%n--- Scoring load test: %d matches x %d scorers, %d rallies each ---%n",
+                MATCHES, SCORERS_PER_MATCH, RALLIES_PER_SCORER);
+        System.out.printf("requests    %d in %.2fs (%.1f req/s)%n", requests, seconds, requests / seconds);
+        System.out.printf("stat calls  %d  p50 %.2fms  p99 %.2fms%n",
+                statLatencies.size(), percentileMillis(statLatencies, 0.50), percentileMillis(statLatencies, 0.99));
+        System.out.printf("point calls %d  p50 %.2fms  p99 %.2fms%n",
+                pointLatencies.size(), percentileMillis(pointLatencies, 0.50), percentileMillis(pointLatencies, 0.99));
+        System.out.printf("errors      %d%n", errors);
+        System.out.printf("lost updates %d%n%n", lostUpdates);
+
+        // The numbers are the point of the run; only fail if nothing got through at all, or if an
+        // acknowledged update never reached the database
+        assertTrue(requests > errors, "every request failed");
+        assertEquals(0, lostUpdates, "acknowledged updates are missing from the database");
+    }
+
+    // -------------------------------------------------------------------------
+    // Fixture setup
+    // -------------------------------------------------------------------------
+
+    private record MatchFixture(String token, long matchId, long setId, List<Integer> playerIds) {
+    }
+
+    private MatchFixture createMatch(int index) throws Exception {
+        String email = "coach" + index + "-" + UUID.randomUUID() + "@loadtest.local";
+        JsonNode auth = send("POST", "/api/auth/register", null,
+                Map.of("email", email, "password", "load-test-password"));
+        String token = auth.get("token").asText();
+
+        // Jersey numbers are unique across the whole roster table, so give each match its own hundred
+        List<Integer> playerIds = new ArrayList<>();
+        for (int i = 0; i < ROSTER_SIZE; i++) {
+            JsonNode player = send("POST", "/api/player", token, Map.of(
+                    "name", "Player " + index + "-" + i,
+                    "number", index * 100 + i + 1,
+                    "position", i == 0 ? "Setter" : "Hitter"));
+            playerIds.add(player.get("id").asInt());
+        }
+
+        JsonNode match = send("POST", "/api/matches", token,
+                Map.of("opponentTeam", "Load Test Opponent " + index, "sets", List.of()));
+        long matchId = match.get("id").asLong();
+
+        JsonNode set = send("POST", "/api/matches/" + matchId + "/start-set", token, playerIds);
+        return new MatchFixture(token, matchId, set.get("id").asLong(), playerIds);
+    }
+
+    // -------------------------------------------------------------------------
+    // Virtual scorer
+    // -------------------------------------------------------------------------
+
+    private static class ScorerResult {
+        final List<Long> statLatencies = new ArrayList<>();
+        final List<Long> pointLatencies = new ArrayList<>();
+        final Map<Integer, StatVector> expected = new HashMap<>();
+        MatchFixture fixture;
+        long errors;
+        int homePoints;
+        int opponentPoints;
+    }
+
+    /**
+     * Taps through rallies the way a scorer would: serve or pass, set, attack, and the occasional dig or block,
+     * finishing every rally with a point for one side.
+     */
+    private class Scorer {
+
+        private final MatchFixture fixture;
+        private final Random random;
+        private final ScorerResult result = new ScorerResult();
+        private boolean homeServing;
+        private int rotation;
+        private boolean setOver;
+
+        Scorer(MatchFixture fixture, Random random) {
+            this.fixture = fixture;
+            this.random = random;
+            this.homeServing = random.nextBoolean();
+            result.fixture = fixture;
+        }
+
+        ScorerResult run() {
+            for (int rally = 0; rally < RALLIES_PER_SCORER; rally++) {
+                boolean homeWon = playRally();
+                point(homeWon);
+                if (homeWon && !homeServing) {
+                    rotation++; // Side out: the next player serves
+                }
+                homeServing = homeWon;
+            }
+            return result;
+        }
+
+        // Returns true if the home team won the rally
+        private boolean playRally() {
+            if (homeServing) {
+                double serve = random.nextDouble();
+                Integer server = player(rotation % fixture.playerIds.size());
+                if (serve < 0.08) {
+                    stat(StatEventType.SERVICE_ERROR, server, null);
+                    return false;
+                }
+                if (serve < 0.15) {
+                    stat(StatEventType.SERVICE_ACE, server, null);
+                    return true;
+                }
+                stat(StatEventType.SERVICE_ATTEMPT, server, null);
+                // The opponent attacks first; we have to dig it before we can attack
+                if (!defend()) {
+                    return false;
+                }
+            } else {
+                int rating = random.nextInt(4);
+                stat(StatEventType.PASS_RATING, randomHitter(), rating);
+                if (rating == 0) {
+                    return false; // Aced
+                }
+            }
+
+            // Our side of the rally: set and attack until someone ends it
+            for (int exchange = 0; exchange < 4; exchange++) {
+                Integer setter = player(0);
+                Integer hitter = randomHitter();
+                double attack = random.nextDouble();
+                if (attack < 0.45) {
+                    stat(StatEventType.ASSIST, setter, null);
+                    stat(StatEventType.KILL, hitter, null);
+                    return true;
+                }
+                stat(StatEventType.SET_ATTEMPT, setter, null);
+                if (attack < 0.60) {
+                    stat(StatEventType.KILL_ERROR, hitter, null);
+                    return false;
+                }
+                stat(StatEventType.ATTACK_ATTEMPT, hitter, null);
+                if (!defend()) {
+                    return false;
+                }
+            }
+            return random.nextBoolean();
+        }
+
+        // The opponent attacks; returns false if the ball hits our floor
+        private boolean defend() {
+            double defense = random.nextDouble();
+            if (defense < 0.10) {
+                stat(StatEventType.BLOCK, randomHitter(), null);
+                return true;
+            }
+            if (defense < 0.15) {
+                stat(StatEventType.BLOCK_ERROR, randomHitter(), null);
+                return false;
+            }
+            if (defense < 0.30) {
+                stat(StatEventType.DIG_ERROR, randomHitter(), null);
+                return false;
+            }
+            stat(StatEventType.DIG, randomHitter(), null);
+            return true;
+        }
+
+        private void stat(StatEventType type, Integer playerId, Integer rating) {
+            String path = "/api/stats/record/" + type.name().toLowerCase().replace('_', '-')
+                    + "?setId=" + fixture.setId + "&playerId=" + playerId
+                    + (rating == null ? "" : "&rating=" + rating);
+            if (timedPost(path, result.statLatencies) / 100 == 2) {
+                result.expected.computeIfAbsent(playerId, id -> new StatVector())
+                        .add(type.toDelta(rating).getCounts());
+            } else {
+                result.errors++;
+            }
+        }
+
+        private void point(boolean home) {
+            if (setOver) {
+                return;
+            }
+            String path = "/api/sets/" + fixture.setId + "/point/" + (home ? "home" : "opponent");
+            int status = timedPost(path, result.pointLatencies);
+            if (status / 100 == 2) {
+                if (home) {
+                    result.homePoints++;
+                } else {
+                    result.opponentPoints++;
+                }
+            } else if (status == 400) {
+                // The set has been won (25, win by 2); the remaining rallies only tap stats
+                setOver = true;
+            } else {
+                result.errors++;
+            }
+        }
+
+        // Returns the HTTP status, or -1 if the request failed outright
+        private int timedPost(String path, List<Long> latencies) {
+            long started = System.nanoTime();
+            try {
+                HttpResponse<Void> response = http.send(request("POST", path, fixture.token)
+                        .POST(HttpRequest.BodyPublishers.noBody())
+                        .build(), HttpResponse.BodyHandlers.discarding());
+                latencies.add(System.nanoTime() - started);
+                return response.statusCode();
+            } catch (Exception e) {
+                latencies.add(System.nanoTime() - started);
+                return -1;
+            }
+        }
+
+        private Integer player(int index) {
+            return fixture.playerIds.get(index);
+        }
+
+        private Integer randomHitter() {
+            return player(1 + random.nextInt(fixture.playerIds.size() - 1));
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Verification and reporting
+    // -------------------------------------------------------------------------
+
+    /**
+     * Counts every acknowledged counter increment and point that is missing from the stored set.
+     */
+    private long countLostUpdates(MatchFixture fixture, List<ScorerResult> results) {
+        Map<Integer, StatVector> expected = new HashMap<>();
+        int homePoints = 0;
+        int opponentPoints = 0;
+        for (ScorerResult result : results) {
+            if (result.fixture != fixture) {
+                continue;
+            }
+            result.expected.forEach((playerId, counts) ->
+                    expected.computeIfAbsent(playerId, id -> new StatVector()).add(counts));
+            homePoints += result.homePoints;
+            opponentPoints += result.opponentPoints;
+        }
+
+        long lost = 0;
+        for (Integer playerId : fixture.playerIds) {
+            StatVector stored = statLineRepository.findBySetIdAndPlayerId(fixture.setId, playerId)
+                    .map(StatLine::toVector)
+                    .orElseGet(StatVector::new);
+            StatVector want = expected.getOrDefault(playerId, new StatVector());
+            for (StatType type : StatType.all()) {
+                lost += Math.max(0, want.get(type) - stored.get(type));
+            }
+        }
+
+        Set set = setRepository.findById(fixture.setId).orElseThrow();
+        lost += Math.max(0, homePoints - set.getHomeScore());
+        lost += Math.max(0, opponentPoints - set.getOpponentScore());
+        return lost;
+    }
+
+    private static double percentileMillis(List<Long> latencies, double percentile) {
+        if (latencies.isEmpty()) {
+            return 0;
+        }
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index)) / 1_000_000.0;
+    }
+
+    // -------------------------------------------------------------------------
+    // HTTP helpers
+    // -------------------------------------------------------------------------
+
+    private HttpRequest.Builder request(String method, String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    // Sends a JSON request that has to succeed (used for setup and verification)
+    private JsonNode send(String method, String path, String token, Object body) throws Exception {
+        HttpRequest.BodyPublisher publisher = body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body));
+        HttpResponse<String> response = http.send(request(method, path, token)
+                .header("Content-Type", "application/json")
+                .method(method, publisher)
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(2, response.statusCode() / 100, method + " " + path + " failed: " + response.body());
+        return objectMapper.readTree(response.body());
+    }
+}
@@ -0,0 +1,186 @@
+package com.zacharyscheer.volleyballstattracker;
+
+import com.zacharyscheer.volleyballstattracker.controller.ScoringSocketController;
+import com.zacharyscheer.volleyballstattracker.dto.LiveSetStateDTO;
+import com.zacharyscheer.volleyballstattracker.dto.ScoringAckDTO;
+import com.zacharyscheer.volleyballstattracker.dto.ScoringMessageDTO;
+import com.zacharyscheer.volleyballstattracker.models.StatEvent;
+import com.zacharyscheer.volleyballstattracker.models.StatEventType;
+import com.zacharyscheer.volleyballstattracker.models.Team;
+import com.zacharyscheer.volleyballstattracker.service.setService.SetService;
+import com.zacharyscheer.volleyballstattracker.service.statLineServices.StatLineService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ScoringSocketController: taps are recorded once and acked with the recorded result.
+ */
+@ExtendWith(MockitoExtension.class)
+public class ScoringSocketControllerTest {
+
+    @Mock
+    private StatLineService statLineService;
+
+    @Mock
+    private SetService setService;
+
+    private ScoringSocketController controller;
+
+    private final Long SET_ID = 1L;
+    private final Integer PLAYER_ID = 7;
+
+    @BeforeEach
+    void setUp() {
+        controller = new ScoringSocketController(statLineService, setService, 100, 30);
+    }
+
+    @Test
+    void recordStat_shouldRecordTheTapAndAckItWithTheEventsOwnSequence() {
+        // Arrange
+        UUID eventId = UUID.randomUUID();
+        when(statLineService.recordClientEvent(eventId, SET_ID, PLAYER_ID, StatEventType.KILL, null))
+                .thenReturn(event(41L, eventId));
+
+        // Act
+        ScoringAckDTO ack = controller.recordStat(stat(5L, eventId));
+
+        // Assert
+        assertTrue(ack.isOk());
+        assertEquals(5L, ack.getSeq());
+        assertEquals(41L, ack.getEventSequence());
+    }
+
+    @Test
+    void recordStat_deliveredTwiceAtOnce_shouldAckTheLoserWithTheWinnersEvent() {
+        // Arrange
+        UUID eventId = UUID.randomUUID();
+        when(statLineService.recordClientEvent(eventId, SET_ID, PLAYER_ID, StatEventType.KILL, null))
+                .thenThrow(new DataIntegrityViolationException("uk_stat_event_client_event_id"));
+        when(statLineService.findClientEvent(SET_ID, PLAYER_ID, eventId)).thenReturn(Optional.of(event(41L, eventId)));
+
+        // Act
+        ScoringAckDTO ack = controller.recordStat(stat(6L, eventId));
+
+        // Assert
+        assertTrue(ack.isOk());
+        assertEquals(6L, ack.getSeq());
+        assertEquals(41L, ack.getEventSequence());
+    }
+
+    @Test
+    void recordStat_waitingInTheWriteBehindBuffer_shouldBeAckedOkWithoutASequence() {
+        // Arrange: a buffered event has no sequence until the buffer flushes; the resend finds it still queued
+        UUID eventId = UUID.randomUUID();
+        when(statLineService.recordClientEvent(eventId, SET_ID, PLAYER_ID, StatEventType.KILL, null))
+                .thenReturn(event(null, eventId))
+                .thenThrow(new DataIntegrityViolationException("uk_stat_event_client_event_id"));
+        when(statLineService.findClientEvent(SET_ID, PLAYER_ID, eventId)).thenReturn(Optional.of(event(null, eventId)));
+
+        // Act
+        ScoringAckDTO ack = controller.recordStat(stat(12L, eventId));
+        ScoringAckDTO resent = controller.recordStat(stat(13L, eventId));
+
+        // Assert
+        assertTrue(ack.isOk());
+        assertEquals(12L, ack.getSeq());
+        assertNull(ack.getEventSequence());
+        assertTrue(resent.isOk());
+        assertEquals(13L, resent.getSeq());
+        assertNull(resent.getEventSequence());
+    }
+
+    @Test
+    void recordStat_withoutAPlayer_shouldBeRejectedWithoutRecording() {
+        // Act
+        ScoringAckDTO ack = controller.recordStat(ScoringMessageDTO.builder()
+                .seq(7L)
+                .setId(SET_ID)
+                .eventType(StatEventType.KILL)
+                .build());
+
+        // Assert
+        assertFalse(ack.isOk());
+        assertNotNull(ack.getError());
+        verifyNoInteractions(statLineService);
+    }
+
+    @Test
+    void recordPoint_resentWithTheSameEventId_shouldScoreOnceAndRepeatTheAck() {
+        // Arrange
+        UUID eventId = UUID.randomUUID();
+        when(setService.recordPoint(SET_ID, Team.HOME)).thenReturn(LiveSetStateDTO.builder()
+                .id(SET_ID)
+                .homeScore(11)
+                .opponentScore(9)
+                .build());
+
+        // Act
+        ScoringAckDTO first = controller.recordPoint(point(8L, eventId));
+        ScoringAckDTO resent = controller.recordPoint(point(9L, eventId));
+
+        // Assert
+        verify(setService, times(1)).recordPoint(SET_ID, Team.HOME);
+        assertTrue(resent.isOk());
+        assertEquals(9L, resent.getSeq());
+        assertEquals(first.getHomeScore(), resent.getHomeScore());
+        assertEquals(first.getOpponentScore(), resent.getOpponentScore());
+    }
+
+    @Test
+    void recordPoint_resentAfterARejection_shouldBeScoredAgain() {
+        // Arrange
+        UUID eventId = UUID.randomUUID();
+        when(setService.recordPoint(any(), any()))
+                .thenThrow(new IllegalArgumentException("Set 1 is already over"))
+                .thenReturn(LiveSetStateDTO.builder().id(SET_ID).homeScore(1).opponentScore(0).build());
+
+        // Act
+        ScoringAckDTO first = controller.recordPoint(point(10L, eventId));
+        ScoringAckDTO resent = controller.recordPoint(point(11L, eventId));
+
+        // Assert
+        assertFalse(first.isOk());
+        assertTrue(resent.isOk());
+        verify(setService, times(2)).recordPoint(SET_ID, Team.HOME);
+    }
+
+    private ScoringMessageDTO stat(Long seq, UUID eventId) {
+        return ScoringMessageDTO.builder()
+                .seq(seq)
+                .eventId(eventId)
+                .setId(SET_ID)
+                .playerId(PLAYER_ID)
+                .eventType(StatEventType.KILL)
+                .build();
+    }
+
+    private ScoringMessageDTO point(Long seq, UUID eventId) {
+        return ScoringMessageDTO.builder()
+                .seq(seq)
+                .eventId(eventId)
+                .setId(SET_ID)
+                .side(ScoringMessageDTO.Side.HOME)
+                .build();
+    }
+
+    private StatEvent event(Long sequence, UUID eventId) {
+        return StatEvent.builder()
+                .sequence(sequence)
+                .setId(SET_ID)
+                .playerId(PLAYER_ID)
+                .eventType(StatEventType.KILL)
+                .clientEventId(eventId)
+                .build();
+    }
+}
@@ -0,0 +1,168 @@
+package com.zacharyscheer.volleyballstattracker;
+
+import com.zacharyscheer.volleyballstattracker.dto.LiveSetStateDTO;
+import com.zacharyscheer.volleyballstattracker.models.Match;
+import com.zacharyscheer.volleyballstattracker.models.Player;
+import com.zacharyscheer.volleyballstattracker.models.ScoringAction;
+import com.zacharyscheer.volleyballstattracker.models.Set;
+import com.zacharyscheer.volleyballstattracker.models.StatLine;
+import com.zacharyscheer.volleyballstattracker.models.Team;
+import com.zacharyscheer.volleyballstattracker.repository.MatchRepository;
+import com.zacharyscheer.volleyballstattracker.repository.PlayerRepository;
+import com.zacharyscheer.volleyballstattracker.repository.SetRepository;
+import com.zacharyscheer.volleyballstattracker.repository.StatLineRepository;
+import com.zacharyscheer.volleyballstattracker.service.OptimisticRetry;
+import com.zacharyscheer.volleyballstattracker.service.setService.LiveSetEngine;
+import com.zacharyscheer.volleyballstattracker.service.setService.SetServiceImpl;
+import com.zacharyscheer.volleyballstattracker.service.statLineServices.LiveMatchBroadcaster;
+import com.zacharyscheer.volleyballstattracker.service.statLineServices.LiveStatBuffer;
+import com.zacharyscheer.volleyballstattracker.service.statLineServices.MatchStatTotalsService;
+import com.zacharyscheer.volleyballstattracker.service.statLineServices.ScoringHistory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SetServiceImpl.startNewSet, focusing on the bulk roster load and StatLine insert.
+ */
+@ExtendWith(MockitoExtension.class)
+public class SetServiceImplTest {
+
+    @Mock
+    private SetRepository setRepository;
+
+    @Mock
+    private PlayerRepository playerRepository;
+
+    @Mock
+    private StatLineRepository statLineRepository;
+
+    @Mock
+    private MatchRepository matchRepository;
+
+    @Mock
+    private LiveStatBuffer liveStatBuffer;
+
+    @Mock
+    private MatchStatTotalsService matchStatTotalsService;
+
+    @Mock
+    private LiveMatchBroadcaster liveMatchBroadcaster;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // Disabled (isEnabled() is false on the mock), so points take the stored path
+    @Mock
+    private LiveSetEngine liveSetEngine;
+
+    @Mock
+    private ScoringHistory scoringHistory;
+
+    @Spy
+    private OptimisticRetry optimisticRetry = new OptimisticRetry(mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), 3);
+
+    @InjectMocks
+    private SetServiceImpl setService;
+
+    private final Long MATCH_ID = 3L;
+
+    @Test
+    void startNewSet_shouldLoadRosterOnceAndInsertAllStatLinesTogether() {
+        // Arrange
+        Match match = new Match();
+        match.setSets(new ArrayList<>());
+        when(matchRepository.findById(MATCH_ID)).thenReturn(Optional.of(match));
+        when(playerRepository.findAllById(anyIterable()))
+                .thenReturn(List.of(Player.builder().id(1).build(), Player.builder().id(2).build()));
+        when(setRepository.save(any(Set.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        Set newSet = setService.startNewSet(MATCH_ID, List.of(1L, 2L));
+
+        // Assert
+        assertEquals(1, newSet.getSetNumber());
+        verify(playerRepository, times(1)).findAllById(anyIterable());
+        verify(playerRepository, never()).findById(any());
+        verify(statLineRepository, times(1)).saveAll(argThat(lines -> ((List<?>) lines).size() == 2
+                && ((List<?>) lines).stream().allMatch(line -> MATCH_ID.equals(((StatLine) line).getMatchId()))));
+        verify(statLineRepository, never()).save(any());
+    }
+
+    @Test
+    void startNewSet_shouldReportEveryMissingPlayerBeforeCreatingTheSet() {
+        // Arrange
+        Match match = new Match();
+        match.setSets(new ArrayList<>());
+        when(matchRepository.findById(MATCH_ID)).thenReturn(Optional.of(match));
+        when(playerRepository.findAllById(anyIterable())).thenReturn(List.of(Player.builder().id(1).build()));
+
+        // Act & Assert
+        EntityNotFoundException e = assertThrows(EntityNotFoundException.class,
+                () -> setService.startNewSet(MATCH_ID, List.of(1L, 8L, 9L)));
+        assertTrue(e.getMessage().contains("[8, 9]"));
+        verifyNoInteractions(setRepository, statLineRepository);
+    }
+
+    @Test
+    void recordPoint_withoutLiveEngine_shouldIncrementAtomicallyWithoutSavingTheEntity() {
+        // Arrange
+        Match match = new Match();
+        match.setId(MATCH_ID);
+        Set set = new Set();
+        set.setId(5L);
+        set.setMatch(match);
+        set.setHomeScore(11);
+        when(setRepository.addToScore(5L, 1, 0)).thenReturn(1);
+        when(setRepository.findById(5L)).thenReturn(Optional.of(set));
+
+        // Act
+        LiveSetStateDTO scored = setService.recordPoint(5L, Team.HOME);
+
+        // Assert
+        assertEquals(11, scored.getHomeScore()); // the score as the UPDATE left it
+        verify(setRepository, never()).save(any());
+        verify(setRepository, never()).saveAndFlush(any());
+        verify(liveMatchBroadcaster).publishAfterCommit(any());
+    }
+
+    @Test
+    void recordPoint_withoutLiveEngine_shouldThrowWhenTheSetDoesNotExist() {
+        when(setRepository.addToScore(9L, 0, 1)).thenReturn(0);
+
+        assertThrows(EntityNotFoundException.class, () -> setService.recordPoint(9L, Team.OPPONENT));
+        verifyNoInteractions(liveMatchBroadcaster);
+    }
+
+    @Test
+    void undoPoint_withoutLiveEngine_shouldRejectTakingAScoreBelowZero() {
+        // Arrange: the guarded UPDATE matches no row because the opponent has no points
+        Set set = new Set();
+        set.setId(5L);
+        set.setOpponentScore(0);
+        when(setRepository.addToScore(5L, 0, -1)).thenReturn(0);
+        when(setRepository.findById(5L)).thenReturn(Optional.of(set));
+
+        // Act & Assert
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> setService.undoPoint(5L, new ScoringAction.Point(Team.OPPONENT, null, null)));
+        assertTrue(e.getMessage().contains("OPPONENT"));
+        verifyNoInteractions(liveMatchBroadcaster);
+    }
+}
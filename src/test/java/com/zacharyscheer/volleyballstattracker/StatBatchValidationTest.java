@@ -0,0 +1,90 @@
+package com.zacharyscheer.volleyballstattracker;
+
+import com.zacharyscheer.volleyballstattracker.Security.JwtService;
+import com.zacharyscheer.volleyballstattracker.models.User;
+import com.zacharyscheer.volleyballstattracker.repository.StatEventRepository;
+import com.zacharyscheer.volleyballstattracker.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * POST /api/stats/record/batch validation: each event in the list is validated and the list size is capped,
+ * so a bad batch gets a 400 before any of it is recorded.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class StatBatchValidationTest {
+
+    private static final String VALID_EVENT = """
+            {"setId": 1, "playerId": 7, "eventType": "KILL"}""";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StatEventRepository statEventRepository;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        User coach = userRepository.save(User.builder()
+                .email("coach-" + UUID.randomUUID() + "@example.com")
+                .password("{noop}password")
+                .build());
+        token = jwtService.generateToken(coach);
+    }
+
+    @Test
+    void recordBatch_shouldRejectABatchWithABadEvent() throws Exception {
+        // Arrange
+        long eventsBefore = statEventRepository.count();
+        String missingPlayer = """
+                {"setId": 1, "eventType": "DIG"}""";
+        String ratingOutOfRange = """
+                {"setId": 1, "playerId": 7, "eventType": "PASS_RATING", "rating": 5}""";
+
+        // Act & Assert
+        for (String bad : new String[]{missingPlayer, ratingOutOfRange}) {
+            mockMvc.perform(post("/api/stats/record/batch")
+                            .header("Authorization", "Bearer " + token)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("[" + VALID_EVENT + "," + bad + "]"))
+                    .andExpect(status().isBadRequest());
+        }
+        assertEquals(eventsBefore, statEventRepository.count());
+    }
+
+    @Test
+    void recordBatch_shouldRejectABatchOverTheSizeLimit() throws Exception {
+        // Arrange: 501 events (the limit is 500)
+        String batch = "[" + String.join(",", Collections.nCopies(501, VALID_EVENT)) + "]";
+
+        // Act & Assert
+        mockMvc.perform(post("/api/stats/record/batch")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(batch))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,221 @@
+package com.zacharyscheer.volleyballstattracker;
+
+import com.zacharyscheer.volleyballstattracker.dto.TeamMatchAggregateStatsDTO;
+import com.zacharyscheer.volleyballstattracker.models.Match;
+import com.zacharyscheer.volleyballstattracker.models.Player;
+import com.zacharyscheer.volleyballstattracker.models.Set;
+import com.zacharyscheer.volleyballstattracker.models.StatEvent;
+import com.zacharyscheer.volleyballstattracker.models.StatEventSetCounter;
+import com.zacharyscheer.volleyballstattracker.models.StatEventType;
+import com.zacharyscheer.volleyballstattracker.models.StatLine;
+import com.zacharyscheer.volleyballstattracker.models.StatLineDelta;
+import com.zacharyscheer.volleyballstattracker.models.StatLineKey;
+import com.zacharyscheer.volleyballstattracker.models.User;
+import com.zacharyscheer.volleyballstattracker.models.MatchStatTotals;
+import com.zacharyscheer.volleyballstattracker.models.MatchTotalsKey;
+import com.zacharyscheer.volleyballstattracker.repository.MatchRepository;
+import com.zacharyscheer.volleyballstattracker.repository.MatchStatTotalsRepository;
+import com.zacharyscheer.volleyballstattracker.repository.PlayerRepository;
+import com.zacharyscheer.volleyballstattracker.repository.SetRepository;
+import com.zacharyscheer.volleyballstattracker.repository.StatEventRepository;
+import com.zacharyscheer.volleyballstattracker.repository.StatLineRepository;
+import com.zacharyscheer.volleyballstattracker.repository.UserRepository;
+import com.zacharyscheer.volleyballstattracker.service.statLineServices.MatchStatTotalsService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the StatLine and MatchStatTotals JDBC batch updates and the stat log's per-set positions
+ * against the H2 schema (each test rolls back).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+public class StatLineRepositoryTest {
+
+    @Autowired
+    private StatLineRepository statLineRepository;
+
+    @Autowired
+    private SetRepository setRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MatchStatTotalsRepository matchStatTotalsRepository;
+
+    @Autowired
+    private StatEventRepository statEventRepository;
+
+    @Autowired
+    private MatchStatTotalsService matchStatTotalsService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private StatLine line;
+
+    @BeforeEach
+    void setUp() {
+        User coach = userRepository.save(User.builder()
+                .email("coach-" + UUID.randomUUID() + "@example.com")
+                .password("{noop}password")
+                .build());
+        Match match = new Match();
+        match.setOpponentTeam("Rivals");
+        match.setMatchDate(LocalDate.now());
+        match.setHomeSetScore(0);
+        match.setOpponentSetScore(0);
+        match.setUser(coach);
+        match = matchRepository.save(match);
+        Set set = new Set();
+        set.setMatch(match);
+        set.setSetNumber(1);
+        set = setRepository.save(set);
+        Player player = player("Hitter");
+        line = statLineRepository.saveAndFlush(StatLine.builder()
+                .set(set)
+                .matchId(match.getId())
+                .player(player)
+                .build());
+    }
+
+    @Test
+    void batchApplyDeltas_shouldAddTheCountersAndBumpTheVersion() {
+        // Arrange
+        long versionBefore = line.getVersion();
+        StatLineDelta delta = StatEventType.KILL.toDelta(null);
+        delta.setThroughSequence(42L);
+
+        // Act
+        int[] counts = statLineRepository.batchApplyDeltas(
+                Map.of(new StatLineKey(line.getSet().getId(), line.getPlayer().getId()), delta));
+
+        // Assert
+        assertArrayEquals(new int[]{1}, counts);
+        entityManager.clear();
+        StatLine stored = statLineRepository.findById(line.getId()).orElseThrow();
+        assertEquals(1, stored.getKills());
+        assertEquals(1, stored.getAttackAttempts());
+        assertEquals(42L, stored.getLastEventSequence());
+        assertEquals(versionBefore + 1, stored.getVersion());
+    }
+
+    @Test
+    void applyDelta_shouldReturnTheUpdatedRowFromTheUpdateItself() {
+        // Arrange
+        long versionBefore = line.getVersion();
+        StatLineDelta delta = StatEventType.ASSIST.toDelta(null);
+        delta.setThroughSequence(7L);
+
+        // Act
+        StatLine updated = statLineRepository.applyDelta(line.getSet().getId(), line.getPlayer().getId(), delta)
+                .orElseThrow();
+
+        // Assert
+        assertEquals(line.getId(), updated.getId());
+        assertEquals(line.getMatchId(), updated.getMatchId());
+        assertEquals(1, updated.getAssists());
+        assertEquals(1, updated.getSetAttempts());
+        assertEquals(0, updated.getKills());
+        assertEquals(7L, updated.getLastEventSequence());
+        assertEquals(versionBefore + 1, updated.getVersion());
+        assertEquals(line.getSet().getId(), updated.getSet().getId());
+        assertEquals(line.getPlayer().getId(), updated.getPlayer().getId());
+        assertTrue(statLineRepository.applyDelta(line.getSet().getId(), -1, delta).isEmpty());
+    }
+
+    @Test
+    void assignPositions_shouldNumberEachSetsEventsWithoutGapsAcrossBatches() {
+        // Arrange
+        Set first = line.getSet();
+        Set second = new Set();
+        second.setMatch(first.getMatch());
+        second.setSetNumber(2);
+        second = setRepository.save(second);
+        Integer playerId = line.getPlayer().getId();
+
+        // Act
+        List<StatEvent> batch = List.of(event(first.getId(), playerId), event(second.getId(), playerId),
+                event(first.getId(), playerId));
+        statEventRepository.assignPositions(batch);
+        statEventRepository.saveAll(batch);
+        StatEvent next = event(first.getId(), playerId);
+        statEventRepository.assignPositions(List.of(next));
+        statEventRepository.saveAndFlush(next);
+
+        // Assert
+        assertEquals(List.of(1L, 1L, 2L), batch.stream().map(StatEvent::getPosition).toList());
+        assertEquals(3L, next.getPosition());
+        entityManager.clear();
+        assertEquals(3L, entityManager.find(StatEventSetCounter.class, first.getId()).getLastPosition());
+        assertEquals(List.of(3L), statEventRepository
+                .findBySetIdAndPositionGreaterThanOrderByPositionAsc(first.getId(), 2L).stream()
+                .map(StatEvent::getPosition).toList());
+    }
+
+    @Test
+    void matchTotals_shouldKeepOneRowPerPlayerAndSumThemIntoTheTeamTotals() {
+        // Arrange
+        Long matchId = line.getMatchId();
+        Integer hitter = line.getPlayer().getId();
+        Integer setter = player("Setter").getId();
+        assertTrue(matchStatTotalsService.findTeamTotals(matchId).isEmpty());
+        matchStatTotalsService.ensureRows(matchId, List.of(hitter, setter));
+        entityManager.flush();
+
+        // Act
+        matchStatTotalsRepository.batchApplyDeltas(Map.of(
+                new MatchTotalsKey(matchId, hitter), StatEventType.KILL.toDelta(null),
+                new MatchTotalsKey(matchId, setter), StatEventType.ASSIST.toDelta(null)));
+
+        // Assert: no team row, and the team totals are the sum of the player rows
+        entityManager.clear();
+        List<MatchStatTotals> rows = matchStatTotalsRepository.findByMatchId(matchId);
+        assertEquals(2, rows.size());
+        assertTrue(rows.stream().allMatch(row -> row.getPlayerId() != null));
+        assertEquals(1, matchStatTotalsRepository.findByMatchIdAndPlayerId(matchId, hitter).orElseThrow().getKills());
+
+        TeamMatchAggregateStatsDTO team = matchStatTotalsService.findTeamTotals(matchId).orElseThrow();
+        assertEquals(matchId, team.getMatchId());
+        assertEquals(1, team.getKills());
+        assertEquals(1, team.getAssists());
+    }
+
+    private Player player(String name) {
+        return playerRepository.save(Player.builder()
+                .name(name)
+                .number(ThreadLocalRandom.current().nextInt(10_000, 1_000_000))
+                .build());
+    }
+
+    private static StatEvent event(Long setId, Integer playerId) {
+        return StatEvent.builder()
+                .setId(setId)
+                .playerId(playerId)
+                .eventType(StatEventType.KILL)
+                .recordedAt(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,256 @@
+package com.zacharyscheer.volleyballstattracker;
+
+import com.zacharyscheer.volleyballstattracker.dto.StatEventRequestDTO;
+import com.zacharyscheer.volleyballstattracker.dto.TeamMatchAggregateStatsDTO;
+import com.zacharyscheer.volleyballstattracker.models.Player;
+import com.zacharyscheer.volleyballstattracker.models.Set;
+import com.zacharyscheer.volleyballstattracker.models.StatEvent;
+import com.zacharyscheer.volleyballstattracker.models.StatEventType;
+import com.zacharyscheer.volleyballstattracker.models.StatLine;
+import com.zacharyscheer.volleyballstattracker.models.StatLineDelta;
+import com.zacharyscheer.volleyballstattracker.models.StatLineKey;
+import com.zacharyscheer.volleyballstattracker.models.StatType;
+import com.zacharyscheer.volleyballstattracker.repository.MatchRepository;
+import com.zacharyscheer.volleyballstattracker.repository.MatchStatTotalsRepository;
+import com.zacharyscheer.volleyballstattracker.repository.StatEventDeadLetterRepository;
+import com.zacharyscheer.volleyballstattracker.repository.StatEventRepository;
+import com.zacharyscheer.volleyballstattracker.repository.SetRepository;
+import com.zacharyscheer.volleyballstattracker.repository.StatLineRepository;
+import com.zacharyscheer.volleyballstattracker.service.statLineServices.LiveMatchBroadcaster;
+import com.zacharyscheer.volleyballstattracker.service.statLineServices.LiveStatBuffer;
+import com.zacharyscheer.volleyballstattracker.service.statLineServices.MatchStatTotalsService;
+import com.zacharyscheer.volleyballstattracker.service.statLineServices.MatchTotalsCache;
+import com.zacharyscheer.volleyballstattracker.service.statLineServices.ScoringHistory;
+import com.zacharyscheer.volleyballstattracker.service.statLineServices.StatEventProjector;
+import com.zacharyscheer.volleyballstattracker.service.statLineServices.StatLineServiceImpl;
+import com.zacharyscheer.volleyballstattracker.service.statLineServices.UndoResult;
+import com.zacharyscheer.volleyballstattracker.service.setService.SetService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for StatLineServiceImpl, focusing on how stat events are turned into increments.
+ */
+@ExtendWith(MockitoExtension.class)
+public class StatLineServiceImplTest {
+
+    @Mock
+    private StatLineRepository statLineRepository;
+
+    @Mock
+    private StatEventRepository statEventRepository;
+
+    @Mock
+    private MatchStatTotalsRepository matchStatTotalsRepository;
+
+    @Mock
+    private MatchStatTotalsService matchStatTotalsService;
+
+    @Mock
+    private SetRepository setRepository;
+
+    @Mock
+    private MatchRepository matchRepository;
+
+    private StatLineServiceImpl statLineService;
+
+    private final Long MATCH_ID = 3L;
+    private final Long SET_ID = 1L;
+    private final Integer PLAYER_ID = 7;
+
+    @BeforeEach
+    void setUp() {
+        // Use a real projector so the tests cover the event -> delta -> UPDATE path end to end
+        MatchTotalsCache cache = new MatchTotalsCache(setRepository, matchRepository, 100, 300);
+        StatEventProjector projector = new StatEventProjector(statLineRepository, matchStatTotalsRepository, cache,
+                mock(LiveMatchBroadcaster.class));
+        LiveStatBuffer writeBehindDisabled = new LiveStatBuffer(false, 5, statEventRepository,
+                mock(StatEventDeadLetterRepository.class), projector,
+                mock(PlatformTransactionManager.class));
+        statLineService = new StatLineServiceImpl(statLineRepository, statEventRepository, projector, writeBehindDisabled,
+                matchStatTotalsService, cache, new SimpleMeterRegistry(), new ScoringHistory(50, 1000, 180),
+                mock(SetService.class));
+    }
+
+    @Test
+    void recordKill_shouldIncrementKillsAndAttemptsInOneUpdate() {
+        // Arrange
+        StatLine updated = StatLine.builder().matchId(MATCH_ID).build();
+        when(statEventRepository.save(any(StatEvent.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(statLineRepository.applyDelta(eq(SET_ID), eq(PLAYER_ID), any(StatLineDelta.class)))
+                .thenReturn(Optional.of(updated));
+
+        // Act
+        StatLine result = statLineService.recordKill(SET_ID, PLAYER_ID);
+
+        // Assert
+        ArgumentCaptor<StatLineDelta> delta = ArgumentCaptor.forClass(StatLineDelta.class);
+        verify(statLineRepository, times(1)).applyDelta(eq(SET_ID), eq(PLAYER_ID), delta.capture());
+        assertEquals(1, delta.getValue().get(StatType.KILLS));
+        assertEquals(1, delta.getValue().get(StatType.ATTACK_ATTEMPTS));
+        assertEquals(0, delta.getValue().get(StatType.KILL_ERRORS));
+        assertSame(updated, result);
+        verify(statLineRepository, never()).save(any());
+        // The UPDATE returned the row, so it is not read back
+        verify(statLineRepository, never()).findBySetIdAndPlayerId(any(), any());
+
+        // The same delta goes to the match's stored totals (the player's row), keyed on the StatLine's match
+        verify(matchStatTotalsRepository, times(1)).applyDelta(MATCH_ID, PLAYER_ID, delta.getValue());
+
+        // The tap is also appended to the event log
+        ArgumentCaptor<StatEvent> event = ArgumentCaptor.forClass(StatEvent.class);
+        verify(statEventRepository, times(1)).save(event.capture());
+        assertEquals(StatEventType.KILL, event.getValue().getEventType());
+        assertEquals(SET_ID, event.getValue().getSetId());
+    }
+
+    @Test
+    void recordClientEvent_shouldRecordAResentTapOnceAndReturnTheFirstEvent() {
+        // Arrange
+        UUID clientEventId = UUID.randomUUID();
+        StatEvent recorded = StatEvent.builder()
+                .sequence(99L)
+                .setId(SET_ID)
+                .playerId(PLAYER_ID)
+                .eventType(StatEventType.DIG)
+                .clientEventId(clientEventId)
+                .build();
+        when(statEventRepository.findByClientEventId(clientEventId))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(recorded));
+        when(statEventRepository.save(any(StatEvent.class))).thenReturn(recorded);
+        when(statLineRepository.applyDelta(eq(SET_ID), eq(PLAYER_ID), any(StatLineDelta.class)))
+                .thenReturn(Optional.of(new StatLine()));
+
+        // Act
+        StatEvent first = statLineService.recordClientEvent(clientEventId, SET_ID, PLAYER_ID, StatEventType.DIG, null);
+        StatEvent resent = statLineService.recordClientEvent(clientEventId, SET_ID, PLAYER_ID, StatEventType.DIG, null);
+
+        // Assert
+        assertEquals(99L, first.getSequence());
+        assertSame(recorded, resent);
+        ArgumentCaptor<StatEvent> saved = ArgumentCaptor.forClass(StatEvent.class);
+        verify(statEventRepository, times(1)).save(saved.capture());
+        assertEquals(clientEventId, saved.getValue().getClientEventId());
+        verify(statLineRepository, times(1)).applyDelta(eq(SET_ID), eq(PLAYER_ID), any(StatLineDelta.class));
+    }
+
+    @Test
+    void undo_shouldAppendAReversalEventAndApplyTheInverseDelta() {
+        // Arrange
+        StatLine updated = new StatLine();
+        when(statEventRepository.save(any(StatEvent.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(statLineRepository.applyDelta(eq(SET_ID), eq(PLAYER_ID), any(StatLineDelta.class)))
+                .thenReturn(Optional.of(updated));
+        statLineService.recordKill(SET_ID, PLAYER_ID);
+
+        // Act
+        Optional<UndoResult> result = statLineService.undo(SET_ID);
+
+        // Assert: the kill is taken back with one more UPDATE, not a recount
+        assertTrue(result.isPresent());
+        assertSame(updated, result.get().statLine());
+        ArgumentCaptor<StatLineDelta> delta = ArgumentCaptor.forClass(StatLineDelta.class);
+        verify(statLineRepository, times(2)).applyDelta(eq(SET_ID), eq(PLAYER_ID), delta.capture());
+        assertEquals(-1, delta.getAllValues().get(1).get(StatType.KILLS));
+        assertEquals(-1, delta.getAllValues().get(1).get(StatType.ATTACK_ATTEMPTS));
+
+        ArgumentCaptor<StatEvent> event = ArgumentCaptor.forClass(StatEvent.class);
+        verify(statEventRepository, times(2)).save(event.capture());
+        assertEquals(StatEventType.KILL, event.getAllValues().get(1).getEventType());
+        assertTrue(event.getAllValues().get(1).isReversal());
+
+        // Nothing left to undo
+        assertTrue(statLineService.undo(SET_ID).isEmpty());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recordEvents_shouldUpdateRowsInKeyOrderButReturnThemInBatchOrder() {
+        // Arrange: taps for player 9 then player 3; the rows must be locked as (set, 3) before (set, 9)
+        when(statLineRepository.batchApplyDeltas(anyMap())).thenReturn(new int[]{1, 1});
+        when(setRepository.findMatchIdById(SET_ID)).thenReturn(Optional.of(MATCH_ID));
+        StatLine player3 = StatLine.builder().set(set(SET_ID)).player(Player.builder().id(3).build()).build();
+        StatLine player9 = StatLine.builder().set(set(SET_ID)).player(Player.builder().id(9).build()).build();
+        when(statLineRepository.findBySetIdIn(any())).thenReturn(List.of(player3, player9));
+
+        // Act
+        List<StatLine> results = statLineService.recordEvents(List.of(
+                StatEventRequestDTO.builder().setId(SET_ID).playerId(9).eventType(StatEventType.DIG).build(),
+                StatEventRequestDTO.builder().setId(SET_ID).playerId(3).eventType(StatEventType.KILL).build()));
+
+        // Assert
+        ArgumentCaptor<Map<StatLineKey, StatLineDelta>> deltas = ArgumentCaptor.forClass(Map.class);
+        verify(statLineRepository).batchApplyDeltas(deltas.capture());
+        assertEquals(List.of(new StatLineKey(SET_ID, 3), new StatLineKey(SET_ID, 9)),
+                new ArrayList<>(deltas.getValue().keySet()));
+        assertEquals(List.of(player9, player3), results);
+    }
+
+    private static Set set(Long id) {
+        Set set = new Set();
+        set.setId(id);
+        return set;
+    }
+
+    @Test
+    void recordPassRating_shouldRejectInvalidRatingBeforeTouchingDatabase() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> statLineService.recordPassRating(SET_ID, PLAYER_ID, 4));
+        verifyNoInteractions(statLineRepository, statEventRepository);
+    }
+
+    @Test
+    void recordDig_shouldThrowException_whenStatLineDoesNotExist() {
+        // Arrange
+        when(statEventRepository.save(any(StatEvent.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(statLineRepository.applyDelta(eq(SET_ID), eq(PLAYER_ID), any(StatLineDelta.class)))
+                .thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> statLineService.recordDig(SET_ID, PLAYER_ID));
+        verify(statLineRepository, never()).findBySetIdAndPlayerId(any(), any());
+        verifyNoInteractions(matchStatTotalsRepository);
+    }
+
+    @Test
+    void getTeamMatchTotals_shouldServeRepeatReadsFromCacheUntilAStatIsRecorded() {
+        // Arrange
+        Long matchId = 3L;
+        when(matchStatTotalsService.findTeamTotals(matchId)).thenReturn(Optional.of(new TeamMatchAggregateStatsDTO()));
+        when(setRepository.findMatchIdById(SET_ID)).thenReturn(Optional.of(matchId));
+        when(statEventRepository.save(any(StatEvent.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(statLineRepository.applyDelta(eq(SET_ID), eq(PLAYER_ID), any(StatLineDelta.class)))
+                .thenReturn(Optional.of(StatLine.builder().matchId(matchId).build()));
+
+        // Act & Assert: the second read is a cache hit
+        TeamMatchAggregateStatsDTO first = statLineService.getTeamMatchTotals(matchId);
+        assertSame(first, statLineService.getTeamMatchTotals(matchId));
+        verify(matchStatTotalsService, times(1)).findTeamTotals(matchId);
+        verify(statLineRepository, never()).sumTeamMatchTotals(any());
+
+        // Recording a stat in the match drops the cached team totals
+        statLineService.recordKill(SET_ID, PLAYER_ID);
+        statLineService.getTeamMatchTotals(matchId);
+        verify(matchStatTotalsService, times(2)).findTeamTotals(matchId);
+    }
+}
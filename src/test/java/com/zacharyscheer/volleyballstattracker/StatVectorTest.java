@@ -0,0 +1,88 @@
+package com.zacharyscheer.volleyballstattracker;
+
+import com.zacharyscheer.volleyballstattracker.dto.PlayerMatchAggregateStatsDTO;
+import com.zacharyscheer.volleyballstattracker.models.MatchStatTotals;
+import com.zacharyscheer.volleyballstattracker.models.StatCounters;
+import com.zacharyscheer.volleyballstattracker.models.StatEventType;
+import com.zacharyscheer.volleyballstattracker.models.StatLine;
+import com.zacharyscheer.volleyballstattracker.models.StatType;
+import com.zacharyscheer.volleyballstattracker.models.StatVector;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the StatVector counters and the metrics calculated from them.
+ */
+public class StatVectorTest {
+
+    @Test
+    void sum_shouldAddEveryCounter() {
+        // Arrange
+        StatVector first = StatEventType.KILL.toDelta(null).getCounts();
+        StatVector second = StatEventType.KILL_ERROR.toDelta(null).getCounts();
+        StatVector third = StatEventType.PASS_RATING.toDelta(3).getCounts();
+
+        // Act
+        StatVector total = StatVector.sum(List.of(first, second, third));
+
+        // Assert
+        assertEquals(1, total.get(StatType.KILLS));
+        assertEquals(1, total.get(StatType.KILL_ERRORS));
+        assertEquals(2, total.get(StatType.ATTACK_ATTEMPTS));
+        assertEquals(1, total.get(StatType.THREE_PASS));
+        assertEquals(0, total.get(StatType.DIGS));
+        assertEquals(0.0, total.hittingPercentage());
+        assertEquals(3.0, total.passRating());
+    }
+
+    @Test
+    void toVector_shouldRoundTripThroughStatLine() {
+        // Arrange
+        StatLine line = StatLine.builder().kills(5).killErrors(1).attackAttempts(12).serviceAttempt(10).serviceError(2).build();
+
+        // Act
+        StatVector counts = line.toVector();
+        StatLine copy = new StatLine();
+        copy.addCounts(counts);
+
+        // Assert
+        assertEquals(counts, copy.toVector());
+        assertEquals(0.333, counts.hittingPercentage());
+        assertEquals(0.8, counts.servicePercentage());
+        assertEquals(line.calculateHittingPercentage(), counts.hittingPercentage());
+    }
+
+    @Test
+    void statCounters_shouldMapEveryStatTypeToItsOwnField() {
+        // Arrange
+        StatVector counts = new StatVector();
+        for (StatType type : StatType.all()) {
+            counts.set(type, type.ordinal() + 1);
+        }
+
+        // Act
+        MatchStatTotals totals = MatchStatTotals.of(1L, 2, counts);
+        PlayerMatchAggregateStatsDTO dto = new PlayerMatchAggregateStatsDTO();
+        dto.setCounts(counts);
+        StatLine line = new StatLine();
+        line.addCounts(counts);
+
+        // Assert
+        for (StatCounters counters : List.<StatCounters>of(totals, dto, line)) {
+            assertEquals(counts, counters.toVector());
+        }
+        assertEquals(counts.get(StatType.KILLS), totals.getKills());
+        assertEquals(counts.get(StatType.ASSISTS), line.getAssists());
+        assertEquals(counts.hittingPercentage(), dto.getHittingPercentage());
+    }
+
+    @Test
+    void statType_shouldMapToEntityFieldsAndColumns() {
+        assertEquals("attackAttempts", StatType.ATTACK_ATTEMPTS.fieldName());
+        assertEquals("three_pass", StatType.THREE_PASS.columnName());
+        assertEquals(17, StatType.COUNT);
+    }
+}
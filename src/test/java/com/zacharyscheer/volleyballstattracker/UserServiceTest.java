@@ -1,5 +1,7 @@
 package com.zacharyscheer.volleyballstattracker;
 
+import com.zacharyscheer.volleyballstattracker.Security.PrincipalCache;
+import com.zacharyscheer.volleyballstattracker.dto.PasswordChangeRequest;
 import com.zacharyscheer.volleyballstattracker.models.User;
 import com.zacharyscheer.volleyballstattracker.repository.UserRepository;
 import com.zacharyscheer.volleyballstattracker.service.UserService;
@@ -10,6 +12,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Optional;
 
@@ -25,6 +28,12 @@ public class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private PrincipalCache principalCache;
+
     @InjectMocks
     private UserService userService;
 
@@ -67,4 +76,23 @@ public class UserServiceTest {
         });
         verify(userRepository, times(1)).findByEmail(TEST_EMAIL);
     }
-}
\ No newline at end of file
+
+    @Test
+    void changePassword_shouldEvictCachedPrincipal() {
+        // Arrange
+        PasswordChangeRequest request = new PasswordChangeRequest();
+        request.setCurrentPassword("old_password");
+        request.setNewPassword("new_password");
+        when(userRepository.findById(1)).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.encode("new_password")).thenReturn("encoded_new_password");
+
+        // Act
+        userService.changePassword(1L, request);
+
+        // Assert
+        assertEquals("encoded_new_password", testUser.getPassword());
+        assertEquals(1, testUser.getTokenVersion());
+        verify(userRepository, times(1)).save(testUser);
+        verify(principalCache, times(1)).invalidateAfterCommit(TEST_EMAIL);
+    }
+}